@@ -0,0 +1,67 @@
+package in.switchhub.switchhub_sdk.benchmark;
+
+import in.switchhub.switchhub_sdk.components.SharedDataStoreComponent;
+import in.switchhub.switchhub_sdk.components.SwitchConsumer;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.util.SwitchUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wires the SDK components without a Spring context, the same way the unit tests do.
+ */
+final class BenchmarkFixtures {
+
+    static final String PLAIN_SWITCH = "plain-switch";
+    static final String METERED_SWITCH = "metered-switch";
+    static final String MISSING_SWITCH = "missing-switch";
+    static final String PREMIUM_KEY = "premium";
+
+    private BenchmarkFixtures() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    static SharedDataStoreComponent newStore() {
+        SharedDataStoreComponent store = new SharedDataStoreComponent();
+        store.putDataMap(PLAIN_SWITCH, switchModel(PLAIN_SWITCH, null));
+        store.putDataMap(METERED_SWITCH, switchModel(METERED_SWITCH, 37));
+        return store;
+    }
+
+    static SwitchUtil newSwitchUtil(SharedDataStoreComponent store) {
+        SwitchUtil switchUtil = new SwitchUtil();
+        ReflectionTestUtils.setField(switchUtil, "sharedDataStoreComponent", store);
+        return switchUtil;
+    }
+
+    static SwitchConsumer newSwitchConsumer(SharedDataStoreComponent store) {
+        SwitchConsumer switchConsumer = new SwitchConsumer();
+        ReflectionTestUtils.setField(switchConsumer, "sharedDataStoreComponent", store);
+        return switchConsumer;
+    }
+
+    static SwitchModel switchModel(String switchName, Integer truePercentage) {
+        SwitchModel switchModel = new SwitchModel();
+        switchModel.setSwitchName(switchName);
+        switchModel.setStatus(true);
+        if (truePercentage != null) {
+            Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
+            meteredStatus.put("default", Map.of("trueValue", truePercentage));
+            meteredStatus.put(PREMIUM_KEY, Map.of("trueValue", 100 - truePercentage));
+            switchModel.setMeteredStatus(meteredStatus);
+        }
+        return switchModel;
+    }
+
+    static Map<String, SwitchModel> switchModels(int count) {
+        Map<String, SwitchModel> switchModels = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String switchName = "switch-" + i;
+            switchModels.put(switchName, switchModel(switchName, i % 2 == 0 ? null : i % 101));
+        }
+        return switchModels;
+    }
+}
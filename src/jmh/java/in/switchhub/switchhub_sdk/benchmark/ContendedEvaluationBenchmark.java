@@ -0,0 +1,11 @@
+package in.switchhub.switchhub_sdk.benchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Runs every {@link EvaluationBenchmark} method on several threads sharing one store, which exposes
+ * contention on shared generator state.
+ */
+@Threads(8)
+public class ContendedEvaluationBenchmark extends EvaluationBenchmark {
+}
@@ -0,0 +1,101 @@
+package in.switchhub.switchhub_sdk.benchmark;
+
+import in.switchhub.switchhub_sdk.components.SharedDataStoreComponent;
+import in.switchhub.switchhub_sdk.util.EvaluationContext;
+import in.switchhub.switchhub_sdk.util.SwitchHandle;
+import in.switchhub.switchhub_sdk.util.SwitchUtil;
+import in.switchhub.switchhub_sdk.util.WeightedBooleanGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of one switch evaluation. {@link ContendedEvaluationBenchmark} runs the same
+ * methods on several threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class EvaluationBenchmark {
+
+    private SharedDataStoreComponent store;
+    private SwitchUtil switchUtil;
+    private SwitchHandle meteredHandle;
+    private WeightedBooleanGenerator generator;
+    private Map<String, String> premiumContext;
+    private Map<String, String> unbucketedPremiumContext;
+
+    @Setup
+    public void setUp() {
+        store = BenchmarkFixtures.newStore();
+        switchUtil = BenchmarkFixtures.newSwitchUtil(store);
+        meteredHandle = switchUtil.handle(BenchmarkFixtures.METERED_SWITCH);
+        generator = new WeightedBooleanGenerator(37);
+        premiumContext = Map.of("subKey", BenchmarkFixtures.PREMIUM_KEY, "bucketBy", "user-42");
+        unbucketedPremiumContext = Map.of("subKey", BenchmarkFixtures.PREMIUM_KEY);
+    }
+
+    @Benchmark
+    public boolean plainSwitch() {
+        return switchUtil.getSwitchValue(BenchmarkFixtures.PLAIN_SWITCH, null);
+    }
+
+    @Benchmark
+    public boolean meteredSwitch() {
+        return switchUtil.getSwitchValue(BenchmarkFixtures.METERED_SWITCH, null);
+    }
+
+    @Benchmark
+    public boolean meteredSwitchWithContextMap() {
+        return switchUtil.getSwitchValue(BenchmarkFixtures.METERED_SWITCH, premiumContext);
+    }
+
+    @Benchmark
+    public boolean meteredSwitchWithUnbucketedContextMap() {
+        // no bucketing id, so the decision is drawn from the weighted generator of the premium key
+        return switchUtil.getSwitchValue(BenchmarkFixtures.METERED_SWITCH, unbucketedPremiumContext);
+    }
+
+    @Benchmark
+    public boolean meteredSwitchWithEvaluationContext() {
+        EvaluationContext context = EvaluationContext.forCurrentThread()
+                .subKey(BenchmarkFixtures.PREMIUM_KEY)
+                .bucketBy("user-42");
+        return switchUtil.isEnabled(BenchmarkFixtures.METERED_SWITCH, context);
+    }
+
+    @Benchmark
+    public boolean meteredSwitchHandle() {
+        return meteredHandle.getValue();
+    }
+
+    @Benchmark
+    public boolean missingSwitch() {
+        return switchUtil.getSwitchValue(BenchmarkFixtures.MISSING_SWITCH, null);
+    }
+
+    @Benchmark
+    public boolean storeNextWeight() {
+        return store.getNextWeight(BenchmarkFixtures.METERED_SWITCH, "default");
+    }
+
+    @Benchmark
+    public boolean generatorNext() {
+        return generator.next();
+    }
+}
@@ -0,0 +1,92 @@
+package in.switchhub.switchhub_sdk.benchmark;
+
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.util.SwitchMessageConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flag change messages decoded and encoded per second with the JSON and the compact binary format, for a
+ * plain switch and one with many metered keys. Run with {@code -prof gc} (the benchmark profile does) for
+ * the allocation per message ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageCodecBenchmark {
+
+    @Param({"0", "50"})
+    public int meteredKeys;
+
+    private SwitchMessageConverter jsonConverter;
+    private SwitchMessageConverter binaryConverter;
+    private MessageModel messageModel;
+    private Message jsonMessage;
+    private Message binaryMessage;
+
+    @Setup
+    public void setUp() {
+        jsonConverter = new SwitchMessageConverter(new Jackson2JsonMessageConverter(), false);
+        binaryConverter = new SwitchMessageConverter(new Jackson2JsonMessageConverter(), true);
+
+        SwitchModel switchModel = BenchmarkFixtures.switchModel(BenchmarkFixtures.METERED_SWITCH, null);
+        switchModel.setSwitchId("5f1d7c2e-8a4b-4c1e-9d3f-2b6a7e8c9d01");
+        switchModel.setApplicationName("checkout-service");
+        switchModel.setCreatedBy("release-bot@example.com");
+        switchModel.setCreatedAt("2024-01-15T09:30:00Z");
+        switchModel.setUpdatedBy("release-bot@example.com");
+        switchModel.setUpdatedAt("2024-05-01T10:00:00Z");
+        if (meteredKeys > 0) {
+            Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
+            for (int i = 0; i < meteredKeys; i++) {
+                meteredStatus.put("segment-" + i, Map.of("trueValue", i % 100));
+            }
+            switchModel.setMeteredStatus(meteredStatus);
+        }
+        messageModel = new MessageModel(BenchmarkFixtures.METERED_SWITCH, switchModel);
+
+        jsonMessage = jsonConverter.toMessage(messageModel, new MessageProperties());
+        jsonMessage.getMessageProperties().setInferredArgumentType(MessageModel.class);
+        binaryMessage = binaryConverter.toMessage(messageModel, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decodeJson() {
+        return jsonConverter.fromMessage(jsonMessage);
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return binaryConverter.fromMessage(binaryMessage);
+    }
+
+    @Benchmark
+    public Message encodeJson() {
+        return jsonConverter.toMessage(messageModel, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message encodeBinary() {
+        return binaryConverter.toMessage(messageModel, new MessageProperties());
+    }
+}
@@ -0,0 +1,59 @@
+package in.switchhub.switchhub_sdk.benchmark;
+
+import in.switchhub.switchhub_sdk.components.SharedDataStoreComponent;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of loading a full switch set into an empty store (startup) and of applying one update to a
+ * store that already holds that many switches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreRebuildBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int storeSize;
+
+    private Map<String, SwitchModel> switchModels;
+    private SharedDataStoreComponent populatedStore;
+    private SwitchModel update;
+
+    @Setup
+    public void setUp() {
+        switchModels = BenchmarkFixtures.switchModels(storeSize);
+        populatedStore = new SharedDataStoreComponent();
+        populatedStore.putAllDataMap(switchModels);
+        update = BenchmarkFixtures.switchModel("switch-1", 50);
+    }
+
+    @Benchmark
+    public SharedDataStoreComponent fullLoad() {
+        SharedDataStoreComponent store = new SharedDataStoreComponent();
+        store.putAllDataMap(switchModels);
+        return store;
+    }
+
+    @Benchmark
+    public long singleUpdate() {
+        populatedStore.putDataMap("switch-1", update);
+        return populatedStore.getVersion();
+    }
+}
@@ -0,0 +1,72 @@
+package in.switchhub.switchhub_sdk.benchmark;
+
+import in.switchhub.switchhub_sdk.components.SharedDataStoreComponent;
+import in.switchhub.switchhub_sdk.components.SwitchConsumer;
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import in.switchhub.switchhub_sdk.util.SwitchUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation latency while {@link SwitchConsumer#handleFlagChange(MessageModel)} keeps replacing the
+ * evaluated switch, as happens during a burst of updates from RabbitMQ.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateUnderLoadBenchmark {
+
+    @Param({"100", "10000"})
+    public int storeSize;
+
+    private SwitchUtil switchUtil;
+    private SwitchConsumer switchConsumer;
+    private MessageModel[] updates;
+    private int nextUpdate;
+
+    @Setup
+    public void setUp() {
+        SharedDataStoreComponent store = BenchmarkFixtures.newStore();
+        store.putAllDataMap(BenchmarkFixtures.switchModels(storeSize));
+        switchUtil = BenchmarkFixtures.newSwitchUtil(store);
+        switchConsumer = BenchmarkFixtures.newSwitchConsumer(store);
+
+        updates = new MessageModel[]{
+                new MessageModel(BenchmarkFixtures.METERED_SWITCH,
+                        BenchmarkFixtures.switchModel(BenchmarkFixtures.METERED_SWITCH, 20)),
+                new MessageModel(BenchmarkFixtures.METERED_SWITCH,
+                        BenchmarkFixtures.switchModel(BenchmarkFixtures.METERED_SWITCH, 80))
+        };
+    }
+
+    @Benchmark
+    @Group("evaluateDuringUpdates")
+    @GroupThreads(3)
+    public boolean evaluate() {
+        return switchUtil.getSwitchValue(BenchmarkFixtures.METERED_SWITCH, null);
+    }
+
+    @Benchmark
+    @Group("evaluateDuringUpdates")
+    @GroupThreads(1)
+    public void update() {
+        // only the single writer thread touches nextUpdate
+        switchConsumer.handleFlagChange(updates[nextUpdate++ & 1]);
+    }
+}
@@ -0,0 +1,98 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker around calls to the SwitchHub backend.
+ *
+ * After {@code failureThreshold} consecutive failures the circuit opens and calls fail fast for
+ * {@code openMillis}. Then a single trial call is let through: success closes the circuit, failure opens
+ * it again. Backend calls are rare, so the state is simply guarded by a lock.
+ */
+@Component
+public class BackendCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    @Autowired
+    private EnvConfig envConfig;
+
+    private final Object lock = new Object();
+    private LongSupplier nanoClock = System::nanoTime;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    /**
+     * Returns whether a call may go to the backend now. Every permitted call must be followed by
+     * {@link #recordSuccess()} or {@link #recordFailure()}.
+     */
+    public boolean allowRequest() {
+        if (envConfig.getSwitchHubBackendCircuitBreakerFailureThreshold() <= 0) {
+            return true;
+        }
+
+        synchronized (lock) {
+            if (state == State.OPEN) {
+                long openNanos = TimeUnit.MILLISECONDS.toNanos(envConfig.getSwitchHubBackendCircuitBreakerOpenMillis());
+                if (nanoClock.getAsLong() - openedAtNanos < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+            }
+            return true;
+        }
+    }
+
+    public void recordSuccess() {
+        synchronized (lock) {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        }
+    }
+
+    public void recordFailure() {
+        int threshold = envConfig.getSwitchHubBackendCircuitBreakerFailureThreshold();
+        if (threshold <= 0) {
+            return;
+        }
+
+        synchronized (lock) {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= threshold) {
+                state = State.OPEN;
+                openedAtNanos = nanoClock.getAsLong();
+            }
+            trialInFlight = false;
+        }
+    }
+
+    public State getState() {
+        synchronized (lock) {
+            return state;
+        }
+    }
+
+    void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+}
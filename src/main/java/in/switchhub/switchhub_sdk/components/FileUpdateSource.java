@@ -0,0 +1,161 @@
+package in.switchhub.switchhub_sdk.components;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.dtos.FetchSwitchResponseDto;
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link UpdateSource} backed by a local JSON file in the {@code /fetchswitch} response format
+ * ({@code {"switchDetails": {"<name>": {...}}}}), for local development and tests without a broker.
+ *
+ * The file is applied when the source starts and again every time a {@link WatchService} on its
+ * directory reports it created or modified. A file caught mid-write fails to parse and is picked up by
+ * the next event. Switches removed from the file stay in the store until the next restart.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = SwitchHubConstants.Updates.SOURCE_PROPERTY_PREFIX,
+    name = SwitchHubConstants.Updates.SOURCE_PROPERTY_NAME,
+    havingValue = SwitchHubConstants.Updates.SOURCE_FILE
+)
+public class FileUpdateSource implements UpdateSource {
+
+    private static final Logger log = LoggerFactory.getLogger(FileUpdateSource.class);
+
+    private static final ObjectReader RESPONSE_READER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readerFor(FetchSwitchResponseDto.class);
+
+    @Autowired
+    private EnvConfig envConfig;
+
+    @Autowired
+    private SwitchConsumer switchConsumer;
+
+    private Path file;
+    private WatchService watchService;
+    private Thread watcher;
+
+    @Override
+    public String getName() {
+        return SwitchHubConstants.Updates.SOURCE_FILE;
+    }
+
+    @Override
+    public synchronized boolean start() {
+        if (watchService != null) {
+            return true;
+        }
+        String configured = envConfig.getSwitchHubSdkUpdatesFilePath();
+        if (configured == null || configured.isBlank()) {
+            log.error(SwitchHubConstants.LogMessages.FILE_SOURCE_PATH_MISSING);
+            return false;
+        }
+
+        file = Paths.get(configured).toAbsolutePath();
+        try {
+            watchService = file.getFileSystem().newWatchService();
+            file.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            log.error(SwitchHubConstants.LogMessages.FILE_SOURCE_WATCH_FAILED, file, e.getMessage());
+            close();
+            return false;
+        }
+
+        if (Files.exists(file)) {
+            load();
+        }
+        WatchService events = watchService;
+        watcher = new Thread(() -> watch(events), SwitchHubConstants.Scheduler.FILE_WATCH_THREAD_NAME);
+        watcher.setDaemon(true);
+        watcher.start();
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug(SwitchHubConstants.LogMessages.FILE_SOURCE_WATCH_FAILED, file, e.getMessage());
+            }
+            watchService = null;
+        }
+        if (watcher != null) {
+            watcher.interrupt();
+            watcher = null;
+        }
+    }
+
+    private void watch(WatchService events) {
+        try {
+            while (true) {
+                WatchKey key = events.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || file.getFileName().equals(event.context());
+                }
+                if (changed) {
+                    load();
+                }
+                if (!key.reset()) {
+                    log.warn(SwitchHubConstants.LogMessages.FILE_SOURCE_WATCH_FAILED, file.getParent(), "directory removed");
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed by close()
+        }
+    }
+
+    void load() {
+        try {
+            FetchSwitchResponseDto response = RESPONSE_READER.readValue(file.toFile());
+            Map<String, SwitchModel> switchDetails = response.getSwitchDetails();
+            if (switchDetails == null || switchDetails.isEmpty()) {
+                return;
+            }
+
+            List<Message<MessageModel>> messages = new ArrayList<>(switchDetails.size());
+            for (Map.Entry<String, SwitchModel> entry : switchDetails.entrySet()) {
+                if (entry.getValue() != null) {
+                    messages.add(MessageBuilder.withPayload(new MessageModel(entry.getKey(), entry.getValue())).build());
+                }
+            }
+            switchConsumer.onFlagChanges(messages);
+            log.info(SwitchHubConstants.LogMessages.FILE_SOURCE_LOADED, messages.size(), file);
+        } catch (IOException | RuntimeException e) {
+            log.warn(SwitchHubConstants.LogMessages.FILE_SOURCE_LOAD_FAILED, file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.dtos.FetchSwitchRequestDto;
+import in.switchhub.switchhub_sdk.dtos.FetchSwitchResponseDto;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Loads switches that are not in {@code switchHub.sdk.switches} the first time they are evaluated, when
+ * {@code switchHub.sdk.lazyFetch.enabled} is set. A name is fetched at most once at a time no matter how
+ * many threads miss it, and the names missed within one {@code batchWindowMillis} are fetched together
+ * in as few {@code /fetchswitch} calls as the chunk size allows. Names the backend did not return, or
+ * whose fetch failed, are not requested again for {@code retryAfterMillis}. Loaded names are re-fetched
+ * by reconciliation alongside the configured switches.
+ */
+@Component
+public class LazySwitchLoaderComponent {
+
+    private static final Logger log = LoggerFactory.getLogger(LazySwitchLoaderComponent.class);
+
+    @Autowired
+    private EnvConfig envConfig;
+
+    @Autowired
+    private SwitchHubApiComponent switchHubApiComponent;
+
+    @Autowired
+    private SharedDataStoreComponent sharedDataStoreComponent;
+
+    @Autowired
+    private SnapshotPersistenceComponent snapshotPersistenceComponent;
+
+    @Autowired
+    private ScheduledExecutorService switchHubScheduler;
+
+    @Autowired
+    private Executor switchHubWorkerExecutor;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> retryAfterNanos = new ConcurrentHashMap<>();
+    private final Set<String> loaded = ConcurrentHashMap.newKeySet();
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * Called on every evaluation of a switch that is not in the store. Queues {@code switchName} for the
+     * next batch unless it is already queued, being fetched or was recently found missing, and returns
+     * the value to evaluate to until it is loaded.
+     */
+    public boolean onMissingSwitch(String switchName) {
+        if (!envConfig.isSwitchHubSdkLazyFetchEnabled() || switchName == null) {
+            return false;
+        }
+
+        Long retryAt = retryAfterNanos.get(switchName);
+        if (retryAt == null || System.nanoTime() - retryAt >= 0) {
+            request(switchName, retryAt);
+        }
+        return envConfig.isSwitchHubSdkLazyFetchDefaultValue();
+    }
+
+    private void request(String switchName, Long retryAt) {
+        if (!inFlight.add(switchName)) {
+            return;
+        }
+        if (retryAt != null) {
+            retryAfterNanos.remove(switchName, retryAt);
+        }
+
+        pending.add(switchName);
+        if (flushScheduled.compareAndSet(false, true)) {
+            switchHubScheduler.schedule(() -> switchHubWorkerExecutor.execute(this::flush),
+                    envConfig.getSwitchHubSdkLazyFetchBatchWindowMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void flush() {
+        // cleared before draining, so a name queued after the drain schedules a batch of its own
+        flushScheduled.set(false);
+        long now = System.nanoTime();
+        retryAfterNanos.values().removeIf(retryAt -> now - retryAt >= 0);
+
+        List<String> batch = new ArrayList<>();
+        String switchName;
+        while ((switchName = pending.poll()) != null) {
+            batch.add(switchName);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        for (List<String> chunk : StartupComponent.chunk(batch, envConfig.getSwitchHubSdkFetchChunkSize())) {
+            fetch(chunk);
+        }
+    }
+
+    /**
+     * Re-fetches the switches loaded so far, skipping any that are being fetched already, and returns how
+     * many had drifted from the backend.
+     */
+    public int refresh() {
+        List<String> switchNames = new ArrayList<>();
+        for (String switchName : loaded) {
+            if (inFlight.add(switchName)) {
+                switchNames.add(switchName);
+            }
+        }
+        if (switchNames.isEmpty()) {
+            return 0;
+        }
+
+        int drift = 0;
+        for (List<String> chunk : StartupComponent.chunk(switchNames, envConfig.getSwitchHubSdkFetchChunkSize())) {
+            drift += fetch(chunk);
+        }
+        return drift;
+    }
+
+    public Set<String> getLoadedSwitches() {
+        return Collections.unmodifiableSet(loaded);
+    }
+
+    private int fetch(List<String> switchNames) {
+        int changed = 0;
+        try {
+            FetchSwitchRequestDto requestDto = new FetchSwitchRequestDto(switchNames);
+            if (envConfig.isSwitchHubSdkFetchStreaming()) {
+                SharedDataStoreComponent.Update update = sharedDataStoreComponent.beginUpdate();
+                switchHubApiComponent.fetchSwitch(requestDto,
+                        envConfig.getSwitchHubSdkEnvironmentName(),
+                        envConfig.getSwitchHubSdkApplicationName(),
+                        null,
+                        update);
+                update.publish();
+                changed = update.changedSize();
+                if (changed > 0) {
+                    snapshotPersistenceComponent.scheduleSave();
+                }
+            } else {
+                FetchSwitchResponseDto response = switchHubApiComponent.fetchSwitch(requestDto,
+                        envConfig.getSwitchHubSdkEnvironmentName(),
+                        envConfig.getSwitchHubSdkApplicationName());
+                if (response != null && response.getSwitchDetails() != null) {
+                    Map<String, SwitchModel> switchDetails = new LinkedHashMap<>();
+                    for (Map.Entry<String, SwitchModel> entry : response.getSwitchDetails().entrySet()) {
+                        if (entry.getValue() != null) {
+                            switchDetails.put(entry.getKey(), entry.getValue());
+                            if (!entry.getValue().hasSameState(sharedDataStoreComponent.getDataMap(entry.getKey()))) {
+                                changed++;
+                            }
+                        }
+                    }
+                    if (!switchDetails.isEmpty()) {
+                        sharedDataStoreComponent.putAllDataMap(switchDetails);
+                        snapshotPersistenceComponent.scheduleSave();
+                    }
+                }
+            }
+            log.debug(SwitchHubConstants.LogMessages.LAZY_FETCH_COMPLETED, switchNames);
+        } catch (Exception e) {
+            log.warn(SwitchHubConstants.LogMessages.LAZY_FETCH_FAILED, switchNames, e.getMessage());
+        } finally {
+            long retryAt = System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(envConfig.getSwitchHubSdkLazyFetchRetryAfterMillis());
+            for (String switchName : switchNames) {
+                if (sharedDataStoreComponent.getCompiledSwitch(switchName) == null) {
+                    loaded.remove(switchName);
+                    retryAfterNanos.put(switchName, retryAt);
+                } else {
+                    loaded.add(switchName);
+                }
+                inFlight.remove(switchName);
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,159 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts evaluations of missing switches and missing metered generators, and logs one aggregated
+ * summary per interval from the SDK scheduler. Recording never logs, so a missing switch on a hot path
+ * costs a map read and a counter increment instead of an appender call per evaluation.
+ */
+@Component
+public class MissingSwitchReporterComponent {
+
+    private static final Logger log = LoggerFactory.getLogger(MissingSwitchReporterComponent.class);
+
+    @Autowired
+    private EnvConfig envConfig;
+
+    @Autowired
+    private ScheduledExecutorService switchHubScheduler;
+
+    private final Map<String, Occurrence> missingSwitches = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Occurrence>> missingGenerators = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleReports() {
+        long interval = envConfig.getSwitchHubSdkMissingSwitchReportIntervalSeconds();
+        if (interval > 0) {
+            switchHubScheduler.scheduleWithFixedDelay(this::report, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    public void recordMissingSwitch(String switchName) {
+        record(missingSwitches, switchName);
+    }
+
+    /**
+     * Records that {@code switchName} has no generator for {@code meteredKey}; a {@code null} key means
+     * the switch has no generators at all.
+     */
+    public void recordMissingGenerator(String switchName, String meteredKey) {
+        Map<String, Occurrence> byKey = missingGenerators.get(switchName);
+        if (byKey == null) {
+            byKey = missingGenerators.computeIfAbsent(switchName, k -> new ConcurrentHashMap<>());
+        }
+        record(byKey, meteredKey == null ? "" : meteredKey);
+    }
+
+    public Map<String, Occurrence> getMissingSwitches() {
+        return Map.copyOf(missingSwitches);
+    }
+
+    public Map<String, Occurrence> getMissingGenerators(String switchName) {
+        Map<String, Occurrence> byKey = missingGenerators.get(switchName);
+        return byKey == null ? Map.of() : Map.copyOf(byKey);
+    }
+
+    /**
+     * Logs and resets the counts collected since the previous report. Entries that saw no hits during
+     * a whole interval are dropped.
+     */
+    public void report() {
+        try {
+            List<String> switches = new ArrayList<>();
+            drain(missingSwitches, "", switches);
+            if (!switches.isEmpty()) {
+                log.error("{}: {}", SwitchHubConstants.ErrorMessages.SWITCH_NOT_FOUND_IN_MEMORY, switches);
+            }
+
+            List<String> generators = new ArrayList<>();
+            for (Map.Entry<String, Map<String, Occurrence>> entry : missingGenerators.entrySet()) {
+                drain(entry.getValue(), entry.getKey(), generators);
+                missingGenerators.computeIfPresent(entry.getKey(), (switchName, byKey) -> byKey.isEmpty() ? null : byKey);
+            }
+            if (!generators.isEmpty()) {
+                log.error("{}: {}", SwitchHubConstants.ErrorMessages.NO_GENERATOR_FOUND, generators);
+            }
+        } catch (Exception e) {
+            log.warn(SwitchHubConstants.LogMessages.MISSING_SWITCH_REPORT_FAILED, e.getMessage());
+        }
+    }
+
+    private static void record(Map<String, Occurrence> occurrences, String key) {
+        Occurrence occurrence = occurrences.get(key);
+        if (occurrence == null) {
+            occurrence = occurrences.computeIfAbsent(key, k -> new Occurrence());
+        }
+        occurrence.hit();
+    }
+
+    private static void drain(Map<String, Occurrence> occurrences, String prefix, List<String> summary) {
+        for (Map.Entry<String, Occurrence> entry : occurrences.entrySet()) {
+            Occurrence occurrence = entry.getValue();
+            long count = occurrence.count.sumThenReset();
+            if (count == 0) {
+                // re-checked under the map's lock, so a hit recorded since the reset keeps the entry
+                occurrences.computeIfPresent(entry.getKey(),
+                        (key, current) -> current == occurrence && current.count.sum() == 0 ? null : current);
+            } else {
+                String name = prefix.isEmpty() ? entry.getKey()
+                        : entry.getKey().isEmpty() ? prefix : prefix + "/" + entry.getKey();
+                summary.add(name + " (count=" + count
+                        + ", firstSeen=" + Instant.ofEpochMilli(occurrence.firstSeen)
+                        + ", lastSeen=" + Instant.ofEpochMilli(occurrence.lastSeen) + ")");
+            }
+        }
+    }
+
+    public static final class Occurrence {
+        private final LongAdder count = new LongAdder();
+        private final long firstSeen = System.currentTimeMillis();
+        private volatile long lastSeen = firstSeen;
+
+        private void hit() {
+            count.increment();
+            long now = System.currentTimeMillis();
+            // skip the write when unchanged so concurrent hits do not contend on the field
+            if (now != lastSeen) {
+                lastSeen = now;
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getFirstSeen() {
+            return firstSeen;
+        }
+
+        public long getLastSeen() {
+            return lastSeen;
+        }
+
+        @Override
+        public String toString() {
+            return "Occurrence{" +
+                    "count=" + count +
+                    ", firstSeen=" + firstSeen +
+                    ", lastSeen=" + lastSeen +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.support.AmqpHeaderMapper;
+import org.springframework.amqp.support.SimpleAmqpHeaderMapper;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Default {@link UpdateSource}: consumes the flag change queue declared by
+ * {@link in.switchhub.switchhub_sdk.config.RabbitMQConfig}. The listener container does not start with
+ * the application context; {@link #start()} opens the broker connection and then starts it, off the
+ * thread that refreshes the context. The context still stops it on shutdown.
+ *
+ * Deliveries are received raw and converted one at a time, so a message that cannot be read is logged,
+ * counted and dropped on its own instead of failing, and losing, the rest of its batch.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = SwitchHubConstants.Updates.SOURCE_PROPERTY_PREFIX,
+    name = SwitchHubConstants.Updates.SOURCE_PROPERTY_NAME,
+    havingValue = SwitchHubConstants.Updates.SOURCE_RABBITMQ,
+    matchIfMissing = true
+)
+public class RabbitMQUpdateSource implements UpdateSource {
+
+    private static final Logger log = LoggerFactory.getLogger(RabbitMQUpdateSource.class);
+
+    @Autowired
+    private SwitchConsumer switchConsumer;
+
+    @Autowired
+    private CachingConnectionFactory rabbitMqconnectionFactory;
+
+    @Autowired
+    private RabbitListenerEndpointRegistry rabbitListenerEndpointRegistry;
+
+    @Autowired
+    private MessageConverter switchHubMessageConverter;
+
+    @Autowired(required = false)
+    private SwitchMetricsComponent switchMetricsComponent;
+
+    private final AmqpHeaderMapper headerMapper = new SimpleAmqpHeaderMapper();
+
+    @RabbitListener(id = SwitchHubConstants.RabbitMQ.LISTENER_ID,
+            queues = "#{queue.name}",
+            containerFactory = "switchHubListenerContainerFactory")
+    public void onFlagChanges(List<org.springframework.amqp.core.Message> deliveries) {
+        List<Message<MessageModel>> messages = new ArrayList<>(deliveries.size());
+        for (org.springframework.amqp.core.Message delivery : deliveries) {
+            Message<MessageModel> message = convert(delivery);
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+        if (!messages.isEmpty()) {
+            switchConsumer.onFlagChanges(messages);
+        }
+    }
+
+    private Message<MessageModel> convert(org.springframework.amqp.core.Message delivery) {
+        MessageProperties properties = delivery.getMessageProperties();
+        try {
+            properties.setInferredArgumentType(MessageModel.class);
+            Object payload = switchHubMessageConverter.fromMessage(delivery);
+            if (!(payload instanceof MessageModel)) {
+                throw new MessageConversionException("Unexpected payload " + (payload == null ? null : payload.getClass()));
+            }
+            return MessageBuilder.withPayload((MessageModel) payload)
+                    .copyHeaders(headerMapper.toHeaders(properties))
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn(SwitchHubConstants.LogMessages.MESSAGE_UNREADABLE, properties.getDeliveryTag(), e.getMessage());
+            if (switchMetricsComponent != null) {
+                switchMetricsComponent.recordInvalid(1);
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return SwitchHubConstants.Updates.SOURCE_RABBITMQ;
+    }
+
+    @Override
+    public boolean start() {
+        boolean connected;
+        try {
+            rabbitMqconnectionFactory.createConnection();
+            log.info(SwitchHubConstants.LogMessages.RABBITMQ_CONNECTION_ESTABLISHED);
+            connected = true;
+        } catch (Exception e) {
+            log.error("{}: {}", SwitchHubConstants.LogMessages.RABBITMQ_CONNECTION_FAILED, e.getMessage());
+            connected = false;
+        }
+
+        // started even when the broker is down: the container keeps retrying and consumes once it is back
+        try {
+            MessageListenerContainer container =
+                    rabbitListenerEndpointRegistry.getListenerContainer(SwitchHubConstants.RabbitMQ.LISTENER_ID);
+            if (container != null && !container.isRunning()) {
+                container.start();
+            }
+        } catch (Exception e) {
+            log.error("{}: {}", SwitchHubConstants.LogMessages.RABBITMQ_CONNECTION_FAILED, e.getMessage());
+            connected = false;
+        }
+        return connected;
+    }
+
+    @Override
+    public void close() {
+        // the listener container and the connection factory are stopped by the application context
+    }
+}
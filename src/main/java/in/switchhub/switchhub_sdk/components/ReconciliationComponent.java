@@ -0,0 +1,108 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Periodically re-fetches the configured and lazily loaded switches as a safety net for broker messages that were lost
+ * or missed while the consumer was down.
+ *
+ * With conditional fetching an unchanged chunk costs one {@code 304 Not Modified} round trip. Every
+ * delay is jittered, and the first one is drawn from the whole interval, so a fleet restarted together
+ * does not poll the backend in lockstep. A run is scheduled only after the previous one finished.
+ * Nothing is scheduled when switches come from the update file, which the backend state would overwrite.
+ */
+@Component
+public class ReconciliationComponent {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationComponent.class);
+
+    @Autowired
+    private EnvConfig envConfig;
+
+    @Autowired
+    private StartupComponent startupComponent;
+
+    @Autowired
+    private LazySwitchLoaderComponent lazySwitchLoaderComponent;
+
+    @Autowired(required = false)
+    private SwitchMetricsComponent switchMetricsComponent;
+
+    @Autowired
+    private ScheduledExecutorService switchHubScheduler;
+
+    @Autowired
+    private Executor switchHubWorkerExecutor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleReconciliation() {
+        if (SwitchHubConstants.Updates.SOURCE_FILE.equals(envConfig.getSwitchHubSdkUpdatesSource())) {
+            log.info(SwitchHubConstants.LogMessages.FILE_SOURCE_SKIPS_RECONCILIATION);
+            return;
+        }
+        long intervalMillis = TimeUnit.SECONDS.toMillis(envConfig.getSwitchHubSdkReconciliationIntervalSeconds());
+        if (intervalMillis > 0) {
+            scheduleNext(ThreadLocalRandom.current().nextLong(intervalMillis) + 1);
+        }
+    }
+
+    /**
+     * Fetches and applies the configured and lazily loaded switches, returning how many had drifted from
+     * the backend.
+     */
+    public int reconcile() {
+        AtomicInteger drift = new AtomicInteger();
+        boolean complete = startupComponent.fetchSwitches(drift);
+        drift.addAndGet(lazySwitchLoaderComponent.refresh());
+
+        if (drift.get() > 0) {
+            log.warn(SwitchHubConstants.LogMessages.RECONCILIATION_DRIFT, drift.get());
+            if (switchMetricsComponent != null) {
+                switchMetricsComponent.recordDrift(drift.get());
+            }
+        }
+        if (!complete) {
+            log.warn(SwitchHubConstants.LogMessages.RECONCILIATION_INCOMPLETE);
+        }
+        return drift.get();
+    }
+
+    /**
+     * The configured interval scaled by a random factor in {@code [1 - jitter, 1 + jitter]}.
+     */
+    long nextDelayMillis() {
+        long intervalMillis = TimeUnit.SECONDS.toMillis(envConfig.getSwitchHubSdkReconciliationIntervalSeconds());
+        double jitter = Math.min(1.0, Math.max(0.0, envConfig.getSwitchHubSdkReconciliationJitter()));
+        double factor = 1.0 - jitter + 2.0 * jitter * ThreadLocalRandom.current().nextDouble();
+        return Math.max(1L, (long) (intervalMillis * factor));
+    }
+
+    private void scheduleNext(long delayMillis) {
+        // the fetch blocks, so it runs on a worker and keeps the shared scheduler thread free
+        switchHubScheduler.schedule(() -> switchHubWorkerExecutor.execute(this::runAndReschedule),
+                delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void runAndReschedule() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn(SwitchHubConstants.LogMessages.RECONCILIATION_FAILED, e.getMessage());
+        } finally {
+            scheduleNext(nextDelayMillis());
+        }
+    }
+}
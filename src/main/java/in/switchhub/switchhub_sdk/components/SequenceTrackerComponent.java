@@ -0,0 +1,190 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Follows the sequence numbers that publishers put in the {@link SwitchHubConstants.RabbitMQ#SEQUENCE_HEADER}
+ * header of flag changes for this environment and application.
+ *
+ * A number seen before is a duplicate. A number skipped over is a hole; as concurrent consumers can
+ * deliver out of order, a hole is only treated as a lost message once it has stayed open for
+ * {@code switchHub.sdk.consumer.sequence.gapGraceMillis}. A lost message, a jump of more than
+ * {@code maxTrackedGap} numbers, or a publisher restarting its sequence triggers an immediate
+ * reconciliation on a worker thread; resyncs requested while one is running are folded into one more run.
+ *
+ * Numbers are only tracked when this instance receives the whole stream, that is with a broadcast queue
+ * or the {@code sse} update source. On the shared queue each replica only gets its share of the
+ * messages, so the holes would never fill and every replica would resync continuously.
+ *
+ * A number is checked with {@link #isDuplicate(long)} before its message is applied and recorded with
+ * {@link #commit(long)} only after the apply succeeded, so a batch that failed and is redelivered is
+ * applied again instead of being skipped as already seen.
+ */
+@Component
+public class SequenceTrackerComponent {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceTrackerComponent.class);
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    @Autowired
+    private EnvConfig envConfig;
+
+    @Autowired
+    private ReconciliationComponent reconciliationComponent;
+
+    @Autowired
+    private ScheduledExecutorService switchHubScheduler;
+
+    @Autowired
+    private Executor switchHubWorkerExecutor;
+
+    private final Object lock = new Object();
+    private final Object resyncLock = new Object();
+    private long highest = NONE;
+    // missing sequence number -> nanoTime it was first skipped, oldest first
+    private final Map<Long, Long> missing = new LinkedHashMap<>();
+    private final AtomicBoolean resyncPending = new AtomicBoolean();
+    private final LongAdder gaps = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    /**
+     * Whether this instance sees every message of the stream, and so can tell a lost message from one
+     * delivered to another replica.
+     */
+    public boolean isTracking() {
+        return envConfig.isSwitchHubSdkConsumerBroadcastEnabled()
+                || SwitchHubConstants.Updates.SOURCE_SSE.equals(envConfig.getSwitchHubSdkUpdatesSource());
+    }
+
+    /**
+     * Returns whether {@code sequence} was already committed, counting it as a duplicate if so.
+     */
+    public boolean isDuplicate(long sequence) {
+        long maxTrackedGap = Math.max(0, envConfig.getSwitchHubSdkConsumerSequenceMaxTrackedGap());
+        boolean duplicate;
+        synchronized (lock) {
+            duplicate = highest != NONE && sequence <= highest && highest - sequence <= maxTrackedGap
+                    && !missing.containsKey(sequence);
+        }
+        if (duplicate) {
+            duplicates.increment();
+        }
+        return duplicate;
+    }
+
+    /**
+     * Records the sequence number of an applied message, opening holes for numbers it skipped over.
+     */
+    public void commit(long sequence) {
+        long maxTrackedGap = Math.max(0, envConfig.getSwitchHubSdkConsumerSequenceMaxTrackedGap());
+        boolean holesOpened = false;
+        boolean resync = false;
+
+        synchronized (lock) {
+            if (highest == NONE) {
+                highest = sequence;
+                return;
+            }
+
+            if (sequence > highest) {
+                long skipped = sequence - highest - 1;
+                if (skipped > maxTrackedGap) {
+                    missing.clear();
+                    gaps.increment();
+                    log.warn(SwitchHubConstants.LogMessages.SEQUENCE_GAP, skipped, highest, sequence);
+                    resync = true;
+                } else if (skipped > 0) {
+                    long now = System.nanoTime();
+                    for (long hole = highest + 1; hole < sequence; hole++) {
+                        missing.put(hole, now);
+                    }
+                    holesOpened = true;
+                }
+                highest = sequence;
+            } else if (missing.remove(sequence) == null) {
+                if (highest - sequence <= maxTrackedGap) {
+                    // applied twice, by concurrent consumers or a redelivery
+                    return;
+                }
+                log.warn(SwitchHubConstants.LogMessages.SEQUENCE_RESET, highest, sequence);
+                missing.clear();
+                highest = sequence;
+                resync = true;
+            }
+        }
+
+        if (holesOpened) {
+            switchHubScheduler.schedule(this::checkGaps,
+                    envConfig.getSwitchHubSdkConsumerSequenceGapGraceMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (resync) {
+            requestResync();
+        }
+    }
+
+    /**
+     * Resyncs if any hole has stayed open for the grace period.
+     */
+    void checkGaps() {
+        long graceNanos = TimeUnit.MILLISECONDS.toNanos(envConfig.getSwitchHubSdkConsumerSequenceGapGraceMillis());
+        long now = System.nanoTime();
+        int lost = 0;
+        synchronized (lock) {
+            Iterator<Long> firstMissed = missing.values().iterator();
+            while (firstMissed.hasNext() && now - firstMissed.next() >= graceNanos) {
+                firstMissed.remove();
+                lost++;
+            }
+        }
+
+        if (lost > 0) {
+            gaps.increment();
+            log.warn(SwitchHubConstants.LogMessages.SEQUENCE_LOST, lost);
+            requestResync();
+        }
+    }
+
+    /**
+     * Schedules a reconciliation on a worker thread unless one is already waiting to run.
+     */
+    void requestResync() {
+        if (resyncPending.compareAndSet(false, true)) {
+            switchHubWorkerExecutor.execute(this::resync);
+        }
+    }
+
+    private void resync() {
+        synchronized (resyncLock) {
+            // cleared before fetching, so a gap found during this run queues exactly one more
+            resyncPending.set(false);
+            try {
+                reconciliationComponent.reconcile();
+            } catch (RuntimeException e) {
+                log.warn(SwitchHubConstants.LogMessages.SEQUENCE_RESYNC_FAILED, e.getMessage());
+            }
+        }
+    }
+
+    public long getGaps() {
+        return gaps.sum();
+    }
+
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+}
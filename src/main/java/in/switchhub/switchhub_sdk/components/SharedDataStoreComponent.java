@@ -1,71 +1,415 @@
 package in.switchhub.switchhub_sdk.components;
 
 import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.models.CompiledSwitchModel;
 import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.models.SwitchSnapshotModel;
+import in.switchhub.switchhub_sdk.util.SwitchCounters;
+import in.switchhub.switchhub_sdk.util.SwitchDetailsStreamReader;
+import in.switchhub.switchhub_sdk.util.SwitchVersion;
 import in.switchhub.switchhub_sdk.util.WeightedBooleanGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
+/**
+ * In-memory switch store.
+ *
+ * All state lives in an immutable {@link SwitchSnapshotModel}. Readers take a single volatile read of the
+ * current snapshot and never lock; writers build a new snapshot (copy-on-write) under a writer lock and
+ * publish it with one {@link AtomicReference} swap, so a reader can never observe a switch without its
+ * generators or a half-applied update.
+ *
+ * A put is applied only if the switch is not older than the stored state (see {@link SwitchVersion}). The
+ * check is repeated under the writer lock, so a slow startup fetch or a redelivered message cannot
+ * overwrite a newer broker update; dropped puts are counted as stale. A switch that cannot be compiled,
+ * such as one with a metered percentage outside 0-100, is logged, counted as invalid and left out, so it
+ * does not fail the rest of the update.
+ */
 @Component
 public class SharedDataStoreComponent {
 
     private static final Logger log = LoggerFactory.getLogger(SharedDataStoreComponent.class);
 
-    private final Map<String, SwitchModel> dataMap = new ConcurrentHashMap<>();
-    private final Map<String, Map<String, WeightedBooleanGenerator>> weightedMeteredMap = new HashMap<>();
+    @Autowired(required = false)
+    private SwitchMetricsComponent switchMetricsComponent;
+
+    @Autowired(required = false)
+    private MissingSwitchReporterComponent missingSwitchReporterComponent;
+
+    private final AtomicReference<SwitchSnapshotModel> snapshot = new AtomicReference<>(SwitchSnapshotModel.EMPTY);
+    private final Object writeLock = new Object();
+
+    public SwitchSnapshotModel getSnapshot() {
+        return snapshot.get();
+    }
+
+    public long getVersion() {
+        return snapshot.get().getVersion();
+    }
+
+    public CompiledSwitchModel getCompiledSwitch(String key) {
+        return snapshot.get().getSwitch(key);
+    }
 
     public void putDataMap(String key, SwitchModel value) {
-        dataMap.put(key, value);
+        putAllDataMap(Collections.singletonMap(key, value));
+    }
+
+    /**
+     * Compiles and publishes all given switches in a single snapshot swap.
+     */
+    public void putAllDataMap(Map<String, SwitchModel> values) {
+        putAllDataMap(values, Map.of());
+    }
+
+    /**
+     * Publishes {@code values} together with the sync tokens they were fetched with, as when restoring
+     * the local snapshot.
+     */
+    public void putAllDataMap(Map<String, SwitchModel> values, Map<String, String> syncTokens) {
+        Update update = beginUpdate();
+        for (Map.Entry<String, SwitchModel> entry : values.entrySet()) {
+            update.put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, String> entry : syncTokens.entrySet()) {
+            update.setSyncToken(entry.getKey(), entry.getValue());
+        }
+        update.publish();
+    }
+
+    public String getSyncToken(String key) {
+        return snapshot.get().getSyncToken(key);
+    }
+
+    public Map<String, String> getSyncTokens() {
+        return snapshot.get().getSyncTokens();
+    }
+
+    /**
+     * Starts a batch of switches that is compiled as it is filled and published in one snapshot swap by
+     * {@link Update#publish()}. Lets a streamed fetch hand over each switch as soon as it is parsed.
+     */
+    public Update beginUpdate() {
+        return new Update();
     }
 
     public SwitchModel getDataMap(String key) {
-        return dataMap.get(key);
+        CompiledSwitchModel compiled = snapshot.get().getSwitch(key);
+        return compiled == null ? null : compiled.getSwitchModel();
     }
 
     public boolean dataMapContainsKey(String key) {
-        return dataMap.containsKey(key);
+        return getDataMap(key) != null;
     }
 
     public void dataMapRemove(String key) {
-        dataMap.remove(key);
+        if (snapshot.get().getSwitch(key) != null) {
+            publish(switches -> switches.remove(key));
+        }
     }
 
     public Map<String, SwitchModel> dataMapGetAll() {
-        return dataMap;
+        Map<String, SwitchModel> models = new HashMap<>();
+        for (Map.Entry<String, CompiledSwitchModel> entry : snapshot.get().getSwitches().entrySet()) {
+            if (entry.getValue().getSwitchModel() != null) {
+                models.put(entry.getKey(), entry.getValue().getSwitchModel());
+            }
+        }
+        return Collections.unmodifiableMap(models);
     }
 
     public void registerWeights(String key, String meteredKey, int truePercentage) {
-        Map<String, WeightedBooleanGenerator> weightedMap = weightedMeteredMap.computeIfAbsent(key, k -> new HashMap<>());
-        weightedMap.put(meteredKey, new WeightedBooleanGenerator(truePercentage));
+        WeightedBooleanGenerator generator = new WeightedBooleanGenerator(truePercentage);
+        SwitchCounters counters = countersFor(key);
+
+        publish(switches -> {
+            CompiledSwitchModel existing = switches.get(key);
+            Map<String, WeightedBooleanGenerator> generators = new HashMap<>();
+            Map<String, Integer> truePercentages = new HashMap<>();
+            if (existing != null) {
+                generators.putAll(existing.getGenerators());
+                truePercentages.putAll(existing.getTruePercentages());
+            }
+            generators.put(meteredKey, generator);
+            truePercentages.put(meteredKey, truePercentage);
+            switches.put(key, new CompiledSwitchModel(existing == null ? null : existing.getSwitchModel(),
+                    generators, truePercentages, counters));
+        });
     }
 
     public boolean getNextWeight(String key, String meteredKey) {
-        if (!weightedMeteredMap.containsKey(key)) {
-            log.error("{}: {}", SwitchHubConstants.ErrorMessages.NO_GENERATOR_FOUND, key);
+        return getNextWeight(key, snapshot.get().getSwitch(key), meteredKey);
+    }
+
+    /**
+     * Draws the next weighted value of {@code compiled}, the state of {@code key} the caller already
+     * resolved, falling back to the default metered key when {@code meteredKey} has no generator.
+     */
+    public boolean getNextWeight(String key, CompiledSwitchModel compiled, String meteredKey) {
+        if (compiled == null || compiled.getGenerators().isEmpty()) {
+            recordMissingGenerator(key, null);
             return false;
         }
 
-        Map<String, WeightedBooleanGenerator> generatorMap = weightedMeteredMap.get(key);
+        Map<String, WeightedBooleanGenerator> generatorMap = compiled.getGenerators();
         WeightedBooleanGenerator generator = generatorMap.get(meteredKey);
+        boolean fallback = generator == null;
 
-        if (generator == null) {
-            log.error("{}: {} for meteredKey: {}", SwitchHubConstants.ErrorMessages.NO_GENERATOR_FOUND, key, meteredKey);
+        if (fallback) {
+            recordMissingGenerator(key, meteredKey);
             generator = generatorMap.get(SwitchHubConstants.Switch.DEFAULT_KEY);
         }
 
-        return generator != null && generator.next();
+        boolean result = generator != null && generator.next();
+        SwitchCounters counters = compiled.getCounters();
+        if (counters != null) {
+            if (fallback) {
+                counters.recordFallback();
+            }
+            counters.record(fallback ? SwitchHubConstants.Switch.DEFAULT_KEY : meteredKey, result);
+        }
+        return result;
     }
 
     public boolean weightedMeteredMapContainsKey(String key) {
-        return weightedMeteredMap.containsKey(key);
+        CompiledSwitchModel compiled = snapshot.get().getSwitch(key);
+        return compiled != null && !compiled.getGenerators().isEmpty();
     }
 
     public void resetWeightedMeteredMap(String key) {
-        weightedMeteredMap.remove(key);
+        CompiledSwitchModel existing = snapshot.get().getSwitch(key);
+        if (existing == null || existing.getGenerators().isEmpty()) {
+            return;
+        }
+
+        publish(switches -> {
+            CompiledSwitchModel current = switches.get(key);
+            if (current == null) {
+                return;
+            }
+            if (current.getSwitchModel() == null) {
+                switches.remove(key);
+            } else {
+                switches.put(key, new CompiledSwitchModel(current.getSwitchModel(), Map.of(), Map.of(),
+                        current.getCounters()));
+            }
+        });
+    }
+
+    private void publish(Consumer<Map<String, CompiledSwitchModel>> mutation) {
+        publish(mutation, Map.of());
+    }
+
+    private void publish(Consumer<Map<String, CompiledSwitchModel>> mutation, Map<String, String> syncTokenUpdates) {
+        synchronized (writeLock) {
+            SwitchSnapshotModel current = snapshot.get();
+            Map<String, CompiledSwitchModel> switches = new HashMap<>(current.getSwitches());
+            mutation.accept(switches);
+
+            Map<String, String> syncTokens = current.getSyncTokens();
+            if (!syncTokenUpdates.isEmpty()) {
+                syncTokens = new HashMap<>(syncTokens);
+                for (Map.Entry<String, String> entry : syncTokenUpdates.entrySet()) {
+                    if (entry.getValue() == null) {
+                        syncTokens.remove(entry.getKey());
+                    } else {
+                        syncTokens.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            snapshot.set(new SwitchSnapshotModel(current.getVersion() + 1, switches, syncTokens));
+        }
+    }
+
+    private void recordMissingGenerator(String key, String meteredKey) {
+        if (missingSwitchReporterComponent != null) {
+            missingSwitchReporterComponent.recordMissingGenerator(key, meteredKey);
+        }
+    }
+
+    private SwitchCounters countersFor(String key) {
+        return switchMetricsComponent == null ? null : switchMetricsComponent.countersFor(key);
+    }
+
+    private CompiledSwitchModel compile(String key, SwitchModel switchModel) {
+        Map<String, WeightedBooleanGenerator> generators = new HashMap<>();
+        Map<String, Integer> truePercentages = new HashMap<>();
+        Map<String, Map<String, Integer>> meteredStatus = switchModel.getMeteredStatus();
+
+        if (meteredStatus != null) {
+            for (Map.Entry<String, Map<String, Integer>> meteredEntry : meteredStatus.entrySet()) {
+                Map<String, Integer> metering = meteredEntry.getValue();
+                Integer trueValue = metering == null ? null : metering.get(SwitchHubConstants.Switch.METERED_TRUE_VALUE_KEY);
+                if (trueValue != null) {
+                    generators.put(meteredEntry.getKey(), new WeightedBooleanGenerator(trueValue));
+                    truePercentages.put(meteredEntry.getKey(), trueValue);
+                }
+            }
+        } else {
+            generators.put(SwitchHubConstants.Switch.DEFAULT_KEY,
+                    new WeightedBooleanGenerator(SwitchHubConstants.Validation.MAX_PERCENTAGE));
+            truePercentages.put(SwitchHubConstants.Switch.DEFAULT_KEY, SwitchHubConstants.Validation.MAX_PERCENTAGE);
+        }
+
+        return new CompiledSwitchModel(switchModel, generators, truePercentages, countersFor(key));
+    }
+
+    /**
+     * Pending store update, see {@link #beginUpdate()}. Not thread-safe.
+     */
+    public final class Update implements SwitchDetailsStreamReader.Sink {
+
+        private final Map<String, CompiledSwitchModel> compiled = new HashMap<>();
+        // removed switch name -> the stored state the removal was decided against, null if there was none
+        private final Map<String, CompiledSwitchModel> removed = new HashMap<>();
+        private final Set<String> changed = new HashSet<>();
+        private final Map<String, String> syncTokens = new HashMap<>();
+        private int stale;
+        private int invalid;
+
+        private Update() {
+        }
+
+        /**
+         * Adds {@code value} unless it is older than the state of {@code key} already in this update or,
+         * failing that, in the store.
+         */
+        @Override
+        public void put(String key, SwitchModel value) {
+            if (value == null) {
+                return;
+            }
+            CompiledSwitchModel current = compiled.get(key);
+            if (current == null && !removed.containsKey(key)) {
+                current = snapshot.get().getSwitch(key);
+            }
+            if (current != null && SwitchVersion.isStale(SwitchVersion.of(value), current.getVersion())) {
+                stale++;
+                return;
+            }
+
+            CompiledSwitchModel compiledSwitch;
+            try {
+                compiledSwitch = compile(key, value);
+            } catch (IllegalArgumentException e) {
+                log.warn(SwitchHubConstants.LogMessages.SWITCH_INVALID, key, e.getMessage());
+                invalid++;
+                return;
+            }
+
+            removed.remove(key);
+            compiled.put(key, compiledSwitch);
+            if (value.hasSameState(storedModel(key))) {
+                changed.remove(key);
+            } else {
+                changed.add(key);
+            }
+        }
+
+        /**
+         * Removes {@code key} unless a different state of it is published before this update is.
+         */
+        @Override
+        public void remove(String key) {
+            compiled.remove(key);
+            removed.put(key, snapshot.get().getSwitch(key));
+            if (storedModel(key) != null) {
+                changed.add(key);
+            } else {
+                changed.remove(key);
+            }
+        }
+
+        /**
+         * Records the sync token to publish with this update; {@code null} clears it.
+         */
+        public void setSyncToken(String key, String syncToken) {
+            syncTokens.put(key, syncToken);
+        }
+
+        public int size() {
+            return compiled.size();
+        }
+
+        public int removedSize() {
+            return removed.size();
+        }
+
+        /**
+         * Number of switches put or removed by this update that differ from the store as it was when they
+         * were added.
+         */
+        public int changedSize() {
+            return changed.size();
+        }
+
+        /**
+         * Number of puts dropped because a newer state of the switch was already held, and of removals
+         * dropped because the switch changed after they were read.
+         */
+        public int staleSize() {
+            return stale;
+        }
+
+        /**
+         * Number of puts dropped because the switch could not be compiled.
+         */
+        public int invalidSize() {
+            return invalid;
+        }
+
+        public void publish() {
+            if (!compiled.isEmpty() || !removed.isEmpty() || !syncTokens.isEmpty()) {
+                SharedDataStoreComponent.this.publish(switches -> {
+                    Iterator<Map.Entry<String, CompiledSwitchModel>> removals = removed.entrySet().iterator();
+                    while (removals.hasNext()) {
+                        Map.Entry<String, CompiledSwitchModel> removal = removals.next();
+                        // a removal carries no version, so it only applies to the state it was read against
+                        if (switches.get(removal.getKey()) == removal.getValue()) {
+                            switches.remove(removal.getKey());
+                        } else {
+                            removals.remove();
+                            changed.remove(removal.getKey());
+                            stale++;
+                        }
+                    }
+                    Iterator<Map.Entry<String, CompiledSwitchModel>> entries = compiled.entrySet().iterator();
+                    while (entries.hasNext()) {
+                        Map.Entry<String, CompiledSwitchModel> entry = entries.next();
+                        CompiledSwitchModel current = switches.get(entry.getKey());
+                        // a newer state may have been published since this update was filled
+                        if (current != null && SwitchVersion.isStale(entry.getValue().getVersion(), current.getVersion())) {
+                            entries.remove();
+                            changed.remove(entry.getKey());
+                            stale++;
+                        } else {
+                            switches.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                }, syncTokens);
+            }
+            if (stale > 0 && switchMetricsComponent != null) {
+                switchMetricsComponent.recordStale(stale);
+            }
+            if (invalid > 0 && switchMetricsComponent != null) {
+                switchMetricsComponent.recordInvalid(invalid);
+            }
+        }
+
+        private SwitchModel storedModel(String key) {
+            CompiledSwitchModel existing = snapshot.get().getSwitch(key);
+            return existing == null ? null : existing.getSwitchModel();
+        }
     }
 }
@@ -0,0 +1,145 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.models.PersistedSnapshotModel;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.util.SwitchModelCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a local copy of the switch store so a restarted application has warm state before, or
+ * without, a successful backend fetch.
+ *
+ * Saves are coalesced: a burst of updates schedules one write on the SDK scheduler, which encodes the
+ * store at that moment. The file is written to a temporary sibling, forced to disk and moved into
+ * place atomically, so a crash never leaves a partially written snapshot behind.
+ */
+@Component
+public class SnapshotPersistenceComponent {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotPersistenceComponent.class);
+
+    @Autowired
+    private EnvConfig envConfig;
+
+    @Autowired
+    private SharedDataStoreComponent sharedDataStoreComponent;
+
+    @Autowired
+    private ScheduledExecutorService switchHubScheduler;
+
+    private final AtomicBoolean savePending = new AtomicBoolean();
+
+    /**
+     * Reads the persisted switches and sync tokens through a memory-mapped buffer. Returns an empty
+     * snapshot when persistence is disabled or the file is missing or unreadable.
+     */
+    public PersistedSnapshotModel load() {
+        if (!envConfig.isSwitchHubSdkSnapshotEnabled()) {
+            return PersistedSnapshotModel.EMPTY;
+        }
+
+        Path file = getSnapshotFile();
+        if (!Files.isRegularFile(file)) {
+            return PersistedSnapshotModel.EMPTY;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            PersistedSnapshotModel persisted = SwitchModelCodec.decodeSnapshot(buffer);
+            log.info(SwitchHubConstants.LogMessages.SNAPSHOT_LOADED, persisted.getSwitches().size(), file);
+            return persisted;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn(SwitchHubConstants.LogMessages.SNAPSHOT_LOAD_FAILED, file, e.getMessage());
+            return PersistedSnapshotModel.EMPTY;
+        }
+    }
+
+    /**
+     * Schedules a write of the current store unless one is already pending.
+     */
+    public void scheduleSave() {
+        if (!envConfig.isSwitchHubSdkSnapshotEnabled()) {
+            return;
+        }
+        if (savePending.compareAndSet(false, true)) {
+            switchHubScheduler.schedule(this::saveNow, envConfig.getSwitchHubSdkSnapshotWriteDelayMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void saveNow() {
+        // cleared before reading the store, so an update that lands during the write schedules another
+        savePending.set(false);
+        // tokens first: a token older than the switches only costs a redundant delta on the next fetch,
+        // a newer one could turn a needed fetch into 304 Not Modified
+        Map<String, String> syncTokens = sharedDataStoreComponent.getSyncTokens();
+        Map<String, SwitchModel> switchModels = sharedDataStoreComponent.dataMapGetAll();
+        if (!switchModels.isEmpty()) {
+            save(switchModels, syncTokens);
+        }
+    }
+
+    void save(Map<String, SwitchModel> switchModels, Map<String, String> syncTokens) {
+        Path file = getSnapshotFile();
+        Path temporary = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+            ByteBuffer bytes = ByteBuffer.wrap(SwitchModelCodec.encode(switchModels, syncTokens));
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.debug(SwitchHubConstants.LogMessages.SNAPSHOT_SAVED, switchModels.size(), file);
+        } catch (IOException | RuntimeException e) {
+            log.warn(SwitchHubConstants.LogMessages.SNAPSHOT_SAVE_FAILED, file, e.getMessage());
+            deleteQuietly(temporary);
+        }
+    }
+
+    Path getSnapshotFile() {
+        return Paths.get(envConfig.getSwitchHubSdkSnapshotDirectory(),
+                envConfig.getSwitchHubSdkEnvironmentName() + "." + envConfig.getSwitchHubSdkApplicationName()
+                        + SwitchHubConstants.Snapshot.FILE_SUFFIX);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // best effort; a leftover temporary file is never read
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package in.switchhub.switchhub_sdk.components;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import in.switchhub.switchhub_sdk.util.Backoff;
+import in.switchhub.switchhub_sdk.util.SseEventReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * {@link UpdateSource} that reads flag changes from a long-lived HTTP response in server-sent events
+ * format, for deployments that cannot hold an AMQP connection. Each event carries one JSON
+ * {@link MessageModel}; its {@code id}, when set, is treated as the sequence number of the message.
+ *
+ * The stream is read on a dedicated daemon thread. When it ends, or nothing arrives for
+ * {@code switchHub.sdk.updates.sse.idleTimeoutMillis}, the source reconnects after a full-jitter backoff
+ * and sends the last event id as {@code Last-Event-ID} so the backend can replay what was missed. Without
+ * an event id to resume from, a reconnect triggers a resync instead.
+ *
+ * The stream uses its own {@link HttpURLConnection} rather than the pooled JDK {@code HttpClient} behind
+ * the {@code RestTemplate}. That client only offers a timeout for the whole exchange, which would cut off
+ * a healthy long-lived stream, and no timeout between reads to detect a silent one; a socket read timeout
+ * gives exactly the idle detection needed. The stream holds its connection for its whole life, so it
+ * would gain nothing from the pool anyway.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = SwitchHubConstants.Updates.SOURCE_PROPERTY_PREFIX,
+    name = SwitchHubConstants.Updates.SOURCE_PROPERTY_NAME,
+    havingValue = SwitchHubConstants.Updates.SOURCE_SSE
+)
+public class SseUpdateSource implements UpdateSource {
+
+    private static final Logger log = LoggerFactory.getLogger(SseUpdateSource.class);
+
+    private static final ObjectReader MESSAGE_READER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readerFor(MessageModel.class);
+
+    @Autowired
+    private EnvConfig envConfig;
+
+    @Autowired
+    private SwitchConsumer switchConsumer;
+
+    @Autowired
+    private SequenceTrackerComponent sequenceTrackerComponent;
+
+    private volatile boolean running;
+    private volatile HttpURLConnection connection;
+    private volatile String lastEventId;
+    private volatile boolean eventReceived;
+    private Thread reader;
+
+    @Override
+    public String getName() {
+        return SwitchHubConstants.Updates.SOURCE_SSE;
+    }
+
+    @Override
+    public synchronized boolean start() {
+        if (running) {
+            return connection != null;
+        }
+        running = true;
+        HttpURLConnection first = connect();
+        reader = new Thread(() -> run(first), SwitchHubConstants.Scheduler.SSE_THREAD_NAME);
+        reader.setDaemon(true);
+        reader.start();
+        return first != null;
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        HttpURLConnection current = connection;
+        if (current != null) {
+            current.disconnect();
+        }
+        if (reader != null) {
+            reader.interrupt();
+        }
+    }
+
+    private void run(HttpURLConnection first) {
+        HttpURLConnection current = first;
+        int attempt = 0;
+        while (running) {
+            String reason = SwitchHubConstants.ErrorMessages.STREAM_UNAVAILABLE;
+            if (current != null) {
+                eventReceived = false;
+                reason = consume(current);
+                // a stream that ends before delivering anything keeps backing off like a failed connect
+                if (eventReceived) {
+                    attempt = 0;
+                }
+            }
+            if (!running) {
+                return;
+            }
+
+            long delayMillis = Backoff.fullJitterDelayMillis(attempt++,
+                    envConfig.getSwitchHubSdkUpdatesSseReconnectInitialBackoffMillis(),
+                    envConfig.getSwitchHubSdkUpdatesSseReconnectMaxBackoffMillis());
+            log.warn(SwitchHubConstants.LogMessages.SSE_DISCONNECTED, reason, delayMillis);
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            current = connect();
+            if (current != null && !running) {
+                current.disconnect();
+                return;
+            }
+            if (current != null && lastEventId == null) {
+                // nothing to resume from, so changes sent while disconnected are fetched instead
+                sequenceTrackerComponent.requestResync();
+            }
+        }
+    }
+
+    // reads until the stream ends and returns why it ended
+    private String consume(HttpURLConnection current) {
+        try (InputStream body = current.getInputStream()) {
+            SseEventReader.read(body, this::onEvent);
+            return SwitchHubConstants.ErrorMessages.STREAM_ENDED;
+        } catch (IOException e) {
+            return e.getMessage();
+        } finally {
+            current.disconnect();
+            connection = null;
+        }
+    }
+
+    HttpURLConnection connect() {
+        String url = streamUrl();
+        try {
+            HttpURLConnection opened = (HttpURLConnection) URI.create(url).toURL().openConnection();
+            opened.setConnectTimeout((int) envConfig.getSwitchHubBackendConnectTimeoutMillis());
+            opened.setReadTimeout(envConfig.getSwitchHubSdkUpdatesSseIdleTimeoutMillis());
+            opened.setRequestProperty(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+            opened.setRequestProperty(SwitchHubConstants.Api.HEADER_ENVIRONMENT_NAME, envConfig.getSwitchHubSdkEnvironmentName());
+            opened.setRequestProperty(SwitchHubConstants.Api.HEADER_APPLICATION_NAME, envConfig.getSwitchHubSdkApplicationName());
+            String resumeFrom = lastEventId;
+            if (resumeFrom != null) {
+                opened.setRequestProperty(SwitchHubConstants.Api.HEADER_LAST_EVENT_ID, resumeFrom);
+            }
+
+            int status = opened.getResponseCode();
+            if (status != HttpStatus.OK.value()) {
+                opened.disconnect();
+                log.warn(SwitchHubConstants.LogMessages.SSE_CONNECT_FAILED, url, "HTTP " + status);
+                return null;
+            }
+            connection = opened;
+            log.info(SwitchHubConstants.LogMessages.SSE_CONNECTED, url);
+            return opened;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn(SwitchHubConstants.LogMessages.SSE_CONNECT_FAILED, url, e.getMessage());
+            return null;
+        }
+    }
+
+    // only an event's own id is its sequence number; the carried-over one is just where to resume from
+    void onEvent(String id, String lastEventId, String event, String data) {
+        eventReceived = true;
+        if (lastEventId != null) {
+            this.lastEventId = lastEventId;
+        }
+        if (event != null && !SwitchHubConstants.Updates.SSE_MESSAGE_EVENT.equals(event)) {
+            return;
+        }
+
+        try {
+            MessageBuilder<MessageModel> message = MessageBuilder.withPayload(MESSAGE_READER.readValue(data));
+            if (id != null) {
+                message.setHeader(SwitchHubConstants.RabbitMQ.SEQUENCE_HEADER, id);
+            }
+            switchConsumer.onFlagChanges(List.of(message.build()));
+        } catch (IOException | RuntimeException e) {
+            // there is no broker to redeliver the change, so fetch it instead
+            log.warn(SwitchHubConstants.LogMessages.SSE_EVENT_FAILED, id, e.getMessage());
+            sequenceTrackerComponent.requestResync();
+        }
+    }
+
+    private String streamUrl() {
+        String url = envConfig.getSwitchHubSdkUpdatesSseUrl();
+        if (url == null || url.isBlank()) {
+            return envConfig.getSwitchHubBackendBaseUrl() + SwitchHubConstants.Api.STREAM_SWITCH_ENDPOINT;
+        }
+        return url;
+    }
+}
@@ -4,7 +4,9 @@ import in.switchhub.switchhub_sdk.config.EnvConfig;
 import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
 import in.switchhub.switchhub_sdk.dtos.FetchSwitchRequestDto;
 import in.switchhub.switchhub_sdk.dtos.FetchSwitchResponseDto;
+import in.switchhub.switchhub_sdk.models.PersistedSnapshotModel;
 import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.util.Backoff;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,7 +14,18 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class StartupComponent {
@@ -28,55 +41,293 @@ public class StartupComponent {
     @Autowired
     private EnvConfig envConfig;
 
+    @Autowired
+    private SnapshotPersistenceComponent snapshotPersistenceComponent;
+
+    @Autowired
+    private SwitchHubReadiness switchHubReadiness;
+
+    @Autowired(required = false)
+    private List<UpdateSource> updateSources;
+
+    @Autowired
+    private Executor switchHubWorkerExecutor;
+
+    @Autowired
+    private ScheduledExecutorService switchHubScheduler;
+
+    /**
+     * Applies the local snapshot, then starts the update sources and fetches the switches in parallel on
+     * SDK worker threads, retrying a failed fetch with backoff. Returns immediately unless a readiness
+     * timeout is configured, in which case it waits up to that long so the application only reports ready
+     * once the SDK is. With the file update source the backend is not fetched, the file provides the switches.
+     */
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReady() {
-        FetchSwitchRequestDto requestDto = new FetchSwitchRequestDto(envConfig.getSwitchHubSdkSwitches());
+        // warm state from the last run, replaced or confirmed by the backend response if the fetch succeeds
+        try {
+            restoreSnapshot(snapshotPersistenceComponent.load());
+        } catch (RuntimeException e) {
+            log.warn(SwitchHubConstants.LogMessages.SNAPSHOT_LOAD_FAILED, snapshotPersistenceComponent.getSnapshotFile(),
+                    e.getMessage());
+        }
+
+        CompletableFuture.supplyAsync(this::startUpdateSources, switchHubWorkerExecutor)
+                .thenAccept(switchHubReadiness::updateSourcesConnected);
+        if (SwitchHubConstants.Updates.SOURCE_FILE.equals(envConfig.getSwitchHubSdkUpdatesSource())) {
+            // the file is the source of truth, a backend response would overwrite what it holds
+            log.info(SwitchHubConstants.LogMessages.FILE_SOURCE_SKIPS_BACKEND);
+            switchHubReadiness.switchesLoaded(true);
+        } else {
+            if (envConfig.isSwitchHubSdkFetchConditional() && !envConfig.isSwitchHubSdkFetchStreaming()) {
+                log.warn(SwitchHubConstants.LogMessages.CONDITIONAL_FETCH_NEEDS_STREAMING);
+            }
+            fetchSwitchesWithRetry().thenAccept(switchHubReadiness::switchesLoaded);
+        }
+
+        long readinessTimeout = envConfig.getSwitchHubSdkStartupReadinessTimeoutMillis();
+        if (readinessTimeout > 0) {
+            log.info(SwitchHubConstants.LogMessages.STARTUP_READINESS, switchHubReadiness.awaitStarted(readinessTimeout));
+        }
+    }
+
+    /**
+     * Runs {@link #fetchSwitches()} on a worker thread until it succeeds or
+     * {@code switchHub.sdk.fetch.retry.maxElapsedMillis} has passed. Retries are delayed by exponential
+     * backoff with full jitter and scheduled, not slept, so no thread is held while waiting. Completes with
+     * whether the switches were loaded.
+     */
+    CompletableFuture<Boolean> fetchSwitchesWithRetry() {
+        CompletableFuture<Boolean> loaded = new CompletableFuture<>();
+        long deadlineNanos = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(envConfig.getSwitchHubSdkFetchRetryMaxElapsedMillis());
+        switchHubWorkerExecutor.execute(() -> attemptFetch(loaded, 0, deadlineNanos));
+        return loaded;
+    }
+
+    private void attemptFetch(CompletableFuture<Boolean> loaded, int attempt, long deadlineNanos) {
+        boolean success;
+        try {
+            success = fetchSwitches();
+        } catch (RuntimeException e) {
+            log.error(SwitchHubConstants.LogMessages.STARTUP_API_FAILED, e.getMessage());
+            success = false;
+        }
+        if (success) {
+            loaded.complete(true);
+            return;
+        }
+
+        long delayMillis = Backoff.fullJitterDelayMillis(attempt,
+                envConfig.getSwitchHubSdkFetchRetryInitialBackoffMillis(),
+                envConfig.getSwitchHubSdkFetchRetryMaxBackoffMillis());
+        if (envConfig.getSwitchHubSdkFetchRetryMaxElapsedMillis() <= 0
+                || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis) - deadlineNanos > 0) {
+            log.warn(SwitchHubConstants.LogMessages.STARTUP_FETCH_GAVE_UP, attempt + 1);
+            loaded.complete(false);
+            return;
+        }
+
+        log.warn(SwitchHubConstants.LogMessages.STARTUP_FETCH_RETRY, attempt + 1, delayMillis);
+        switchHubScheduler.schedule(
+                () -> switchHubWorkerExecutor.execute(() -> attemptFetch(loaded, attempt + 1, deadlineNanos)),
+                delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Fetches the configured switches from the backend and applies them. Large switch lists are split
+     * into chunks of {@code switchHub.sdk.fetch.chunkSize} names, fetched with at most
+     * {@code switchHub.sdk.fetch.maxConcurrency} requests in flight, and each chunk is applied as soon as
+     * it arrives. With {@code switchHub.sdk.fetch.streaming} each switch is compiled into the store update
+     * while the response is read instead of being collected into a response map first, and with
+     * {@code switchHub.sdk.fetch.conditional} a chunk is only re-sent when it changed since the sync
+     * token of its last response. Returns whether every chunk succeeded.
+     */
+    public boolean fetchSwitches() {
+        return fetchSwitches(new AtomicInteger(), false);
+    }
+
+    /**
+     * As {@link #fetchSwitches()}, adding to {@code drift} the number of switches whose fetched state
+     * differed from the store.
+     */
+    boolean fetchSwitches(AtomicInteger drift) {
+        return fetchSwitches(drift, true);
+    }
+
+    private boolean fetchSwitches(AtomicInteger drift, boolean reconciling) {
+        List<List<String>> chunks = chunk(envConfig.getSwitchHubSdkSwitches(), envConfig.getSwitchHubSdkFetchChunkSize());
+        if (chunks.size() == 1) {
+            return fetchChunk(chunks.get(0), 1, 1, drift, reconciling);
+        }
+
+        AtomicInteger nextChunk = new AtomicInteger();
+        AtomicBoolean allSucceeded = new AtomicBoolean(true);
+        Runnable lane = () -> {
+            int index;
+            while ((index = nextChunk.getAndIncrement()) < chunks.size()) {
+                if (!fetchChunk(chunks.get(index), index + 1, chunks.size(), drift, reconciling)) {
+                    allSucceeded.set(false);
+                }
+            }
+        };
+
+        int lanes = Math.min(Math.max(1, envConfig.getSwitchHubSdkFetchMaxConcurrency()), chunks.size());
+        CompletableFuture<?>[] running = new CompletableFuture<?>[lanes];
+        for (int i = 0; i < lanes; i++) {
+            running[i] = CompletableFuture.runAsync(lane, switchHubWorkerExecutor);
+        }
+        CompletableFuture.allOf(running).join();
+        return allSucceeded.get();
+    }
+
+    private boolean fetchChunk(List<String> switchNames, int chunkNumber, int chunkCount, AtomicInteger drift,
+                               boolean reconciling) {
+        FetchSwitchRequestDto requestDto = new FetchSwitchRequestDto(switchNames);
 
         try {
+            if (envConfig.isSwitchHubSdkFetchStreaming()) {
+                boolean conditional = envConfig.isSwitchHubSdkFetchConditional();
+                String syncTokenKey = syncTokenKey(switchNames);
+                String syncToken = conditional ? sharedDataStoreComponent.getSyncToken(syncTokenKey) : null;
+
+                SharedDataStoreComponent.Update update = sharedDataStoreComponent.beginUpdate();
+                String nextSyncToken = switchHubApiComponent.fetchSwitch(
+                        requestDto,
+                        envConfig.getSwitchHubSdkEnvironmentName(),
+                        envConfig.getSwitchHubSdkApplicationName(),
+                        syncToken,
+                        update
+                );
+                boolean syncTokenChanged = conditional && !Objects.equals(syncToken, nextSyncToken);
+                if (syncTokenChanged) {
+                    update.setSyncToken(syncTokenKey, nextSyncToken);
+                }
+                update.publish();
+                drift.addAndGet(update.changedSize());
+                if (update.changedSize() > 0 || syncTokenChanged) {
+                    snapshotPersistenceComponent.scheduleSave();
+                }
+                // reconciliation runs every few minutes, so only the startup fetch is logged at info
+                if (reconciling) {
+                    log.debug(SwitchHubConstants.LogMessages.STARTUP_API_STREAMED, update.size(), update.removedSize());
+                } else {
+                    log.info(SwitchHubConstants.LogMessages.STARTUP_API_STREAMED, update.size(), update.removedSize());
+                }
+                return true;
+            }
+
             FetchSwitchResponseDto response = switchHubApiComponent.fetchSwitch(
                     requestDto,
                     envConfig.getSwitchHubSdkEnvironmentName(),
                     envConfig.getSwitchHubSdkApplicationName()
             );
-            populateSharedDataStoreComponent(response);
-            log.info(SwitchHubConstants.LogMessages.STARTUP_API_SUCCESS, response);
+            if (response != null) {
+                drift.addAndGet(countChanged(response.getSwitchDetails()));
+                populateSharedDataStoreComponent(response.getSwitchDetails());
+                snapshotPersistenceComponent.scheduleSave();
+            }
+            if (reconciling) {
+                log.debug(SwitchHubConstants.LogMessages.STARTUP_API_SUCCESS, response);
+            } else {
+                log.info(SwitchHubConstants.LogMessages.STARTUP_API_SUCCESS, response);
+            }
+            return true;
         } catch (Exception e) {
-            log.error(SwitchHubConstants.LogMessages.STARTUP_API_FAILED, e.getMessage());
+            if (chunkCount == 1) {
+                log.error(SwitchHubConstants.LogMessages.STARTUP_API_FAILED, e.getMessage());
+            } else {
+                log.error(SwitchHubConstants.LogMessages.STARTUP_API_CHUNK_FAILED, chunkNumber, chunkCount, e.getMessage());
+            }
+            return false;
         }
     }
 
-    private void populateSharedDataStoreComponent(FetchSwitchResponseDto fetchSwitchResponse) {
-        if (fetchSwitchResponse == null || fetchSwitchResponse.getSwitchDetails() == null) {
-            return;
+    // identifies a chunk across restarts, as long as the configured switch list and chunk size are unchanged
+    static String syncTokenKey(List<String> switchNames) {
+        if (switchNames == null) {
+            return "";
+        }
+        return switchNames.size() + ":" + Integer.toHexString(switchNames.hashCode());
+    }
+
+    static List<List<String>> chunk(List<String> switchNames, int chunkSize) {
+        if (switchNames == null || chunkSize <= 0 || switchNames.size() <= chunkSize) {
+            return Collections.singletonList(switchNames);
         }
 
-        Map<String, SwitchModel> switchDetails = fetchSwitchResponse.getSwitchDetails();
-        for (Map.Entry<String, SwitchModel> entry : switchDetails.entrySet()) {
-            String switchKey = entry.getKey();
-            SwitchModel switchModel = entry.getValue();
+        List<List<String>> chunks = new ArrayList<>((switchNames.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < switchNames.size(); from += chunkSize) {
+            chunks.add(switchNames.subList(from, Math.min(from + chunkSize, switchNames.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Starts every {@link UpdateSource}, returning whether all of them connected.
+     */
+    boolean startUpdateSources() {
+        if (updateSources == null) {
+            return true;
+        }
 
-            if (switchModel == null) {
-                continue;
+        boolean connected = true;
+        for (UpdateSource updateSource : updateSources) {
+            try {
+                connected &= updateSource.start();
+            } catch (RuntimeException e) {
+                log.error(SwitchHubConstants.LogMessages.UPDATE_SOURCE_FAILED, updateSource.getName(), e.getMessage());
+                connected = false;
             }
+        }
+        return connected;
+    }
 
-            sharedDataStoreComponent.putDataMap(switchKey, switchModel);
-            registerMeteredWeights(switchKey, switchModel);
+    private int countChanged(Map<String, SwitchModel> fetchedSwitchDetails) {
+        if (fetchedSwitchDetails == null) {
+            return 0;
+        }
+
+        int changed = 0;
+        for (Map.Entry<String, SwitchModel> entry : fetchedSwitchDetails.entrySet()) {
+            if (entry.getValue() != null && !entry.getValue().hasSameState(sharedDataStoreComponent.getDataMap(entry.getKey()))) {
+                changed++;
+            }
         }
+        return changed;
     }
 
-    private void registerMeteredWeights(String switchKey, SwitchModel switchModel) {
-        Map<String, Map<String, Integer>> meteredStatus = switchModel.getMeteredStatus();
+    private void restoreSnapshot(PersistedSnapshotModel persisted) {
+        if (persisted == null) {
+            return;
+        }
 
-        if (meteredStatus != null) {
-            for (Map.Entry<String, Map<String, Integer>> meteredEntry : meteredStatus.entrySet()) {
-                String meteredKey = meteredEntry.getKey();
-                Integer trueValue = meteredEntry.getValue().get(SwitchHubConstants.Switch.METERED_TRUE_VALUE_KEY);
-                if (trueValue != null) {
-                    sharedDataStoreComponent.registerWeights(switchKey, meteredKey, trueValue);
-                }
+        Map<String, SwitchModel> switchDetails = new LinkedHashMap<>();
+        for (Map.Entry<String, SwitchModel> entry : persisted.getSwitches().entrySet()) {
+            if (entry.getValue() != null) {
+                switchDetails.put(entry.getKey(), entry.getValue());
             }
-        } else {
-            sharedDataStoreComponent.registerWeights(switchKey, SwitchHubConstants.Switch.DEFAULT_KEY, SwitchHubConstants.Validation.MAX_PERCENTAGE);
+        }
+
+        if (!switchDetails.isEmpty()) {
+            sharedDataStoreComponent.putAllDataMap(switchDetails, persisted.getSyncTokens());
+        }
+    }
+
+    private void populateSharedDataStoreComponent(Map<String, SwitchModel> fetchedSwitchDetails) {
+        if (fetchedSwitchDetails == null) {
+            return;
+        }
+
+        Map<String, SwitchModel> switchDetails = new LinkedHashMap<>();
+        for (Map.Entry<String, SwitchModel> entry : fetchedSwitchDetails.entrySet()) {
+            if (entry.getValue() != null) {
+                switchDetails.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (!switchDetails.isEmpty()) {
+            sharedDataStoreComponent.putAllDataMap(switchDetails);
         }
     }
 }
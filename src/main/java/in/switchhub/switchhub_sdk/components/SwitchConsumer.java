@@ -3,13 +3,17 @@ package in.switchhub.switchhub_sdk.components;
 import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
 import in.switchhub.switchhub_sdk.models.MessageModel;
 import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.util.StripedExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class SwitchConsumer {
@@ -19,7 +23,105 @@ public class SwitchConsumer {
     @Autowired
     private SharedDataStoreComponent sharedDataStoreComponent;
 
-    @RabbitListener(queues = "#{ 'queue.' + '${switchHub.sdk.environmentName}' + '.' + '${switchHub.sdk.applicationName}' }")
+    @Autowired
+    private SnapshotPersistenceComponent snapshotPersistenceComponent;
+
+    @Autowired
+    private StripedExecutor switchHubStripedExecutor;
+
+    @Autowired
+    private SequenceTrackerComponent sequenceTrackerComponent;
+
+    /**
+     * Entry point of every {@link UpdateSource}. When sequence numbers are tracked, messages already
+     * applied are skipped and the rest is applied by {@link #handleFlagChanges(List)}; their numbers are
+     * committed only once that succeeded. A redelivered message is always applied again.
+     */
+    public void onFlagChanges(List<Message<MessageModel>> messages) {
+        boolean tracking = sequenceTrackerComponent.isTracking();
+        List<MessageModel> messageModels = new ArrayList<>(messages.size());
+        List<Long> sequences = new ArrayList<>(tracking ? messages.size() : 0);
+        for (Message<MessageModel> message : messages) {
+            Long sequence = tracking
+                    ? sequenceOf(message.getHeaders().get(SwitchHubConstants.RabbitMQ.SEQUENCE_HEADER)) : null;
+            if (sequence != null) {
+                boolean redelivered = Boolean.TRUE.equals(message.getHeaders().get(AmqpHeaders.REDELIVERED));
+                if (!redelivered && sequenceTrackerComponent.isDuplicate(sequence)) {
+                    continue;
+                }
+                sequences.add(sequence);
+            }
+            messageModels.add(message.getPayload());
+        }
+        if (!messageModels.isEmpty()) {
+            handleFlagChanges(messageModels);
+        }
+        for (Long sequence : sequences) {
+            sequenceTrackerComponent.commit(sequence);
+        }
+    }
+
+    /**
+     * Applies a batch of flag changes from the broker as one store update, so readers see either none or
+     * all of them; for a switch changed more than once in the batch the last message wins. The container
+     * acks the whole batch when this returns.
+     *
+     * With {@code switchHub.sdk.consumer.stripes} of two or more, the batch is instead split by switch
+     * name across the striped executor and each lane applies its share as its own update, so a switch
+     * that is slow to compile only holds up the switches on its own lane. Readers may then see some lanes'
+     * changes before the others. Every message, a single one included, goes through the lane of its
+     * switch, so changes to the same switch apply one after the other even when several consumers deliver
+     * them. This still returns only once every lane is done.
+     */
+    public void handleFlagChanges(List<MessageModel> messageModels) {
+        int stripeCount = switchHubStripedExecutor.getStripeCount();
+        if (stripeCount < 2) {
+            if (messageModels.size() == 1) {
+                handleFlagChange(messageModels.get(0));
+            } else {
+                apply(messageModels);
+            }
+            return;
+        }
+
+        if (messageModels.size() == 1) {
+            MessageModel messageModel = messageModels.get(0);
+            CompletableFuture.runAsync(() -> handleFlagChange(messageModel),
+                    switchHubStripedExecutor.stripe(switchHubStripedExecutor.stripeOf(messageModel.getSwitchName()))).join();
+            return;
+        }
+
+        List<List<MessageModel>> byStripe = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            byStripe.add(new ArrayList<>());
+        }
+        for (MessageModel messageModel : messageModels) {
+            byStripe.get(switchHubStripedExecutor.stripeOf(messageModel.getSwitchName())).add(messageModel);
+        }
+
+        List<CompletableFuture<Void>> applied = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            List<MessageModel> stripe = byStripe.get(i);
+            if (!stripe.isEmpty()) {
+                applied.add(CompletableFuture.runAsync(() -> apply(stripe), switchHubStripedExecutor.stripe(i)));
+            }
+        }
+        CompletableFuture.allOf(applied.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private void apply(List<MessageModel> messageModels) {
+        SharedDataStoreComponent.Update update = sharedDataStoreComponent.beginUpdate();
+        for (MessageModel messageModel : messageModels) {
+            update.put(messageModel.getSwitchName(), messageModel.getSwitchDetails());
+        }
+        update.publish();
+        log.info(SwitchHubConstants.LogMessages.FLAG_CHANGES_RECEIVED, messageModels.size(), update.size(), update.staleSize());
+
+        if (update.changedSize() > 0) {
+            snapshotPersistenceComponent.scheduleSave();
+        }
+    }
+
     public void handleFlagChange(MessageModel messageModel) {
         log.info(SwitchHubConstants.LogMessages.FLAG_CHANGE_RECEIVED, messageModel.toString());
 
@@ -27,24 +129,21 @@ public class SwitchConsumer {
         SwitchModel switchDetails = messageModel.getSwitchDetails();
 
         sharedDataStoreComponent.putDataMap(switchName, switchDetails);
-        registerMeteredWeights(switchName, switchDetails);
+        snapshotPersistenceComponent.scheduleSave();
     }
 
-    private void registerMeteredWeights(String switchName, SwitchModel switchDetails) {
-        Map<String, Map<String, Integer>> meteredStatus = switchDetails.getMeteredStatus();
-
-        if (meteredStatus != null) {
-            sharedDataStoreComponent.resetWeightedMeteredMap(switchName);
-            for (Map.Entry<String, Map<String, Integer>> meteredEntry : meteredStatus.entrySet()) {
-                String meteredKey = meteredEntry.getKey();
-                Integer trueValue = meteredEntry.getValue().get(SwitchHubConstants.Switch.METERED_TRUE_VALUE_KEY);
-                if (trueValue != null) {
-                    sharedDataStoreComponent.registerWeights(switchName, meteredKey, trueValue);
-                }
+    static Long sequenceOf(Object header) {
+        if (header instanceof Number) {
+            return ((Number) header).longValue();
+        }
+        if (header instanceof String) {
+            try {
+                return Long.parseLong(((String) header).trim());
+            } catch (NumberFormatException e) {
+                return null;
             }
-        } else {
-            sharedDataStoreComponent.registerWeights(switchName, SwitchHubConstants.Switch.DEFAULT_KEY, SwitchHubConstants.Validation.MAX_PERCENTAGE);
         }
+        return null;
     }
 
     public SwitchModel getFlag(String flagName) {
@@ -4,13 +4,19 @@ import in.switchhub.switchhub_sdk.config.EnvConfig;
 import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
 import in.switchhub.switchhub_sdk.dtos.FetchSwitchRequestDto;
 import in.switchhub.switchhub_sdk.dtos.FetchSwitchResponseDto;
+import in.switchhub.switchhub_sdk.util.SwitchDetailsStreamReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+import java.util.function.Supplier;
+
 @Component
 public class SwitchHubApiComponent {
 
@@ -20,6 +26,9 @@ public class SwitchHubApiComponent {
     @Autowired
     private EnvConfig envConfig;
 
+    @Autowired
+    private BackendCircuitBreaker backendCircuitBreaker;
+
     public FetchSwitchResponseDto fetchSwitch(FetchSwitchRequestDto requestBody, String environmentName, String applicationName) {
         String url = envConfig.getSwitchHubBackendBaseUrl() + SwitchHubConstants.Api.FETCH_SWITCH_ENDPOINT;
 
@@ -30,6 +39,58 @@ public class SwitchHubApiComponent {
 
         HttpEntity<Object> entity = new HttpEntity<>(requestBody, headers);
 
-        return restTemplate.postForObject(url, entity, FetchSwitchResponseDto.class);
+        return callBackend(() -> restTemplate.postForObject(url, entity, FetchSwitchResponseDto.class));
+    }
+
+    /**
+     * Streaming, conditional variant of {@link #fetchSwitch(FetchSwitchRequestDto, String, String)}: each
+     * switch of the response is passed to {@code sink} while the body is being read.
+     *
+     * A non-null {@code syncToken}, the ETag of the response last applied for the same request, is sent
+     * as {@code If-None-Match}. The backend may then answer {@code 304 Not Modified}, or a delta with
+     * only the changed switches in {@code switchDetails} and the deleted ones in
+     * {@code removedSwitches}. Returns the sync token to send next time.
+     */
+    public String fetchSwitch(FetchSwitchRequestDto requestBody, String environmentName, String applicationName,
+                              String syncToken, SwitchDetailsStreamReader.Sink sink) {
+        String url = envConfig.getSwitchHubBackendBaseUrl() + SwitchHubConstants.Api.FETCH_SWITCH_ENDPOINT;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set(SwitchHubConstants.Api.HEADER_ENVIRONMENT_NAME, environmentName);
+        headers.set(SwitchHubConstants.Api.HEADER_APPLICATION_NAME, applicationName);
+        if (syncToken != null) {
+            headers.setIfNoneMatch(syncToken);
+        }
+
+        HttpEntity<Object> entity = new HttpEntity<>(requestBody, headers);
+
+        return callBackend(() -> restTemplate.execute(url, HttpMethod.POST, restTemplate.httpEntityCallback(entity), response -> {
+            if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                return syncToken;
+            }
+            SwitchDetailsStreamReader.read(response.getBody(), sink);
+            return response.getHeaders().getETag();
+        }));
+    }
+
+    private <T> T callBackend(Supplier<T> call) {
+        if (!backendCircuitBreaker.allowRequest()) {
+            throw new IllegalStateException(SwitchHubConstants.ErrorMessages.BACKEND_CIRCUIT_OPEN);
+        }
+        boolean succeeded = false;
+        try {
+            T result = call.get();
+            succeeded = true;
+            return result;
+        } finally {
+            // recorded for errors too, otherwise a failed half-open trial would keep the circuit blocked
+            if (succeeded) {
+                backendCircuitBreaker.recordSuccess();
+            } else {
+                backendCircuitBreaker.recordFailure();
+            }
+        }
     }
 }
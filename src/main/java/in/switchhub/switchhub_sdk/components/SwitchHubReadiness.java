@@ -0,0 +1,89 @@
+package in.switchhub.switchhub_sdk.components;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Startup state of the SDK. The backend fetch and the connection of the update sources (the broker by
+ * default, see {@link UpdateSource}) run in parallel off the main thread; this component tracks both so
+ * applications can gate their own readiness probe on it, or react when startup completes through
+ * {@link #whenStarted()}.
+ */
+@Component
+public class SwitchHubReadiness {
+
+    public enum State {
+        /** The backend fetch or the connection of the update sources is still in progress. */
+        STARTING,
+        /** Switches were fetched from the backend and the update sources are connected. */
+        READY,
+        /** Startup finished, but the fetch or an update source failed; serving last known state. */
+        DEGRADED
+    }
+
+    private final CompletableFuture<Boolean> switchesLoaded = new CompletableFuture<>();
+    private final CompletableFuture<Boolean> updateSourcesConnected = new CompletableFuture<>();
+    private final CompletableFuture<State> started = switchesLoaded.thenCombine(updateSourcesConnected,
+            (switches, updateSources) -> switches && updateSources ? State.READY : State.DEGRADED);
+
+    public void switchesLoaded(boolean success) {
+        switchesLoaded.complete(success);
+    }
+
+    /**
+     * Reports whether the update sources connected; with the default source that is the broker.
+     */
+    public void updateSourcesConnected(boolean success) {
+        updateSourcesConnected.complete(success);
+    }
+
+    public State getState() {
+        return started.getNow(State.STARTING);
+    }
+
+    public boolean isReady() {
+        return getState() == State.READY;
+    }
+
+    public boolean isSwitchesLoaded() {
+        return switchesLoaded.getNow(false);
+    }
+
+    public boolean isUpdateSourcesConnected() {
+        return updateSourcesConnected.getNow(false);
+    }
+
+    /**
+     * Completes with {@link State#READY} or {@link State#DEGRADED} once both startup tasks finished.
+     */
+    public CompletableFuture<State> whenStarted() {
+        return started.copy();
+    }
+
+    /**
+     * Waits up to {@code timeoutMillis} for startup to finish and returns the state at that point.
+     */
+    public State awaitStarted(long timeoutMillis) {
+        try {
+            return started.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return getState();
+        } catch (ExecutionException | TimeoutException e) {
+            return getState();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SwitchHubReadiness{" +
+                "state=" + getState() +
+                ", switchesLoaded=" + isSwitchesLoaded() +
+                ", updateSourcesConnected=" + isUpdateSourcesConnected() +
+                '}';
+    }
+}
@@ -0,0 +1,177 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.util.LatencyHistogram;
+import in.switchhub.switchhub_sdk.util.SwitchCounters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of evaluation counters and the sampled evaluation latency histogram.
+ *
+ * Counters are attached to each compiled switch when it is published, so recording a result on the
+ * evaluation path is a map read and a {@code LongAdder} increment. When metrics are disabled no counters
+ * are handed out and evaluation does not touch this component beyond a null check.
+ */
+@Component
+public class SwitchMetricsComponent {
+
+    @Autowired
+    private EnvConfig envConfig;
+
+    private final Map<String, SwitchCounters> countersBySwitch = new ConcurrentHashMap<>();
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder driftedSwitches = new LongAdder();
+    private final LongAdder staleUpdates = new LongAdder();
+    private final LongAdder invalidUpdates = new LongAdder();
+    private final LongAdder unknownMissingHits = new LongAdder();
+
+    /**
+     * Returns the counters of {@code switchName}, creating them on first use, or {@code null} when
+     * metrics are disabled.
+     */
+    public SwitchCounters countersFor(String switchName) {
+        if (!envConfig.isSwitchHubSdkMetricsEnabled()) {
+            return null;
+        }
+
+        SwitchCounters counters = countersBySwitch.get(switchName);
+        if (counters == null) {
+            SwitchCounters created = new SwitchCounters(switchName, this::onNewKey);
+            counters = countersBySwitch.putIfAbsent(switchName, created);
+            if (counters == null) {
+                counters = created;
+                for (Listener listener : listeners) {
+                    listener.onSwitchCounters(created);
+                }
+            }
+        }
+        return counters;
+    }
+
+    /**
+     * Records an evaluation of a switch that was not in memory. Only switches that were published at some
+     * point have their own counters; misses for names the store never held share one counter, so callers
+     * passing arbitrary names cannot grow the registry.
+     */
+    public void recordMissing(String switchName) {
+        if (!envConfig.isSwitchHubSdkMetricsEnabled()) {
+            return;
+        }
+        SwitchCounters counters = countersBySwitch.get(switchName);
+        if (counters != null) {
+            counters.recordMissing();
+        } else {
+            unknownMissingHits.increment();
+        }
+    }
+
+    public long getUnknownMissingHits() {
+        return unknownMissingHits.sum();
+    }
+
+    /**
+     * Records switches that reconciliation found out of sync with the backend.
+     */
+    public void recordDrift(int switches) {
+        if (envConfig.isSwitchHubSdkMetricsEnabled()) {
+            driftedSwitches.add(switches);
+        }
+    }
+
+    public long getDriftedSwitches() {
+        return driftedSwitches.sum();
+    }
+
+    /**
+     * Records switch updates that were dropped because the store already held a newer state.
+     */
+    public void recordStale(int updates) {
+        if (envConfig.isSwitchHubSdkMetricsEnabled()) {
+            staleUpdates.add(updates);
+        }
+    }
+
+    public long getStaleUpdates() {
+        return staleUpdates.sum();
+    }
+
+    public void recordInvalid(int updates) {
+        if (envConfig.isSwitchHubSdkMetricsEnabled()) {
+            invalidUpdates.add(updates);
+        }
+    }
+
+    public long getInvalidUpdates() {
+        return invalidUpdates.sum();
+    }
+
+    /**
+     * Starts a latency sample for roughly one in {@code latencySampleRate} evaluations. Returns the start
+     * timestamp, or {@code 0} when this evaluation is not sampled.
+     */
+    public long startSample() {
+        int sampleRate = envConfig.getSwitchHubSdkMetricsLatencySampleRate();
+        if (sampleRate <= 0 || !envConfig.isSwitchHubSdkMetricsEnabled()) {
+            return 0L;
+        }
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return 0L;
+        }
+        return System.nanoTime();
+    }
+
+    public void stopSample(long startNanos) {
+        latencyHistogram.record(System.nanoTime() - startNanos);
+    }
+
+    public SwitchCounters getCounters(String switchName) {
+        return countersBySwitch.get(switchName);
+    }
+
+    public Map<String, SwitchCounters> getAllCounters() {
+        return Collections.unmodifiableMap(countersBySwitch);
+    }
+
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    /**
+     * Registers a listener and replays the counters that already exist, so exporters attached late
+     * still see every switch and metered key.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+        for (SwitchCounters counters : countersBySwitch.values()) {
+            listener.onSwitchCounters(counters);
+            for (String meteredKey : counters.getResultCounters().keySet()) {
+                listener.onResultCounters(counters, meteredKey);
+            }
+        }
+    }
+
+    private void onNewKey(SwitchCounters counters, String meteredKey) {
+        for (Listener listener : listeners) {
+            listener.onResultCounters(counters, meteredKey);
+        }
+    }
+
+    /**
+     * Notified once per new switch and once per new (switch, metered key) pair.
+     */
+    public interface Listener {
+        void onSwitchCounters(SwitchCounters counters);
+
+        void onResultCounters(SwitchCounters counters, String meteredKey);
+    }
+}
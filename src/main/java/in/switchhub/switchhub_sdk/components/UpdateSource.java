@@ -0,0 +1,25 @@
+package in.switchhub.switchhub_sdk.components;
+
+/**
+ * Transport that delivers the flag changes pushed for this environment and application. Every source
+ * hands what it receives to {@link SwitchConsumer#onFlagChanges(java.util.List)}, so sequence tracking,
+ * stale-update checks and batching behave the same whichever transport is used.
+ *
+ * The built-in source is chosen with {@code switchHub.sdk.updates.source}: {@code rabbitmq} (default),
+ * {@code sse} or {@code file}. Applications may register their own {@link UpdateSource} beans as well;
+ * {@link StartupComponent} starts every one once the application is ready, and the context closes them
+ * on shutdown.
+ */
+public interface UpdateSource extends AutoCloseable {
+
+    String getName();
+
+    /**
+     * Connects and starts delivering flag changes. Returns whether the connection is up; a source that
+     * could not connect may keep retrying in the background.
+     */
+    boolean start();
+
+    @Override
+    void close();
+}
@@ -44,6 +44,24 @@ public class EnvConfig {
     @Value("${switchHub.backend.baseUrl}")
     private String switchHubBackendBaseUrl;
 
+    @Value("${switchHub.backend.connectTimeoutMillis:2000}")
+    private long switchHubBackendConnectTimeoutMillis;
+
+    @Value("${switchHub.backend.readTimeoutMillis:10000}")
+    private long switchHubBackendReadTimeoutMillis;
+
+    @Value("${switchHub.backend.http2Enabled:true}")
+    private boolean switchHubBackendHttp2Enabled;
+
+    @Value("${switchHub.backend.gzipEnabled:true}")
+    private boolean switchHubBackendGzipEnabled;
+
+    @Value("${switchHub.backend.circuitBreaker.failureThreshold:5}")
+    private int switchHubBackendCircuitBreakerFailureThreshold;
+
+    @Value("${switchHub.backend.circuitBreaker.openMillis:30000}")
+    private long switchHubBackendCircuitBreakerOpenMillis;
+
     @Value("#{'${switchHub.sdk.switches}'.split(',')}")
     private List<String> switchHubSdkSwitches;
 
@@ -53,6 +71,117 @@ public class EnvConfig {
     @Value("${switchHub.sdk.environmentName}")
     private String switchHubSdkEnvironmentName;
 
+    @Value("${switchHub.sdk.metrics.enabled:true}")
+    private boolean switchHubSdkMetricsEnabled;
+
+    @Value("${switchHub.sdk.metrics.latencySampleRate:0}")
+    private int switchHubSdkMetricsLatencySampleRate;
+
+    @Value("${switchHub.sdk.missingSwitchReportIntervalSeconds:60}")
+    private long switchHubSdkMissingSwitchReportIntervalSeconds;
+
+    @Value("${switchHub.sdk.snapshot.enabled:false}")
+    private boolean switchHubSdkSnapshotEnabled;
+
+    @Value("${switchHub.sdk.snapshot.directory:${java.io.tmpdir}/switchhub}")
+    private String switchHubSdkSnapshotDirectory;
+
+    @Value("${switchHub.sdk.snapshot.writeDelayMillis:1000}")
+    private long switchHubSdkSnapshotWriteDelayMillis;
+
+    @Value("${switchHub.sdk.startup.readinessTimeoutMillis:0}")
+    private long switchHubSdkStartupReadinessTimeoutMillis;
+
+    @Value("${switchHub.sdk.fetch.chunkSize:500}")
+    private int switchHubSdkFetchChunkSize;
+
+    @Value("${switchHub.sdk.fetch.maxConcurrency:4}")
+    private int switchHubSdkFetchMaxConcurrency;
+
+    @Value("${switchHub.sdk.fetch.streaming:true}")
+    private boolean switchHubSdkFetchStreaming;
+
+    @Value("${switchHub.sdk.fetch.conditional:true}")
+    private boolean switchHubSdkFetchConditional;
+
+    @Value("${switchHub.sdk.fetch.retry.initialBackoffMillis:500}")
+    private long switchHubSdkFetchRetryInitialBackoffMillis;
+
+    @Value("${switchHub.sdk.fetch.retry.maxBackoffMillis:30000}")
+    private long switchHubSdkFetchRetryMaxBackoffMillis;
+
+    @Value("${switchHub.sdk.fetch.retry.maxElapsedMillis:300000}")
+    private long switchHubSdkFetchRetryMaxElapsedMillis;
+
+    @Value("${switchHub.sdk.lazyFetch.enabled:false}")
+    private boolean switchHubSdkLazyFetchEnabled;
+
+    @Value("${switchHub.sdk.lazyFetch.defaultValue:false}")
+    private boolean switchHubSdkLazyFetchDefaultValue;
+
+    @Value("${switchHub.sdk.lazyFetch.batchWindowMillis:10}")
+    private long switchHubSdkLazyFetchBatchWindowMillis;
+
+    @Value("${switchHub.sdk.lazyFetch.retryAfterMillis:60000}")
+    private long switchHubSdkLazyFetchRetryAfterMillis;
+
+    @Value("${switchHub.sdk.consumer.batchSize:100}")
+    private int switchHubSdkConsumerBatchSize;
+
+    @Value("${switchHub.sdk.consumer.receiveTimeoutMillis:100}")
+    private long switchHubSdkConsumerReceiveTimeoutMillis;
+
+    @Value("${switchHub.sdk.consumer.concurrency:1}")
+    private int switchHubSdkConsumerConcurrency;
+
+    @Value("${switchHub.sdk.consumer.prefetch:250}")
+    private int switchHubSdkConsumerPrefetch;
+
+    @Value("${switchHub.sdk.consumer.stripes:0}")
+    private int switchHubSdkConsumerStripes;
+
+    @Value("${switchHub.sdk.consumer.sequence.gapGraceMillis:2000}")
+    private long switchHubSdkConsumerSequenceGapGraceMillis;
+
+    @Value("${switchHub.sdk.consumer.sequence.maxTrackedGap:1000}")
+    private long switchHubSdkConsumerSequenceMaxTrackedGap;
+
+    @Value("${switchHub.sdk.updates.source:rabbitmq}")
+    private String switchHubSdkUpdatesSource;
+
+    @Value("${switchHub.sdk.updates.sse.url:}")
+    private String switchHubSdkUpdatesSseUrl;
+
+    @Value("${switchHub.sdk.updates.sse.idleTimeoutMillis:60000}")
+    private int switchHubSdkUpdatesSseIdleTimeoutMillis;
+
+    @Value("${switchHub.sdk.updates.sse.reconnect.initialBackoffMillis:1000}")
+    private long switchHubSdkUpdatesSseReconnectInitialBackoffMillis;
+
+    @Value("${switchHub.sdk.updates.sse.reconnect.maxBackoffMillis:30000}")
+    private long switchHubSdkUpdatesSseReconnectMaxBackoffMillis;
+
+    @Value("${switchHub.sdk.updates.file.path:}")
+    private String switchHubSdkUpdatesFilePath;
+
+    @Value("${switchHub.sdk.consumer.broadcast.enabled:false}")
+    private boolean switchHubSdkConsumerBroadcastEnabled;
+
+    @Value("${switchHub.sdk.consumer.broadcast.queueExpiresMillis:300000}")
+    private long switchHubSdkConsumerBroadcastQueueExpiresMillis;
+
+    @Value("${switchHub.sdk.messaging.binaryEncoding:false}")
+    private boolean switchHubSdkMessagingBinaryEncoding;
+
+    @Value("${switchHub.sdk.instanceId:}")
+    private String switchHubSdkInstanceId;
+
+    @Value("${switchHub.sdk.reconciliation.intervalSeconds:300}")
+    private long switchHubSdkReconciliationIntervalSeconds;
+
+    @Value("${switchHub.sdk.reconciliation.jitter:0.5}")
+    private double switchHubSdkReconciliationJitter;
+
     public String getRabbitmqHostName() {
         return rabbitmqHostName;
     }
@@ -101,6 +230,30 @@ public class EnvConfig {
         return switchHubBackendBaseUrl;
     }
 
+    public long getSwitchHubBackendConnectTimeoutMillis() {
+        return switchHubBackendConnectTimeoutMillis;
+    }
+
+    public long getSwitchHubBackendReadTimeoutMillis() {
+        return switchHubBackendReadTimeoutMillis;
+    }
+
+    public boolean isSwitchHubBackendHttp2Enabled() {
+        return switchHubBackendHttp2Enabled;
+    }
+
+    public boolean isSwitchHubBackendGzipEnabled() {
+        return switchHubBackendGzipEnabled;
+    }
+
+    public int getSwitchHubBackendCircuitBreakerFailureThreshold() {
+        return switchHubBackendCircuitBreakerFailureThreshold;
+    }
+
+    public long getSwitchHubBackendCircuitBreakerOpenMillis() {
+        return switchHubBackendCircuitBreakerOpenMillis;
+    }
+
     public List<String> getSwitchHubSdkSwitches() {
         return switchHubSdkSwitches;
     }
@@ -112,4 +265,152 @@ public class EnvConfig {
     public String getSwitchHubSdkEnvironmentName() {
         return switchHubSdkEnvironmentName;
     }
+
+    public boolean isSwitchHubSdkMetricsEnabled() {
+        return switchHubSdkMetricsEnabled;
+    }
+
+    public int getSwitchHubSdkMetricsLatencySampleRate() {
+        return switchHubSdkMetricsLatencySampleRate;
+    }
+
+    public long getSwitchHubSdkMissingSwitchReportIntervalSeconds() {
+        return switchHubSdkMissingSwitchReportIntervalSeconds;
+    }
+
+    public boolean isSwitchHubSdkSnapshotEnabled() {
+        return switchHubSdkSnapshotEnabled;
+    }
+
+    public String getSwitchHubSdkSnapshotDirectory() {
+        return switchHubSdkSnapshotDirectory;
+    }
+
+    public long getSwitchHubSdkSnapshotWriteDelayMillis() {
+        return switchHubSdkSnapshotWriteDelayMillis;
+    }
+
+    public long getSwitchHubSdkStartupReadinessTimeoutMillis() {
+        return switchHubSdkStartupReadinessTimeoutMillis;
+    }
+
+    public int getSwitchHubSdkFetchChunkSize() {
+        return switchHubSdkFetchChunkSize;
+    }
+
+    public int getSwitchHubSdkFetchMaxConcurrency() {
+        return switchHubSdkFetchMaxConcurrency;
+    }
+
+    public boolean isSwitchHubSdkFetchStreaming() {
+        return switchHubSdkFetchStreaming;
+    }
+
+    public boolean isSwitchHubSdkFetchConditional() {
+        return switchHubSdkFetchConditional;
+    }
+
+    public long getSwitchHubSdkFetchRetryInitialBackoffMillis() {
+        return switchHubSdkFetchRetryInitialBackoffMillis;
+    }
+
+    public long getSwitchHubSdkFetchRetryMaxBackoffMillis() {
+        return switchHubSdkFetchRetryMaxBackoffMillis;
+    }
+
+    public long getSwitchHubSdkFetchRetryMaxElapsedMillis() {
+        return switchHubSdkFetchRetryMaxElapsedMillis;
+    }
+
+    public boolean isSwitchHubSdkLazyFetchEnabled() {
+        return switchHubSdkLazyFetchEnabled;
+    }
+
+    public boolean isSwitchHubSdkLazyFetchDefaultValue() {
+        return switchHubSdkLazyFetchDefaultValue;
+    }
+
+    public long getSwitchHubSdkLazyFetchBatchWindowMillis() {
+        return switchHubSdkLazyFetchBatchWindowMillis;
+    }
+
+    public long getSwitchHubSdkLazyFetchRetryAfterMillis() {
+        return switchHubSdkLazyFetchRetryAfterMillis;
+    }
+
+    public int getSwitchHubSdkConsumerBatchSize() {
+        return switchHubSdkConsumerBatchSize;
+    }
+
+    public long getSwitchHubSdkConsumerReceiveTimeoutMillis() {
+        return switchHubSdkConsumerReceiveTimeoutMillis;
+    }
+
+    public int getSwitchHubSdkConsumerConcurrency() {
+        return switchHubSdkConsumerConcurrency;
+    }
+
+    public int getSwitchHubSdkConsumerPrefetch() {
+        return switchHubSdkConsumerPrefetch;
+    }
+
+    public int getSwitchHubSdkConsumerStripes() {
+        return switchHubSdkConsumerStripes;
+    }
+
+    public long getSwitchHubSdkConsumerSequenceGapGraceMillis() {
+        return switchHubSdkConsumerSequenceGapGraceMillis;
+    }
+
+    public long getSwitchHubSdkConsumerSequenceMaxTrackedGap() {
+        return switchHubSdkConsumerSequenceMaxTrackedGap;
+    }
+
+    public String getSwitchHubSdkUpdatesSource() {
+        return switchHubSdkUpdatesSource;
+    }
+
+    public String getSwitchHubSdkUpdatesSseUrl() {
+        return switchHubSdkUpdatesSseUrl;
+    }
+
+    public int getSwitchHubSdkUpdatesSseIdleTimeoutMillis() {
+        return switchHubSdkUpdatesSseIdleTimeoutMillis;
+    }
+
+    public long getSwitchHubSdkUpdatesSseReconnectInitialBackoffMillis() {
+        return switchHubSdkUpdatesSseReconnectInitialBackoffMillis;
+    }
+
+    public long getSwitchHubSdkUpdatesSseReconnectMaxBackoffMillis() {
+        return switchHubSdkUpdatesSseReconnectMaxBackoffMillis;
+    }
+
+    public String getSwitchHubSdkUpdatesFilePath() {
+        return switchHubSdkUpdatesFilePath;
+    }
+
+    public boolean isSwitchHubSdkConsumerBroadcastEnabled() {
+        return switchHubSdkConsumerBroadcastEnabled;
+    }
+
+    public long getSwitchHubSdkConsumerBroadcastQueueExpiresMillis() {
+        return switchHubSdkConsumerBroadcastQueueExpiresMillis;
+    }
+
+    public boolean isSwitchHubSdkMessagingBinaryEncoding() {
+        return switchHubSdkMessagingBinaryEncoding;
+    }
+
+    public String getSwitchHubSdkInstanceId() {
+        return switchHubSdkInstanceId;
+    }
+
+    public long getSwitchHubSdkReconciliationIntervalSeconds() {
+        return switchHubSdkReconciliationIntervalSeconds;
+    }
+
+    public double getSwitchHubSdkReconciliationJitter() {
+        return switchHubSdkReconciliationJitter;
+    }
 }
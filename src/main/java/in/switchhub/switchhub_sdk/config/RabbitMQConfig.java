@@ -1,22 +1,41 @@
 package in.switchhub.switchhub_sdk.config;
 
 import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.util.SwitchMessageConverter;
 import com.rabbitmq.client.ConnectionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Broker setup of the default {@code rabbitmq} update source. With another
+ * {@code switchHub.sdk.updates.source} none of these beans are created and the SDK never opens a broker
+ * connection.
+ */
 @Configuration
+@ConditionalOnProperty(
+    prefix = SwitchHubConstants.Updates.SOURCE_PROPERTY_PREFIX,
+    name = SwitchHubConstants.Updates.SOURCE_PROPERTY_NAME,
+    havingValue = SwitchHubConstants.Updates.SOURCE_RABBITMQ,
+    matchIfMissing = true
+)
 public class RabbitMQConfig {
 
     private static final Logger log = LoggerFactory.getLogger(RabbitMQConfig.class);
@@ -88,35 +107,99 @@ public class RabbitMQConfig {
         return cachingConnectionFactory;
     }
 
+    /**
+     * Decodes flag changes sent in the compact binary format by their content type and everything else as
+     * JSON. With {@code switchHub.sdk.messaging.binaryEncoding} the SDK's {@link RabbitTemplate} also
+     * publishes flag changes in the binary format.
+     */
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter switchHubMessageConverter() {
+        return new SwitchMessageConverter(new Jackson2JsonMessageConverter(),
+                envConfig.isSwitchHubSdkMessagingBinaryEncoding());
     }
 
     @Bean
-    public RabbitTemplate rabbitTemplate(CachingConnectionFactory rabbitMqconnectionFactory , MessageConverter jsonMessageConverter) throws Exception {
+    public RabbitTemplate rabbitTemplate(CachingConnectionFactory rabbitMqconnectionFactory , MessageConverter switchHubMessageConverter) throws Exception {
+        // The broker connection is opened by StartupComponent in the background, not during context creation
         RabbitTemplate template = new RabbitTemplate(rabbitMqconnectionFactory);
-        template.setMessageConverter(jsonMessageConverter);
-        try {
-            rabbitMqconnectionFactory.createConnection().createChannel(false);
-            log.info(SwitchHubConstants.LogMessages.RABBITMQ_CONNECTION_ESTABLISHED);
-        } catch (Exception e) {
-            throw new RuntimeException(SwitchHubConstants.LogMessages.RABBITMQ_CONNECTION_FAILED, e);
-        }
+        template.setMessageConverter(switchHubMessageConverter);
         return template;
     }
 
+    /**
+     * Listener container of the flag change queue. Runs {@code switchHub.sdk.consumer.concurrency}
+     * consumers, each handed up to {@code switchHub.sdk.consumer.batchSize} messages at once after waiting
+     * at most {@code switchHub.sdk.consumer.receiveTimeoutMillis} for a batch to fill, and acks each batch
+     * with a single ack after the listener returns. The container is not started with the context: the
+     * {@code rabbitmq} update source starts it from a startup worker, so a slow or unreachable broker
+     * never holds up context refresh.
+     *
+     * More than one consumer needs {@code switchHub.sdk.consumer.stripes} of two or more: the lanes keep
+     * changes to the same switch in order across consumers. Without them a single consumer is used and a
+     * warning is logged.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory switchHubListenerContainerFactory(CachingConnectionFactory rabbitMqconnectionFactory,
+                                                                                 MessageConverter switchHubMessageConverter) {
+        int batchSize = Math.max(1, envConfig.getSwitchHubSdkConsumerBatchSize());
+        long receiveTimeout = envConfig.getSwitchHubSdkConsumerReceiveTimeoutMillis();
+        int concurrency = Math.max(1, envConfig.getSwitchHubSdkConsumerConcurrency());
+        if (concurrency > 1 && envConfig.getSwitchHubSdkConsumerStripes() < 2) {
+            log.warn("RabbitMQ consumer concurrency {} needs switchHub.sdk.consumer.stripes of 2 or more to keep "
+                    + "changes to the same switch in order, using a single consumer", concurrency);
+            concurrency = 1;
+        }
+
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(rabbitMqconnectionFactory);
+        // listeners taking raw messages, like the flag change listener, convert each delivery themselves
+        factory.setMessageConverter(switchHubMessageConverter);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout);
+        factory.setBatchReceiveTimeout(receiveTimeout);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setAutoStartup(false);
+        // a batch can only fill if the broker may send at least that many unacked messages
+        factory.setPrefetchCount(Math.max(batchSize, envConfig.getSwitchHubSdkConsumerPrefetch()));
+        return factory;
+    }
+
     @Bean
     public TopicExchange exchange() {
         return new TopicExchange(SwitchHubConstants.RabbitMQ.EXCHANGE_NAME, true, false);
     }
 
+    /**
+     * The flag change queue. By default all instances of the application share one durable queue and
+     * compete for its messages. With {@code switchHub.sdk.consumer.broadcast.enabled} every instance
+     * declares its own exclusive, auto-delete queue bound to the same routing key, so each change
+     * reaches every instance; the broker drops the queue when the instance disconnects, and
+     * {@code x-expires} removes it even if the connection was never cleanly closed.
+     */
     @Bean
     public Queue queue() {
         String queueName = SwitchHubConstants.RabbitMQ.QUEUE_PREFIX +
                           envConfig.getSwitchHubSdkEnvironmentName() + "." +
                           envConfig.getSwitchHubSdkApplicationName();
-        return new Queue(queueName, true);
+        if (!envConfig.isSwitchHubSdkConsumerBroadcastEnabled()) {
+            return new Queue(queueName, true);
+        }
+
+        String instanceId = envConfig.getSwitchHubSdkInstanceId();
+        if (instanceId == null || instanceId.isBlank()) {
+            instanceId = UUID.randomUUID().toString();
+        }
+        Map<String, Object> arguments = new HashMap<>();
+        long expires = envConfig.getSwitchHubSdkConsumerBroadcastQueueExpiresMillis();
+        if (expires > 0) {
+            arguments.put(SwitchHubConstants.RabbitMQ.QUEUE_EXPIRES_ARGUMENT, expires);
+        }
+        Queue queue = new Queue(queueName + "." + instanceId, false, true, true, arguments);
+        log.info("RabbitMQ broadcast queue {} declared for this instance", queue.getName());
+        return queue;
     }
 
     @Bean
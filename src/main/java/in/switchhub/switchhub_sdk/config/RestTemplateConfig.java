@@ -1,15 +1,41 @@
 package in.switchhub.switchhub_sdk.config;
 
+import in.switchhub.switchhub_sdk.util.GzipResponseInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
 
+    @Autowired
+    EnvConfig envConfig;
 
+    /**
+     * Backed by the JDK {@link HttpClient}, which keeps a pool of persistent connections and negotiates
+     * HTTP/2 when the backend supports it. Connect and read timeouts bound how long a slow backend can
+     * hold up startup.
+     */
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(envConfig.isSwitchHubBackendHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(envConfig.getSwitchHubBackendConnectTimeoutMillis()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(envConfig.getSwitchHubBackendReadTimeoutMillis()));
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        if (envConfig.isSwitchHubBackendGzipEnabled()) {
+            restTemplate.getInterceptors().add(new GzipResponseInterceptor());
+        }
+        return restTemplate;
     }
 }
@@ -0,0 +1,58 @@
+package in.switchhub.switchhub_sdk.config;
+
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.util.StripedExecutor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class SchedulerConfig {
+
+    /**
+     * Single daemon thread shared by the SDK's background work, so the SDK never adds more than one
+     * thread to the host application for periodic tasks.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService switchHubScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, SwitchHubConstants.Scheduler.THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Daemon threads for one-off blocking work such as the startup fetch and the broker connection,
+     * which must not run on the caller's thread or hold up the scheduler.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService switchHubWorkerExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable,
+                    SwitchHubConstants.Scheduler.WORKER_THREAD_PREFIX + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * {@code switchHub.sdk.consumer.stripes} daemon lanes that apply flag changes, keyed by switch name so
+     * changes to one switch stay in order while different switches are applied in parallel.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public StripedExecutor switchHubStripedExecutor(EnvConfig envConfig) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new StripedExecutor(envConfig.getSwitchHubSdkConsumerStripes(), runnable -> {
+            Thread thread = new Thread(runnable,
+                    SwitchHubConstants.Scheduler.STRIPE_THREAD_PREFIX + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,105 @@
+package in.switchhub.switchhub_sdk.config;
+
+import in.switchhub.switchhub_sdk.components.SequenceTrackerComponent;
+import in.switchhub.switchhub_sdk.components.SwitchMetricsComponent;
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.util.LatencyHistogram;
+import in.switchhub.switchhub_sdk.util.SwitchCounters;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the SDK evaluation metrics through Micrometer. Only active when Micrometer is on the
+ * application's classpath; the meters read the SDK's own counters, so scraping adds no cost to
+ * evaluation.
+ */
+@Configuration
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+public class SwitchHubMetricsConfig {
+
+    @Bean
+    public MeterBinder switchHubMeterBinder(SwitchMetricsComponent switchMetricsComponent,
+                                            SequenceTrackerComponent sequenceTrackerComponent) {
+        return registry -> {
+            FunctionTimer.builder(SwitchHubConstants.Metrics.EVALUATION_LATENCY,
+                            switchMetricsComponent.getLatencyHistogram(),
+                            LatencyHistogram::getCount,
+                            LatencyHistogram::getTotalNanos,
+                            TimeUnit.NANOSECONDS)
+                    .description("Sampled time spent evaluating a switch")
+                    .register(registry);
+            FunctionCounter.builder(SwitchHubConstants.Metrics.RECONCILIATION_DRIFT, switchMetricsComponent,
+                            SwitchMetricsComponent::getDriftedSwitches)
+                    .description("Switches that reconciliation found out of sync with the backend")
+                    .register(registry);
+            FunctionCounter.builder(SwitchHubConstants.Metrics.MISSING_UNKNOWN_SWITCH, switchMetricsComponent,
+                            SwitchMetricsComponent::getUnknownMissingHits)
+                    .description("Evaluations of switch names the SDK has never received")
+                    .register(registry);
+            FunctionCounter.builder(SwitchHubConstants.Metrics.STALE_UPDATES, switchMetricsComponent,
+                            SwitchMetricsComponent::getStaleUpdates)
+                    .description("Switch updates dropped because a newer state was already applied")
+                    .register(registry);
+            FunctionCounter.builder(SwitchHubConstants.Metrics.INVALID_UPDATES, switchMetricsComponent,
+                            SwitchMetricsComponent::getInvalidUpdates)
+                    .description("Switch updates dropped because the message could not be read or the switch could not be compiled")
+                    .register(registry);
+            FunctionCounter.builder(SwitchHubConstants.Metrics.SEQUENCE_GAPS, sequenceTrackerComponent,
+                            SequenceTrackerComponent::getGaps)
+                    .description("Gaps in the flag change sequence that triggered a resync")
+                    .register(registry);
+            FunctionCounter.builder(SwitchHubConstants.Metrics.SEQUENCE_DUPLICATES, sequenceTrackerComponent,
+                            SequenceTrackerComponent::getDuplicates)
+                    .description("Flag change messages skipped because their sequence number was already seen")
+                    .register(registry);
+
+            switchMetricsComponent.addListener(new MicrometerListener(registry));
+        };
+    }
+
+    static final class MicrometerListener implements SwitchMetricsComponent.Listener {
+
+        private final MeterRegistry registry;
+
+        MicrometerListener(MeterRegistry registry) {
+            this.registry = registry;
+        }
+
+        @Override
+        public void onSwitchCounters(SwitchCounters counters) {
+            FunctionCounter.builder(SwitchHubConstants.Metrics.MISSING_SWITCH, counters, SwitchCounters::getMissingHits)
+                    .tag(SwitchHubConstants.Metrics.TAG_SWITCH, counters.getSwitchName())
+                    .description("Evaluations of a switch that was not in memory")
+                    .register(registry);
+            FunctionCounter.builder(SwitchHubConstants.Metrics.DEFAULT_FALLBACK, counters, SwitchCounters::getFallbackHits)
+                    .tag(SwitchHubConstants.Metrics.TAG_SWITCH, counters.getSwitchName())
+                    .description("Evaluations that fell back to the default metered key")
+                    .register(registry);
+        }
+
+        @Override
+        public void onResultCounters(SwitchCounters counters, String meteredKey) {
+            SwitchCounters.ResultCounters resultCounters = counters.getResultCounters().get(meteredKey);
+            registerResult(counters.getSwitchName(), meteredKey, "true", resultCounters, true);
+            registerResult(counters.getSwitchName(), meteredKey, "false", resultCounters, false);
+        }
+
+        private void registerResult(String switchName, String meteredKey, String result,
+                                    SwitchCounters.ResultCounters resultCounters, boolean trueResults) {
+            FunctionCounter.builder(SwitchHubConstants.Metrics.EVALUATIONS, resultCounters,
+                            counters -> trueResults ? counters.getTrueResults() : counters.getFalseResults())
+                    .tag(SwitchHubConstants.Metrics.TAG_SWITCH, switchName)
+                    .tag(SwitchHubConstants.Metrics.TAG_METERED_KEY, meteredKey)
+                    .tag(SwitchHubConstants.Metrics.TAG_RESULT, result)
+                    .description("Switch evaluations by metered key and result")
+                    .register(registry);
+        }
+    }
+}
@@ -10,6 +10,10 @@ public final class SwitchHubConstants {
         public static final String EXCHANGE_NAME = "app_exchange";
         public static final String ROUTING_KEY_PREFIX = "app.";
         public static final String QUEUE_PREFIX = "queue.";
+        public static final String QUEUE_EXPIRES_ARGUMENT = "x-expires";
+        public static final String BINARY_CONTENT_TYPE = "application/x-switchhub-message";
+        public static final String SEQUENCE_HEADER = "x-switchhub-sequence";
+        public static final String LISTENER_ID = "switchHubFlagChangeListener";
 
         private RabbitMQ() {
             throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
@@ -18,6 +22,8 @@ public final class SwitchHubConstants {
 
     public static final class Api {
         public static final String FETCH_SWITCH_ENDPOINT = "/fetchswitch";
+        public static final String STREAM_SWITCH_ENDPOINT = "/streamswitch";
+        public static final String HEADER_LAST_EVENT_ID = "Last-Event-ID";
         public static final String HEADER_ENVIRONMENT_NAME = "environmentName";
         public static final String HEADER_APPLICATION_NAME = "applicationName";
 
@@ -26,9 +32,27 @@ public final class SwitchHubConstants {
         }
     }
 
+    public static final class Updates {
+        public static final String SOURCE_PROPERTY_PREFIX = "switchHub.sdk.updates";
+        public static final String SOURCE_PROPERTY_NAME = "source";
+        public static final String SOURCE_RABBITMQ = "rabbitmq";
+        public static final String SOURCE_SSE = "sse";
+        public static final String SOURCE_FILE = "file";
+        public static final String SSE_MESSAGE_EVENT = "message";
+
+        private Updates() {
+            throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+        }
+    }
+
     public static final class Switch {
         public static final String DEFAULT_KEY = "default";
         public static final String CONTEXT_SUB_KEY = "subKey";
+        public static final String CONTEXT_BUCKET_BY_KEY = "bucketBy";
+        public static final String CONTEXT_USER_ID_KEY = "userId";
+        public static final String CONTEXT_TENANT_ID_KEY = "tenantId";
+        public static final char BUCKET_HASH_SEPARATOR = ':';
+        public static final int BUCKET_HASH_SEED = 0;
         public static final String METERED_TRUE_VALUE_KEY = "trueValue";
 
         private Switch() {
@@ -40,16 +64,60 @@ public final class SwitchHubConstants {
         public static final int MIN_PERCENTAGE = 0;
         public static final int MAX_PERCENTAGE = 100;
         public static final int PERCENTAGE_POOL_SIZE = 100;
+        public static final int PERCENTAGE_POOL_PERMUTATIONS = 16;
 
         private Validation() {
             throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
         }
     }
 
+    public static final class Scheduler {
+        public static final String THREAD_NAME = "switchhub-scheduler";
+        public static final String WORKER_THREAD_PREFIX = "switchhub-worker-";
+        public static final String STRIPE_THREAD_PREFIX = "switchhub-stripe-";
+        public static final String SSE_THREAD_NAME = "switchhub-sse";
+        public static final String FILE_WATCH_THREAD_NAME = "switchhub-file-watch";
+
+        private Scheduler() {
+            throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+        }
+    }
+
+    public static final class Snapshot {
+        public static final String FILE_SUFFIX = ".snapshot";
+
+        private Snapshot() {
+            throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+        }
+    }
+
+    public static final class Metrics {
+        public static final String EVALUATIONS = "switchhub.evaluations";
+        public static final String MISSING_SWITCH = "switchhub.missing";
+        public static final String MISSING_UNKNOWN_SWITCH = "switchhub.missing.unknown";
+        public static final String DEFAULT_FALLBACK = "switchhub.fallbacks";
+        public static final String EVALUATION_LATENCY = "switchhub.evaluation.latency";
+        public static final String RECONCILIATION_DRIFT = "switchhub.reconciliation.drift";
+        public static final String STALE_UPDATES = "switchhub.updates.stale";
+        public static final String INVALID_UPDATES = "switchhub.updates.invalid";
+        public static final String SEQUENCE_GAPS = "switchhub.sequence.gaps";
+        public static final String SEQUENCE_DUPLICATES = "switchhub.sequence.duplicates";
+        public static final String TAG_SWITCH = "switch";
+        public static final String TAG_METERED_KEY = "key";
+        public static final String TAG_RESULT = "result";
+
+        private Metrics() {
+            throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+        }
+    }
+
     public static final class ErrorMessages {
         public static final String PERCENTAGE_OUT_OF_RANGE = "Percentage must be between 0 and 100";
         public static final String SWITCH_NOT_FOUND_IN_MEMORY = "Switch not found in memory";
         public static final String NO_GENERATOR_FOUND = "No generator found for key";
+        public static final String BACKEND_CIRCUIT_OPEN = "SwitchHub backend circuit breaker is open";
+        public static final String STREAM_UNAVAILABLE = "not connected";
+        public static final String STREAM_ENDED = "stream ended";
 
         private ErrorMessages() {
             throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
@@ -59,9 +127,43 @@ public final class SwitchHubConstants {
     public static final class LogMessages {
         public static final String RABBITMQ_CONNECTION_ESTABLISHED = "RabbitMQ connection established at startup";
         public static final String RABBITMQ_CONNECTION_FAILED = "Failed to connect to RabbitMQ at startup";
+        public static final String STARTUP_READINESS = "SwitchHub startup state after waiting for readiness: {}";
         public static final String STARTUP_API_SUCCESS = "Startup API success: {}";
         public static final String STARTUP_API_FAILED = "Startup API failed: {}";
+        public static final String STARTUP_API_STREAMED = "Startup API success: {} switches updated, {} removed";
+        public static final String STARTUP_API_CHUNK_FAILED = "Startup API failed for chunk {} of {}: {}";
+        public static final String CONDITIONAL_FETCH_NEEDS_STREAMING = "switchHub.sdk.fetch.conditional is ignored because switchHub.sdk.fetch.streaming is disabled, every fetch downloads all switches";
+        public static final String STARTUP_FETCH_RETRY = "Startup fetch attempt {} failed, retrying in {} ms";
+        public static final String STARTUP_FETCH_GAVE_UP = "Startup fetch failed after {} attempts, serving the local snapshot until reconciliation succeeds";
         public static final String FLAG_CHANGE_RECEIVED = "Received flag change: {}";
+        public static final String FLAG_CHANGES_RECEIVED = "Received {} flag changes for {} switches, {} stale";
+        public static final String MISSING_SWITCH_REPORT_FAILED = "Failed to report missing switches: {}";
+        public static final String SNAPSHOT_LOADED = "Loaded {} switches from local snapshot {}";
+        public static final String SNAPSHOT_LOAD_FAILED = "Failed to load local snapshot {}: {}";
+        public static final String SNAPSHOT_SAVED = "Saved {} switches to local snapshot {}";
+        public static final String SNAPSHOT_SAVE_FAILED = "Failed to save local snapshot {}: {}";
+        public static final String RECONCILIATION_DRIFT = "Reconciliation corrected {} switches that had drifted from the backend";
+        public static final String RECONCILIATION_INCOMPLETE = "Reconciliation could not fetch every switch, retrying at the next interval";
+        public static final String LAZY_FETCH_COMPLETED = "Lazily fetched switches {}";
+        public static final String LAZY_FETCH_FAILED = "Failed to lazily fetch switches {}: {}";
+        public static final String SWITCH_INVALID = "Skipping switch {} that cannot be applied: {}";
+        public static final String MESSAGE_UNREADABLE = "Skipping flag change message {} that cannot be read: {}";
+        public static final String SEQUENCE_GAP = "Flag change stream skipped {} messages between sequence {} and {}, resyncing";
+        public static final String SEQUENCE_LOST = "{} flag change messages never arrived, resyncing";
+        public static final String SEQUENCE_RESET = "Flag change sequence went back from {} to {}, assuming the publisher restarted and resyncing";
+        public static final String SEQUENCE_RESYNC_FAILED = "Resync after a flag change gap failed: {}";
+        public static final String UPDATE_SOURCE_FAILED = "Failed to start the {} update source: {}";
+        public static final String SSE_CONNECTED = "Connected to flag change stream {}";
+        public static final String SSE_CONNECT_FAILED = "Failed to connect to flag change stream {}: {}";
+        public static final String SSE_DISCONNECTED = "Flag change stream disconnected ({}), reconnecting in {} ms";
+        public static final String SSE_EVENT_FAILED = "Failed to apply flag change event {}: {}";
+        public static final String FILE_SOURCE_PATH_MISSING = "switchHub.sdk.updates.file.path is not set, file updates are disabled";
+        public static final String FILE_SOURCE_WATCH_FAILED = "Failed to watch {}: {}";
+        public static final String FILE_SOURCE_LOADED = "Loaded {} switches from {}";
+        public static final String FILE_SOURCE_LOAD_FAILED = "Failed to load switches from {}: {}";
+        public static final String FILE_SOURCE_SKIPS_BACKEND = "Switches come from the update file, skipping the backend fetch";
+        public static final String FILE_SOURCE_SKIPS_RECONCILIATION = "Switches come from the update file, reconciliation with the backend is disabled";
+        public static final String RECONCILIATION_FAILED = "Reconciliation failed: {}";
 
         private LogMessages() {
             throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
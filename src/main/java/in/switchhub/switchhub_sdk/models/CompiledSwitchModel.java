@@ -0,0 +1,86 @@
+package in.switchhub.switchhub_sdk.models;
+
+import in.switchhub.switchhub_sdk.util.SwitchCounters;
+import in.switchhub.switchhub_sdk.util.SwitchVersion;
+import in.switchhub.switchhub_sdk.util.WeightedBooleanGenerator;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable, evaluation-ready view of one switch. The generators and metered percentages are derived
+ * from the {@link SwitchModel} once, when the switch is published, instead of on every evaluation.
+ */
+public final class CompiledSwitchModel {
+
+    private final SwitchModel switchModel;
+    private final boolean status;
+    private final boolean metered;
+    private final long version;
+    private final Map<String, WeightedBooleanGenerator> generators;
+    private final Map<String, Integer> truePercentages;
+    private final SwitchCounters counters;
+
+    public CompiledSwitchModel(SwitchModel switchModel,
+                               Map<String, WeightedBooleanGenerator> generators,
+                               Map<String, Integer> truePercentages) {
+        this(switchModel, generators, truePercentages, null);
+    }
+
+    public CompiledSwitchModel(SwitchModel switchModel,
+                               Map<String, WeightedBooleanGenerator> generators,
+                               Map<String, Integer> truePercentages,
+                               SwitchCounters counters) {
+        this.switchModel = switchModel;
+        this.status = switchModel != null && switchModel.isStatus();
+        this.metered = switchModel != null && switchModel.getMeteredStatus() != null;
+        this.version = SwitchVersion.of(switchModel);
+        this.generators = Collections.unmodifiableMap(generators);
+        this.truePercentages = Collections.unmodifiableMap(truePercentages);
+        this.counters = counters;
+    }
+
+    public SwitchModel getSwitchModel() {
+        return switchModel;
+    }
+
+    public boolean isStatus() {
+        return status;
+    }
+
+    public boolean isMetered() {
+        return metered;
+    }
+
+    /**
+     * Ordering key of this state, see {@link SwitchVersion}.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<String, WeightedBooleanGenerator> getGenerators() {
+        return generators;
+    }
+
+    public Map<String, Integer> getTruePercentages() {
+        return truePercentages;
+    }
+
+    /**
+     * Evaluation counters of this switch, or {@code null} when metrics are disabled.
+     */
+    public SwitchCounters getCounters() {
+        return counters;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledSwitchModel{" +
+                "switchModel=" + switchModel +
+                ", status=" + status +
+                ", metered=" + metered +
+                ", truePercentages=" + truePercentages +
+                '}';
+    }
+}
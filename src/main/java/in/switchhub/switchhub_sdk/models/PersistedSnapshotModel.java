@@ -0,0 +1,37 @@
+package in.switchhub.switchhub_sdk.models;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Contents of the local snapshot file: the switches and the sync tokens (backend ETags) they were
+ * fetched with. Both are written together, so a token never describes newer state than the switches.
+ */
+public final class PersistedSnapshotModel {
+
+    public static final PersistedSnapshotModel EMPTY = new PersistedSnapshotModel(Map.of(), Map.of());
+
+    private final Map<String, SwitchModel> switches;
+    private final Map<String, String> syncTokens;
+
+    public PersistedSnapshotModel(Map<String, SwitchModel> switches, Map<String, String> syncTokens) {
+        this.switches = Collections.unmodifiableMap(switches);
+        this.syncTokens = Collections.unmodifiableMap(syncTokens);
+    }
+
+    public Map<String, SwitchModel> getSwitches() {
+        return switches;
+    }
+
+    public Map<String, String> getSyncTokens() {
+        return syncTokens;
+    }
+
+    @Override
+    public String toString() {
+        return "PersistedSnapshotModel{" +
+                "switches=" + switches.keySet() +
+                ", syncTokens=" + syncTokens +
+                '}';
+    }
+}
@@ -105,6 +105,20 @@ public class SwitchModel implements Serializable {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Whether {@code other} describes the same switch state, ignoring the audit fields {@code createdBy},
+     * {@code createdAt} and {@code updatedBy} that compact broker messages leave out.
+     */
+    public boolean hasSameState(SwitchModel other) {
+        return other != null &&
+                status == other.status &&
+                Objects.equals(switchId, other.switchId) &&
+                Objects.equals(switchName, other.switchName) &&
+                Objects.equals(applicationName, other.applicationName) &&
+                Objects.equals(meteredStatus, other.meteredStatus) &&
+                Objects.equals(updatedAt, other.updatedAt);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
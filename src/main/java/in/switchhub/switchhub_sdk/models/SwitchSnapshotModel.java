@@ -0,0 +1,56 @@
+package in.switchhub.switchhub_sdk.models;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable set of compiled switches published by {@code SharedDataStoreComponent}. Every update produces
+ * a new snapshot with a higher version, so a reader holding one snapshot always sees a consistent view.
+ * The snapshot also carries the sync tokens of the backend responses its switches came from.
+ */
+public final class SwitchSnapshotModel {
+
+    public static final SwitchSnapshotModel EMPTY = new SwitchSnapshotModel(0L, Collections.emptyMap());
+
+    private final long version;
+    private final Map<String, CompiledSwitchModel> switches;
+    private final Map<String, String> syncTokens;
+
+    public SwitchSnapshotModel(long version, Map<String, CompiledSwitchModel> switches) {
+        this(version, switches, Collections.emptyMap());
+    }
+
+    public SwitchSnapshotModel(long version, Map<String, CompiledSwitchModel> switches, Map<String, String> syncTokens) {
+        this.version = version;
+        this.switches = Collections.unmodifiableMap(switches);
+        this.syncTokens = Collections.unmodifiableMap(syncTokens);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<String, CompiledSwitchModel> getSwitches() {
+        return switches;
+    }
+
+    public CompiledSwitchModel getSwitch(String switchName) {
+        return switches.get(switchName);
+    }
+
+    public Map<String, String> getSyncTokens() {
+        return syncTokens;
+    }
+
+    public String getSyncToken(String key) {
+        return syncTokens.get(key);
+    }
+
+    @Override
+    public String toString() {
+        return "SwitchSnapshotModel{" +
+                "version=" + version +
+                ", switches=" + switches.keySet() +
+                '}';
+    }
+}
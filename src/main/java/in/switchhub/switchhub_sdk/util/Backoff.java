@@ -0,0 +1,31 @@
+package in.switchhub.switchhub_sdk.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with full jitter: the delay before retry {@code n} is uniform in
+ * {@code [0, min(maxMillis, initialMillis * 2^n)]}. Spreading retries over the whole window keeps a
+ * fleet that failed together from retrying together.
+ */
+public final class Backoff {
+
+    // 2^30 times any sensible initial delay is far beyond any sensible cap
+    private static final int MAX_DOUBLINGS = 30;
+
+    private Backoff() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static long fullJitterDelayMillis(int attempt, long initialMillis, long maxMillis) {
+        return ThreadLocalRandom.current().nextLong(ceilingMillis(attempt, initialMillis, maxMillis) + 1);
+    }
+
+    static long ceilingMillis(int attempt, long initialMillis, long maxMillis) {
+        if (initialMillis <= 0 || maxMillis <= 0) {
+            return 0L;
+        }
+        int doublings = Math.min(Math.max(attempt, 0), MAX_DOUBLINGS);
+        long ceiling = initialMillis > (Long.MAX_VALUE >> doublings) ? Long.MAX_VALUE : initialMillis << doublings;
+        return Math.min(ceiling, maxMillis);
+    }
+}
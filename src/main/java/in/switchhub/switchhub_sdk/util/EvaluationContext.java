@@ -0,0 +1,96 @@
+package in.switchhub.switchhub_sdk.util;
+
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+
+/**
+ * Mutable, reusable evaluation context with fixed slots for the common attributes.
+ *
+ * Unlike a {@code Map<String, String>}, an instance can be kept and refilled for every request, so
+ * evaluating through {@link SwitchUtil#isEnabled(String, EvaluationContext)} or
+ * {@link SwitchHandle#isEnabled(EvaluationContext)} creates no objects. Instances are not thread-safe;
+ * use {@link #forCurrentThread()} or one instance per request.
+ */
+public final class EvaluationContext {
+
+    private static final ThreadLocal<EvaluationContext> CURRENT = ThreadLocal.withInitial(EvaluationContext::new);
+
+    private String subKey;
+    private String bucketBy;
+    private String userId;
+    private String tenantId;
+
+    /**
+     * Returns this thread's pooled instance, cleared and ready to be filled.
+     */
+    public static EvaluationContext forCurrentThread() {
+        return CURRENT.get().clear();
+    }
+
+    public EvaluationContext clear() {
+        subKey = null;
+        bucketBy = null;
+        userId = null;
+        tenantId = null;
+        return this;
+    }
+
+    public EvaluationContext subKey(String subKey) {
+        this.subKey = subKey;
+        return this;
+    }
+
+    public EvaluationContext bucketBy(String bucketBy) {
+        this.bucketBy = bucketBy;
+        return this;
+    }
+
+    public EvaluationContext userId(String userId) {
+        this.userId = userId;
+        return this;
+    }
+
+    public EvaluationContext tenantId(String tenantId) {
+        this.tenantId = tenantId;
+        return this;
+    }
+
+    public String getSubKey() {
+        return subKey;
+    }
+
+    public String getBucketBy() {
+        return bucketBy;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    /**
+     * Identifier sticky bucketing hashes: {@code bucketBy}, else the user id, else the tenant id.
+     */
+    String getBucketingId() {
+        if (bucketBy != null) {
+            return bucketBy;
+        }
+        return userId != null ? userId : tenantId;
+    }
+
+    String getContextKey() {
+        return subKey != null ? subKey : SwitchHubConstants.Switch.DEFAULT_KEY;
+    }
+
+    @Override
+    public String toString() {
+        return "EvaluationContext{" +
+                "subKey='" + subKey + '\'' +
+                ", bucketBy='" + bucketBy + '\'' +
+                ", userId='" + userId + '\'' +
+                ", tenantId='" + tenantId + '\'' +
+                '}';
+    }
+}
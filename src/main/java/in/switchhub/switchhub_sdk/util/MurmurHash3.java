@@ -0,0 +1,81 @@
+package in.switchhub.switchhub_sdk.util;
+
+/**
+ * Allocation-free MurmurHash3 (x86, 32-bit) over UTF-16 code units.
+ *
+ * The result is identical to hashing the UTF-16LE bytes of the input, which keeps bucket assignments
+ * stable across SDK versions and JVMs.
+ */
+public final class MurmurHash3 {
+
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+
+    private MurmurHash3() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static int hash32(CharSequence input, int seed) {
+        return hashUnencodedChars(input, null, (char) 0, seed);
+    }
+
+    /**
+     * Hashes {@code first + separator + second} without building the concatenated string.
+     */
+    public static int hash32(CharSequence first, char separator, CharSequence second, int seed) {
+        return hashUnencodedChars(first, second, separator, seed);
+    }
+
+    private static int hashUnencodedChars(CharSequence first, CharSequence second, char separator, int seed) {
+        int firstLength = first.length();
+        int length = second == null ? firstLength : firstLength + 1 + second.length();
+
+        int h1 = seed;
+        int i = 1;
+        for (; i < length; i += 2) {
+            int k1 = charAt(first, second, separator, i - 1) | (charAt(first, second, separator, i) << 16);
+            h1 = mixH1(h1, mixK1(k1));
+        }
+
+        if ((length & 1) == 1) {
+            h1 ^= mixK1(charAt(first, second, separator, length - 1));
+        }
+
+        return fmix(h1, 2 * length);
+    }
+
+    private static char charAt(CharSequence first, CharSequence second, char separator, int index) {
+        int firstLength = first.length();
+        if (index < firstLength) {
+            return first.charAt(index);
+        }
+        if (index == firstLength) {
+            return separator;
+        }
+        return second.charAt(index - firstLength - 1);
+    }
+
+    private static int mixK1(int k1) {
+        k1 *= C1;
+        k1 = Integer.rotateLeft(k1, 15);
+        k1 *= C2;
+        return k1;
+    }
+
+    private static int mixH1(int h1, int k1) {
+        h1 ^= k1;
+        h1 = Integer.rotateLeft(h1, 13);
+        h1 = h1 * 5 + 0xe6546b64;
+        return h1;
+    }
+
+    private static int fmix(int h1, int length) {
+        h1 ^= length;
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+        return h1;
+    }
+}
@@ -0,0 +1,81 @@
+package in.switchhub.switchhub_sdk.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a {@code text/event-stream} body and hands every complete event to a sink as soon as its
+ * terminating blank line arrives. Follows the server-sent events format: {@code data} lines are joined
+ * with newlines, the last {@code id} carries over to later events as their last event id, and comments
+ * and unknown fields, including {@code retry}, are ignored.
+ */
+public final class SseEventReader {
+
+    private static final String DATA_FIELD = "data";
+    private static final String ID_FIELD = "id";
+    private static final String EVENT_FIELD = "event";
+
+    private SseEventReader() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Reads until the stream ends and returns the number of events passed to {@code sink}.
+     */
+    public static int read(InputStream body, Sink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String lastEventId = null;
+        String id = null;
+        String event = null;
+        StringBuilder data = null;
+        int count = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (data != null) {
+                    sink.onEvent(id, lastEventId, event, data.toString());
+                    count++;
+                }
+                id = null;
+                event = null;
+                data = null;
+                continue;
+            }
+            if (line.charAt(0) == ':') {
+                continue;
+            }
+
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+
+            if (DATA_FIELD.equals(field)) {
+                data = data == null ? new StringBuilder(value) : data.append('\n').append(value);
+            } else if (ID_FIELD.equals(field)) {
+                if (value.indexOf('\0') < 0) {
+                    id = value.isEmpty() ? null : value;
+                    lastEventId = id;
+                }
+            } else if (EVENT_FIELD.equals(field)) {
+                event = value;
+            }
+        }
+        return count;
+    }
+
+    public interface Sink {
+        /**
+         * Called for each event. {@code id} is the event's own id, {@code null} when it has no {@code id}
+         * line; {@code lastEventId} is the id to resume from, carried over from earlier events.
+         * {@code event} is {@code null} when not set.
+         */
+        void onEvent(String id, String lastEventId, String event, String data);
+    }
+}
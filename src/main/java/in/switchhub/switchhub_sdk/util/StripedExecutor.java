@@ -0,0 +1,60 @@
+package in.switchhub.switchhub_sdk.util;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Fixed set of single-threaded lanes. Tasks for the same key always run on the same lane, one after the
+ * other in submission order, while tasks for keys on different lanes run in parallel. Lane threads are
+ * only started by their first task.
+ */
+public final class StripedExecutor {
+
+    private final ExecutorService[] stripes;
+
+    public StripedExecutor(int stripeCount, ThreadFactory threadFactory) {
+        this.stripes = new ExecutorService[Math.max(0, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Lane of {@code key}; always {@code 0} when there are no lanes.
+     */
+    public int stripeOf(Object key) {
+        if (stripes.length == 0) {
+            return 0;
+        }
+        int hash = Objects.hashCode(key);
+        // spread the high bits, as String hashes of similar names often differ only there
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    /**
+     * Executor of lane {@code stripe}. Without lanes tasks run on the calling thread.
+     */
+    public Executor stripe(int stripe) {
+        if (stripes.length == 0) {
+            return Runnable::run;
+        }
+        return stripes[stripe];
+    }
+
+    public void execute(Object key, Runnable task) {
+        stripe(stripeOf(key)).execute(task);
+    }
+
+    public void shutdownNow() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package in.switchhub.switchhub_sdk.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Striped evaluation counters of one switch. Instances outlive switch updates: every compiled version
+ * of the switch shares the same counters.
+ */
+public final class SwitchCounters {
+
+    private final String switchName;
+    private final LongAdder missingHits = new LongAdder();
+    private final LongAdder fallbackHits = new LongAdder();
+    private final Map<String, ResultCounters> resultCounters = new ConcurrentHashMap<>();
+    private final BiConsumer<SwitchCounters, String> newKeyListener;
+
+    public SwitchCounters(String switchName, BiConsumer<SwitchCounters, String> newKeyListener) {
+        this.switchName = switchName;
+        this.newKeyListener = newKeyListener;
+    }
+
+    public String getSwitchName() {
+        return switchName;
+    }
+
+    public void record(String meteredKey, boolean result) {
+        ResultCounters counters = resultCounters.get(meteredKey);
+        if (counters == null) {
+            counters = register(meteredKey);
+        }
+        (result ? counters.trueResults : counters.falseResults).increment();
+    }
+
+    public void recordMissing() {
+        missingHits.increment();
+    }
+
+    public void recordFallback() {
+        fallbackHits.increment();
+    }
+
+    public long getMissingHits() {
+        return missingHits.sum();
+    }
+
+    public long getFallbackHits() {
+        return fallbackHits.sum();
+    }
+
+    public long getEvaluations() {
+        long evaluations = 0;
+        for (ResultCounters counters : resultCounters.values()) {
+            evaluations += counters.getTrueResults() + counters.getFalseResults();
+        }
+        return evaluations;
+    }
+
+    public Map<String, ResultCounters> getResultCounters() {
+        return Collections.unmodifiableMap(resultCounters);
+    }
+
+    private ResultCounters register(String meteredKey) {
+        ResultCounters created = new ResultCounters();
+        ResultCounters existing = resultCounters.putIfAbsent(meteredKey, created);
+        if (existing != null) {
+            return existing;
+        }
+        if (newKeyListener != null) {
+            newKeyListener.accept(this, meteredKey);
+        }
+        return created;
+    }
+
+    @Override
+    public String toString() {
+        return "SwitchCounters{" +
+                "switchName='" + switchName + '\'' +
+                ", missingHits=" + missingHits +
+                ", fallbackHits=" + fallbackHits +
+                ", resultCounters=" + resultCounters +
+                '}';
+    }
+
+    public static final class ResultCounters {
+        private final LongAdder trueResults = new LongAdder();
+        private final LongAdder falseResults = new LongAdder();
+
+        public long getTrueResults() {
+            return trueResults.sum();
+        }
+
+        public long getFalseResults() {
+            return falseResults.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "ResultCounters{" +
+                    "trueResults=" + trueResults +
+                    ", falseResults=" + falseResults +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package in.switchhub.switchhub_sdk.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a {@code /fetchswitch} response body token by token and hands every entry of
+ * {@code switchDetails} to a sink as soon as it is parsed, so the full response is never held in memory
+ * as a map. Names listed in {@code removedSwitches}, sent by the backend in a delta response, are passed
+ * to {@link Sink#remove(String)}.
+ */
+public final class SwitchDetailsStreamReader {
+
+    private static final String SWITCH_DETAILS_FIELD = "switchDetails";
+    private static final String REMOVED_SWITCHES_FIELD = "removedSwitches";
+
+    // lenient about unknown fields, like the message converter used for the non-streaming fetch
+    private static final ObjectReader SWITCH_MODEL_READER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readerFor(SwitchModel.class);
+
+    private SwitchDetailsStreamReader() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Returns the number of switches passed to {@code sink}, updated and removed; {@code null} entries
+     * are skipped.
+     */
+    public static int read(InputStream body, Sink sink) throws IOException {
+        try (JsonParser parser = SWITCH_MODEL_READER.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return 0;
+            }
+
+            int count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (SWITCH_DETAILS_FIELD.equals(field) && value == JsonToken.START_OBJECT) {
+                    count += readSwitchDetails(parser, sink);
+                } else if (REMOVED_SWITCHES_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                    count += readRemovedSwitches(parser, sink);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return count;
+        }
+    }
+
+    private static int readSwitchDetails(JsonParser parser, Sink sink) throws IOException {
+        int count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String switchName = parser.currentName();
+            if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            sink.put(switchName, SWITCH_MODEL_READER.readValue(parser));
+            count++;
+        }
+        return count;
+    }
+
+    private static int readRemovedSwitches(JsonParser parser, Sink sink) throws IOException {
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.VALUE_STRING) {
+                sink.remove(parser.getText());
+                count++;
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Receives the switches of a response as they are parsed.
+     */
+    public interface Sink {
+
+        void put(String switchName, SwitchModel switchModel);
+
+        void remove(String switchName);
+    }
+}
@@ -0,0 +1,83 @@
+package in.switchhub.switchhub_sdk.util;
+
+import in.switchhub.switchhub_sdk.components.SharedDataStoreComponent;
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.models.CompiledSwitchModel;
+import in.switchhub.switchhub_sdk.models.SwitchSnapshotModel;
+
+import java.util.Map;
+
+/**
+ * Pre-resolved reference to a single switch, obtained from {@link SwitchUtil#handle(String)}.
+ *
+ * The handle caches the compiled switch together with the snapshot it came from. As long as the store
+ * has not published a new snapshot, an evaluation is one volatile read of the current snapshot, an
+ * identity check and the decision itself; after an update the switch is re-resolved once.
+ */
+public final class SwitchHandle {
+
+    private final String switchName;
+    private final SwitchUtil switchUtil;
+    private final SharedDataStoreComponent sharedDataStoreComponent;
+
+    // Resolved has only final fields, so a racy read always sees a fully constructed instance
+    private Resolved resolved;
+
+    SwitchHandle(String switchName, SwitchUtil switchUtil, SharedDataStoreComponent sharedDataStoreComponent) {
+        this.switchName = switchName;
+        this.switchUtil = switchUtil;
+        this.sharedDataStoreComponent = sharedDataStoreComponent;
+        SwitchSnapshotModel snapshot = sharedDataStoreComponent.getSnapshot();
+        this.resolved = new Resolved(snapshot, snapshot.getSwitch(switchName));
+    }
+
+    public String getSwitchName() {
+        return switchName;
+    }
+
+    public boolean getValue() {
+        return switchUtil.evaluate(switchName, resolve(), SwitchHubConstants.Switch.DEFAULT_KEY, null);
+    }
+
+    public boolean getValue(Map<String, String> contextMap) {
+        return switchUtil.evaluate(switchName, resolve(),
+                SwitchUtil.getContextKey(contextMap), SwitchUtil.getBucketingId(contextMap));
+    }
+
+    public boolean isEnabled(EvaluationContext context) {
+        if (context == null) {
+            return getValue();
+        }
+        return switchUtil.evaluate(switchName, resolve(), context.getContextKey(), context.getBucketingId());
+    }
+
+    CompiledSwitchModel resolve() {
+        return resolve(sharedDataStoreComponent.getSnapshot());
+    }
+
+    CompiledSwitchModel resolve(SwitchSnapshotModel snapshot) {
+        Resolved current = resolved;
+        if (current.snapshot != snapshot) {
+            current = new Resolved(snapshot, snapshot.getSwitch(switchName));
+            resolved = current;
+        }
+        return current.compiled;
+    }
+
+    @Override
+    public String toString() {
+        return "SwitchHandle{" +
+                "switchName='" + switchName + '\'' +
+                '}';
+    }
+
+    private static final class Resolved {
+        private final SwitchSnapshotModel snapshot;
+        private final CompiledSwitchModel compiled;
+
+        private Resolved(SwitchSnapshotModel snapshot, CompiledSwitchModel compiled) {
+            this.snapshot = snapshot;
+            this.compiled = compiled;
+        }
+    }
+}
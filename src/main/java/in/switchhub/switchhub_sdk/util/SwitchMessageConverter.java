@@ -0,0 +1,54 @@
+package in.switchhub.switchhub_sdk.util;
+
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads flag change messages whose content type is {@link SwitchHubConstants.RabbitMQ#BINARY_CONTENT_TYPE}
+ * with {@link SwitchModelCodec#decodeMessage(ByteBuffer)} and hands every other message to the fallback
+ * (JSON) converter, so publishers can switch formats one at a time. When binary encoding is enabled,
+ * {@link MessageModel}s are also written in the binary format.
+ */
+public class SwitchMessageConverter implements MessageConverter {
+
+    private final MessageConverter fallback;
+    private final boolean binaryEncoding;
+
+    public SwitchMessageConverter(MessageConverter fallback, boolean binaryEncoding) {
+        this.fallback = fallback;
+        this.binaryEncoding = binaryEncoding;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (!binaryEncoding || !(object instanceof MessageModel)) {
+            return fallback.toMessage(object, messageProperties);
+        }
+
+        byte[] body = SwitchModelCodec.encodeMessage((MessageModel) object);
+        messageProperties.setContentType(SwitchHubConstants.RabbitMQ.BINARY_CONTENT_TYPE);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        String contentType = message.getMessageProperties() == null ? null
+                : message.getMessageProperties().getContentType();
+        if (contentType == null || !contentType.startsWith(SwitchHubConstants.RabbitMQ.BINARY_CONTENT_TYPE)) {
+            return fallback.fromMessage(message);
+        }
+
+        try {
+            return SwitchModelCodec.decodeMessage(ByteBuffer.wrap(message.getBody()));
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException("Failed to decode binary flag change", e);
+        }
+    }
+}
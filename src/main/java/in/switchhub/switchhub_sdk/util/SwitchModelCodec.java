@@ -0,0 +1,294 @@
+package in.switchhub.switchhub_sdk.util;
+
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import in.switchhub.switchhub_sdk.models.PersistedSnapshotModel;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of a set of {@link SwitchModel}s.
+ *
+ * Layout: magic, format version, switch count, then per switch its key and fields, followed (since
+ * format version 2) by the count and key/value pairs of the sync tokens. Strings are
+ * length-prefixed UTF-8 with {@code -1} for {@code null}; maps are count-prefixed with {@code -1} for
+ * {@code null}. Decoding works directly on a {@link ByteBuffer}, so a memory-mapped file can be read
+ * without copying it first.
+ *
+ * Flag change messages use a leaner wire format (see {@link #encodeMessage(MessageModel)}): a format
+ * version byte, the message's switch name and the switch fields the SDK evaluates or orders by.
+ */
+public final class SwitchModelCodec {
+
+    public static final int MAGIC = 0x53484231; // "SHB1"
+    public static final int FORMAT_VERSION = 2;
+
+    public static final int MESSAGE_FORMAT_VERSION = 1;
+
+    private static final int FORMAT_VERSION_WITHOUT_SYNC_TOKENS = 1;
+
+    private static final int NULL_LENGTH = -1;
+
+    private SwitchModelCodec() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static byte[] encode(Map<String, SwitchModel> switchModels) {
+        return encode(switchModels, Map.of());
+    }
+
+    public static byte[] encode(Map<String, SwitchModel> switchModels, Map<String, String> syncTokens) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(switchModels.size());
+            for (Map.Entry<String, SwitchModel> entry : switchModels.entrySet()) {
+                writeString(out, entry.getKey());
+                writeSwitchModel(out, entry.getValue());
+            }
+            out.writeInt(syncTokens.size());
+            for (Map.Entry<String, String> entry : syncTokens.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the switches in {@code buffer}, starting at its position.
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a complete snapshot of a known format
+     */
+    public static Map<String, SwitchModel> decode(ByteBuffer buffer) {
+        return decodeSnapshot(buffer).getSwitches();
+    }
+
+    /**
+     * Decodes the switches and sync tokens in {@code buffer}, starting at its position. Snapshots written
+     * before sync tokens existed decode with none.
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a complete snapshot of a known format
+     */
+    public static PersistedSnapshotModel decodeSnapshot(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a SwitchHub snapshot");
+            }
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION && formatVersion != FORMAT_VERSION_WITHOUT_SYNC_TOKENS) {
+                throw new IllegalArgumentException("Unsupported snapshot format version: " + formatVersion);
+            }
+
+            int count = readCount(buffer);
+            Map<String, SwitchModel> switchModels = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String key = readString(buffer);
+                switchModels.put(key, readSwitchModel(buffer));
+            }
+
+            Map<String, String> syncTokens = new HashMap<>();
+            if (formatVersion != FORMAT_VERSION_WITHOUT_SYNC_TOKENS) {
+                int tokenCount = readCount(buffer);
+                for (int i = 0; i < tokenCount; i++) {
+                    String key = readString(buffer);
+                    String syncToken = readString(buffer);
+                    if (syncToken != null) {
+                        syncTokens.put(key, syncToken);
+                    }
+                }
+            }
+            return new PersistedSnapshotModel(switchModels, syncTokens);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated snapshot", e);
+        }
+    }
+
+    /**
+     * Encodes a flag change for the broker. The audit fields {@code createdBy}, {@code createdAt} and
+     * {@code updatedBy} are not written, as evaluation never reads them; {@code updatedAt} is kept for
+     * update ordering.
+     */
+    public static byte[] encodeMessage(MessageModel messageModel) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MESSAGE_FORMAT_VERSION);
+            writeString(out, messageModel.getSwitchName());
+            SwitchModel switchModel = messageModel.getSwitchDetails();
+            out.writeBoolean(switchModel != null);
+            if (switchModel != null) {
+                writeString(out, switchModel.getSwitchId());
+                writeString(out, switchModel.getSwitchName());
+                writeString(out, switchModel.getApplicationName());
+                out.writeBoolean(switchModel.isStatus());
+                writeMeteredStatus(out, switchModel.getMeteredStatus());
+                writeString(out, switchModel.getUpdatedAt());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a flag change written by {@link #encodeMessage(MessageModel)}, starting at the buffer's
+     * position.
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a complete message of a known format
+     */
+    public static MessageModel decodeMessage(ByteBuffer buffer) {
+        try {
+            int formatVersion = buffer.get();
+            if (formatVersion != MESSAGE_FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported message format version: " + formatVersion);
+            }
+
+            MessageModel messageModel = new MessageModel();
+            messageModel.setSwitchName(readString(buffer));
+            if (buffer.get() != 0) {
+                SwitchModel switchModel = new SwitchModel();
+                switchModel.setSwitchId(readString(buffer));
+                switchModel.setSwitchName(readString(buffer));
+                switchModel.setApplicationName(readString(buffer));
+                switchModel.setStatus(buffer.get() != 0);
+                switchModel.setMeteredStatus(readMeteredStatus(buffer));
+                switchModel.setUpdatedAt(readString(buffer));
+                messageModel.setSwitchDetails(switchModel);
+            }
+            return messageModel;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated message", e);
+        }
+    }
+
+    private static void writeSwitchModel(DataOutputStream out, SwitchModel switchModel) throws IOException {
+        out.writeBoolean(switchModel != null);
+        if (switchModel == null) {
+            return;
+        }
+        writeString(out, switchModel.getSwitchId());
+        writeString(out, switchModel.getSwitchName());
+        writeString(out, switchModel.getApplicationName());
+        out.writeBoolean(switchModel.isStatus());
+        writeMeteredStatus(out, switchModel.getMeteredStatus());
+        writeString(out, switchModel.getCreatedBy());
+        writeString(out, switchModel.getCreatedAt());
+        writeString(out, switchModel.getUpdatedBy());
+        writeString(out, switchModel.getUpdatedAt());
+    }
+
+    private static SwitchModel readSwitchModel(ByteBuffer buffer) {
+        if (buffer.get() == 0) {
+            return null;
+        }
+        SwitchModel switchModel = new SwitchModel();
+        switchModel.setSwitchId(readString(buffer));
+        switchModel.setSwitchName(readString(buffer));
+        switchModel.setApplicationName(readString(buffer));
+        switchModel.setStatus(buffer.get() != 0);
+        switchModel.setMeteredStatus(readMeteredStatus(buffer));
+        switchModel.setCreatedBy(readString(buffer));
+        switchModel.setCreatedAt(readString(buffer));
+        switchModel.setUpdatedBy(readString(buffer));
+        switchModel.setUpdatedAt(readString(buffer));
+        return switchModel;
+    }
+
+    private static void writeMeteredStatus(DataOutputStream out, Map<String, Map<String, Integer>> meteredStatus)
+            throws IOException {
+        if (meteredStatus == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        out.writeInt(meteredStatus.size());
+        for (Map.Entry<String, Map<String, Integer>> meteredEntry : meteredStatus.entrySet()) {
+            writeString(out, meteredEntry.getKey());
+            Map<String, Integer> metering = meteredEntry.getValue();
+            if (metering == null) {
+                out.writeInt(NULL_LENGTH);
+                continue;
+            }
+            out.writeInt(metering.size());
+            for (Map.Entry<String, Integer> entry : metering.entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeBoolean(entry.getValue() != null);
+                if (entry.getValue() != null) {
+                    out.writeInt(entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static Map<String, Map<String, Integer>> readMeteredStatus(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count == NULL_LENGTH) {
+            return null;
+        }
+        checkCount(buffer, count);
+        Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String meteredKey = readString(buffer);
+            int size = buffer.getInt();
+            if (size == NULL_LENGTH) {
+                meteredStatus.put(meteredKey, null);
+                continue;
+            }
+            checkCount(buffer, size);
+            Map<String, Integer> metering = new HashMap<>();
+            for (int j = 0; j < size; j++) {
+                String key = readString(buffer);
+                metering.put(key, buffer.get() != 0 ? buffer.getInt() : null);
+            }
+            meteredStatus.put(meteredKey, metering);
+        }
+        return meteredStatus;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Corrupt string length in snapshot: " + length);
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static int readCount(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        checkCount(buffer, count);
+        return count;
+    }
+
+    // every entry takes at least one byte, so a count above the remaining bytes means corruption
+    private static void checkCount(ByteBuffer buffer, int count) {
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IllegalArgumentException("Corrupt entry count in snapshot: " + count);
+        }
+    }
+}
@@ -1,47 +1,209 @@
 package in.switchhub.switchhub_sdk.util;
 
+import in.switchhub.switchhub_sdk.components.LazySwitchLoaderComponent;
+import in.switchhub.switchhub_sdk.components.MissingSwitchReporterComponent;
 import in.switchhub.switchhub_sdk.components.SharedDataStoreComponent;
+import in.switchhub.switchhub_sdk.components.SwitchMetricsComponent;
 import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
-import in.switchhub.switchhub_sdk.models.SwitchModel;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import in.switchhub.switchhub_sdk.models.CompiledSwitchModel;
+import in.switchhub.switchhub_sdk.models.SwitchSnapshotModel;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.BitSet;
+import java.util.List;
 import java.util.Map;
 
 @Component
 public class SwitchUtil {
 
-    private static final Logger log = LoggerFactory.getLogger(SwitchUtil.class);
-
     @Autowired
     private SharedDataStoreComponent sharedDataStoreComponent;
 
+    @Autowired(required = false)
+    private SwitchMetricsComponent switchMetricsComponent;
+
+    @Autowired(required = false)
+    private MissingSwitchReporterComponent missingSwitchReporterComponent;
+
+    @Autowired(required = false)
+    private LazySwitchLoaderComponent lazySwitchLoaderComponent;
+
     public boolean getSwitchValue(String switchName, Map<String, String> contextMap) {
-        if (!sharedDataStoreComponent.dataMapContainsKey(switchName)) {
-            log.error("{}: {}", SwitchHubConstants.ErrorMessages.SWITCH_NOT_FOUND_IN_MEMORY, switchName);
-            return false;
+        CompiledSwitchModel compiled = sharedDataStoreComponent.getCompiledSwitch(switchName);
+        return evaluate(switchName, compiled, getContextKey(contextMap), getBucketingId(contextMap));
+    }
+
+    /**
+     * Allocation-free variant of {@link #getSwitchValue(String, Map)}; a {@code null} context behaves
+     * like an empty one. It is not an overload so that existing {@code getSwitchValue(name, null)} calls
+     * stay unambiguous.
+     */
+    public boolean isEnabled(String switchName, EvaluationContext context) {
+        CompiledSwitchModel compiled = sharedDataStoreComponent.getCompiledSwitch(switchName);
+        if (context == null) {
+            return evaluate(switchName, compiled, SwitchHubConstants.Switch.DEFAULT_KEY, null);
+        }
+        return evaluate(switchName, compiled, context.getContextKey(), context.getBucketingId());
+    }
+
+    /**
+     * Returns a handle that callers can keep (for example in a static field) to evaluate
+     * {@code switchName} without a map lookup per call. The handle follows every store update.
+     */
+    public SwitchHandle handle(String switchName) {
+        return new SwitchHandle(switchName, this, sharedDataStoreComponent);
+    }
+
+    /**
+     * Evaluates every switch in {@code switchNames} for the same context against one snapshot, so the
+     * decisions are mutually consistent even if an update arrives mid-way. Bit {@code i} of the result is
+     * the decision for {@code switchNames.get(i)}; missing switches are {@code false}.
+     */
+    public BitSet evaluateAll(List<String> switchNames, EvaluationContext context) {
+        BitSet result = new BitSet(switchNames.size());
+        evaluateAll(switchNames, context, result);
+        return result;
+    }
+
+    /**
+     * Variant of {@link #evaluateAll(List, EvaluationContext)} that clears and fills a caller-owned
+     * {@code result}, so a request filter can reuse the same {@link BitSet} for every request.
+     */
+    public void evaluateAll(List<String> switchNames, EvaluationContext context, BitSet result) {
+        result.clear();
+        SwitchSnapshotModel snapshot = sharedDataStoreComponent.getSnapshot();
+        String contextKey = context == null ? SwitchHubConstants.Switch.DEFAULT_KEY : context.getContextKey();
+        String bucketingId = context == null ? null : context.getBucketingId();
+
+        for (int i = 0; i < switchNames.size(); i++) {
+            String switchName = switchNames.get(i);
+            CompiledSwitchModel compiled = snapshot.getSwitch(switchName);
+            if (compiled == null || compiled.getSwitchModel() == null) {
+                if (onMissing(switchName)) {
+                    result.set(i);
+                }
+            } else if (decide(switchName, compiled, contextKey, bucketingId)) {
+                result.set(i);
+            }
+        }
+    }
+
+    /**
+     * Handle-based variant of {@link #evaluateAll(List, EvaluationContext, BitSet)}: bit {@code i} is the
+     * decision for {@code handles[i]}, all resolved against the same snapshot.
+     */
+    public void evaluateAll(SwitchHandle[] handles, EvaluationContext context, BitSet result) {
+        result.clear();
+        SwitchSnapshotModel snapshot = sharedDataStoreComponent.getSnapshot();
+        String contextKey = context == null ? SwitchHubConstants.Switch.DEFAULT_KEY : context.getContextKey();
+        String bucketingId = context == null ? null : context.getBucketingId();
+
+        for (int i = 0; i < handles.length; i++) {
+            String switchName = handles[i].getSwitchName();
+            if (evaluate(switchName, handles[i].resolve(snapshot), contextKey, bucketingId)) {
+                result.set(i);
+            }
+        }
+    }
+
+    boolean evaluate(String switchName, CompiledSwitchModel compiled, String contextKey, String bucketingId) {
+        SwitchMetricsComponent metrics = switchMetricsComponent;
+        long sampleStart = metrics == null ? 0L : metrics.startSample();
+
+        boolean result;
+        if (compiled == null || compiled.getSwitchModel() == null) {
+            result = onMissing(switchName);
+        } else {
+            result = decide(switchName, compiled, contextKey, bucketingId);
+        }
+
+        if (sampleStart != 0L) {
+            metrics.stopSample(sampleStart);
         }
+        return result;
+    }
 
-        SwitchModel switchModel = sharedDataStoreComponent.getDataMap(switchName);
+    private boolean decide(String switchName, CompiledSwitchModel compiled, String contextKey, String bucketingId) {
+        if (!compiled.isStatus()) {
+            return record(compiled, SwitchHubConstants.Switch.DEFAULT_KEY, false, false);
+        }
 
-        if (!switchModel.isStatus()) {
-            return false;
+        if (!compiled.isMetered()) {
+            return record(compiled, SwitchHubConstants.Switch.DEFAULT_KEY, false, true);
         }
 
-        if (switchModel.getMeteredStatus() == null) {
-            return true;
+        if (bucketingId != null) {
+            return getBucketedValue(switchName, compiled, contextKey, bucketingId);
         }
+        return sharedDataStoreComponent.getNextWeight(switchName, compiled, contextKey);
+    }
 
-        String contextKey = getContextKey(contextMap);
-        return sharedDataStoreComponent.getNextWeight(switchName, contextKey);
+    /**
+     * Sticky evaluation: the same (switch, bucketing id) pair always lands in the same of 100 buckets,
+     * and the switch is on when that bucket falls below the metered true percentage.
+     */
+    static boolean isInBucket(String switchName, String bucketingId, int truePercentage) {
+        int hash = MurmurHash3.hash32(switchName, SwitchHubConstants.Switch.BUCKET_HASH_SEPARATOR,
+                bucketingId, SwitchHubConstants.Switch.BUCKET_HASH_SEED);
+        return Integer.remainderUnsigned(hash, SwitchHubConstants.Validation.PERCENTAGE_POOL_SIZE) < truePercentage;
     }
 
-    private String getContextKey(Map<String, String> contextMap) {
+    private boolean getBucketedValue(String switchName, CompiledSwitchModel compiled,
+                                     String contextKey, String bucketingId) {
+        Map<String, Integer> truePercentages = compiled.getTruePercentages();
+        Integer trueValue = truePercentages.get(contextKey);
+        boolean fallback = trueValue == null;
+        if (fallback) {
+            trueValue = truePercentages.get(SwitchHubConstants.Switch.DEFAULT_KEY);
+        }
+        boolean result = trueValue != null && isInBucket(switchName, bucketingId, trueValue);
+        return record(compiled, fallback ? SwitchHubConstants.Switch.DEFAULT_KEY : contextKey, fallback, result);
+    }
+
+    // returns the value a missing switch evaluates to, false unless lazy fetch configures another default
+    private boolean onMissing(String switchName) {
+        if (switchMetricsComponent != null) {
+            switchMetricsComponent.recordMissing(switchName);
+        }
+        if (missingSwitchReporterComponent != null) {
+            missingSwitchReporterComponent.recordMissingSwitch(switchName);
+        }
+        return lazySwitchLoaderComponent != null && lazySwitchLoaderComponent.onMissingSwitch(switchName);
+    }
+
+    private static boolean record(CompiledSwitchModel compiled, String meteredKey, boolean fallback, boolean result) {
+        SwitchCounters counters = compiled.getCounters();
+        if (counters != null) {
+            if (fallback) {
+                counters.recordFallback();
+            }
+            counters.record(meteredKey, result);
+        }
+        return result;
+    }
+
+    static String getContextKey(Map<String, String> contextMap) {
         if (contextMap != null && contextMap.containsKey(SwitchHubConstants.Switch.CONTEXT_SUB_KEY)) {
             return contextMap.get(SwitchHubConstants.Switch.CONTEXT_SUB_KEY);
         }
         return SwitchHubConstants.Switch.DEFAULT_KEY;
     }
+
+    /**
+     * Identifier sticky bucketing hashes: {@code bucketBy}, else {@code userId}, else {@code tenantId}.
+     */
+    static String getBucketingId(Map<String, String> contextMap) {
+        if (contextMap == null) {
+            return null;
+        }
+        String bucketingId = contextMap.get(SwitchHubConstants.Switch.CONTEXT_BUCKET_BY_KEY);
+        if (bucketingId == null) {
+            bucketingId = contextMap.get(SwitchHubConstants.Switch.CONTEXT_USER_ID_KEY);
+        }
+        if (bucketingId == null) {
+            bucketingId = contextMap.get(SwitchHubConstants.Switch.CONTEXT_TENANT_ID_KEY);
+        }
+        return bucketingId;
+    }
 }
@@ -0,0 +1,72 @@
+package in.switchhub.switchhub_sdk.util;
+
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Orders the states of a switch by their {@code updatedAt} timestamp, so an older state arriving after a
+ * newer one can be recognised and dropped. Accepted forms are epoch milliseconds and ISO-8601 date-times
+ * with or without an offset; a timestamp without an offset is taken as UTC.
+ */
+public final class SwitchVersion {
+
+    /**
+     * Version of a switch state without a usable timestamp. Such states are never considered stale and
+     * never make another state stale.
+     */
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
+    private SwitchVersion() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static long of(SwitchModel switchModel) {
+        return switchModel == null ? UNKNOWN : parse(switchModel.getUpdatedAt());
+    }
+
+    /**
+     * Returns whether a state of {@code version} is older than {@code currentVersion}. States with the
+     * same version are not stale, so a redelivered message is simply applied again.
+     */
+    public static boolean isStale(long version, long currentVersion) {
+        return version != UNKNOWN && currentVersion != UNKNOWN && version < currentVersion;
+    }
+
+    static long parse(String updatedAt) {
+        if (updatedAt == null || updatedAt.isBlank()) {
+            return UNKNOWN;
+        }
+
+        String value = updatedAt.trim();
+        if (isDigits(value)) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return UNKNOWN;
+            }
+        }
+        try {
+            return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // no offset, try a local date-time below
+        }
+        try {
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return UNKNOWN;
+        }
+    }
+
+    private static boolean isDigits(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -5,11 +5,20 @@ import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free weighted boolean source.
+ *
+ * A fixed set of shuffled pools is computed up front and never mutated afterwards. Each call claims
+ * the next slot with a single atomic increment, so every consecutive block of
+ * {@link SwitchHubConstants.Validation#PERCENTAGE_POOL_SIZE} draws (across all threads) contains exactly
+ * {@code truePercentage} true values, while successive blocks walk through different permutations.
+ */
 public class WeightedBooleanGenerator {
 
-    private final List<Boolean> values;
-    private int index = 0;
+    private final boolean[][] permutations;
+    private final AtomicLong cursor = new AtomicLong();
 
     public WeightedBooleanGenerator(int truePercentage) {
         if (truePercentage < SwitchHubConstants.Validation.MIN_PERCENTAGE ||
@@ -17,8 +26,7 @@ public class WeightedBooleanGenerator {
             throw new IllegalArgumentException(SwitchHubConstants.ErrorMessages.PERCENTAGE_OUT_OF_RANGE);
         }
 
-        values = new ArrayList<>(SwitchHubConstants.Validation.PERCENTAGE_POOL_SIZE);
-
+        List<Boolean> values = new ArrayList<>(SwitchHubConstants.Validation.PERCENTAGE_POOL_SIZE);
         for (int i = 0; i < truePercentage; i++) {
             values.add(true);
         }
@@ -26,14 +34,21 @@ public class WeightedBooleanGenerator {
             values.add(false);
         }
 
-        Collections.shuffle(values);
+        permutations = new boolean[SwitchHubConstants.Validation.PERCENTAGE_POOL_PERMUTATIONS][];
+        for (int p = 0; p < permutations.length; p++) {
+            Collections.shuffle(values);
+            boolean[] permutation = new boolean[values.size()];
+            for (int i = 0; i < permutation.length; i++) {
+                permutation[i] = values.get(i);
+            }
+            permutations[p] = permutation;
+        }
     }
 
     public boolean next() {
-        if (index >= values.size()) {
-            Collections.shuffle(values);
-            index = 0;
-        }
-        return values.get(index++);
+        long slot = cursor.getAndIncrement();
+        long block = slot / SwitchHubConstants.Validation.PERCENTAGE_POOL_SIZE;
+        int position = (int) (slot % SwitchHubConstants.Validation.PERCENTAGE_POOL_SIZE);
+        return permutations[(int) (block % permutations.length)][position];
     }
 }
@@ -0,0 +1,104 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BackendCircuitBreakerTest {
+
+    @Mock
+    private EnvConfig envConfig;
+
+    @InjectMocks
+    private BackendCircuitBreaker backendCircuitBreaker;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        backendCircuitBreaker.setNanoClock(now::get);
+    }
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        when(envConfig.getSwitchHubBackendCircuitBreakerFailureThreshold()).thenReturn(3);
+
+        backendCircuitBreaker.recordFailure();
+        backendCircuitBreaker.recordFailure();
+        assertTrue(backendCircuitBreaker.allowRequest());
+
+        backendCircuitBreaker.recordFailure();
+
+        assertEquals(BackendCircuitBreaker.State.OPEN, backendCircuitBreaker.getState());
+        when(envConfig.getSwitchHubBackendCircuitBreakerOpenMillis()).thenReturn(1_000L);
+        assertFalse(backendCircuitBreaker.allowRequest());
+    }
+
+    @Test
+    void testSuccessResetsFailureCount() {
+        when(envConfig.getSwitchHubBackendCircuitBreakerFailureThreshold()).thenReturn(2);
+
+        backendCircuitBreaker.recordFailure();
+        backendCircuitBreaker.recordSuccess();
+        backendCircuitBreaker.recordFailure();
+
+        assertEquals(BackendCircuitBreaker.State.CLOSED, backendCircuitBreaker.getState());
+    }
+
+    @Test
+    void testHalfOpenLetsOneTrialThrough() {
+        when(envConfig.getSwitchHubBackendCircuitBreakerFailureThreshold()).thenReturn(1);
+        when(envConfig.getSwitchHubBackendCircuitBreakerOpenMillis()).thenReturn(1_000L);
+        backendCircuitBreaker.recordFailure();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+
+        assertTrue(backendCircuitBreaker.allowRequest());
+        assertEquals(BackendCircuitBreaker.State.HALF_OPEN, backendCircuitBreaker.getState());
+        assertFalse(backendCircuitBreaker.allowRequest());
+
+        backendCircuitBreaker.recordSuccess();
+
+        assertEquals(BackendCircuitBreaker.State.CLOSED, backendCircuitBreaker.getState());
+        assertTrue(backendCircuitBreaker.allowRequest());
+    }
+
+    @Test
+    void testFailedTrialReopens() {
+        when(envConfig.getSwitchHubBackendCircuitBreakerFailureThreshold()).thenReturn(5);
+        when(envConfig.getSwitchHubBackendCircuitBreakerOpenMillis()).thenReturn(1_000L);
+        for (int i = 0; i < 5; i++) {
+            backendCircuitBreaker.recordFailure();
+        }
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_500));
+        assertTrue(backendCircuitBreaker.allowRequest());
+
+        backendCircuitBreaker.recordFailure();
+
+        assertEquals(BackendCircuitBreaker.State.OPEN, backendCircuitBreaker.getState());
+        assertFalse(backendCircuitBreaker.allowRequest());
+    }
+
+    @Test
+    void testDisabledWithZeroThreshold() {
+        when(envConfig.getSwitchHubBackendCircuitBreakerFailureThreshold()).thenReturn(0);
+
+        for (int i = 0; i < 10; i++) {
+            backendCircuitBreaker.recordFailure();
+        }
+
+        assertTrue(backendCircuitBreaker.allowRequest());
+        assertEquals(BackendCircuitBreaker.State.CLOSED, backendCircuitBreaker.getState());
+    }
+}
@@ -0,0 +1,95 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileUpdateSourceTest {
+
+    @Mock
+    private EnvConfig envConfig;
+
+    @Mock
+    private SwitchConsumer switchConsumer;
+
+    @InjectMocks
+    private FileUpdateSource fileUpdateSource;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        fileUpdateSource.close();
+    }
+
+    @Test
+    void testStart_AppliesExistingFile() throws IOException {
+        Path file = directory.resolve("switches.json");
+        Files.writeString(file, "{\"switchDetails\":{\"feature-1\":{\"switchId\":\"switch-1\",\"status\":true},"
+                + "\"feature-2\":null}}");
+        when(envConfig.getSwitchHubSdkUpdatesFilePath()).thenReturn(file.toString());
+
+        assertTrue(fileUpdateSource.start());
+
+        List<Message<MessageModel>> messages = captureMessages();
+        assertEquals(1, messages.size());
+        assertEquals("feature-1", messages.get(0).getPayload().getSwitchName());
+        assertTrue(messages.get(0).getPayload().getSwitchDetails().isStatus());
+    }
+
+    @Test
+    void testWatch_AppliesFileWrittenAfterStart() throws IOException {
+        Path file = directory.resolve("switches.json");
+        when(envConfig.getSwitchHubSdkUpdatesFilePath()).thenReturn(file.toString());
+
+        assertTrue(fileUpdateSource.start());
+        verifyNoInteractions(switchConsumer);
+        Files.writeString(file, "{\"switchDetails\":{\"feature-1\":{\"switchId\":\"switch-1\",\"status\":false}}}");
+
+        verify(switchConsumer, timeout(10_000).atLeastOnce()).onFlagChanges(anyList());
+    }
+
+    @Test
+    void testLoad_UnreadableFileIsSkipped() throws IOException {
+        Path file = directory.resolve("switches.json");
+        Files.writeString(file, "{\"switchDetails\":{\"feature-1\":");
+        when(envConfig.getSwitchHubSdkUpdatesFilePath()).thenReturn(file.toString());
+
+        assertTrue(fileUpdateSource.start());
+
+        verifyNoInteractions(switchConsumer);
+    }
+
+    @Test
+    void testStart_WithoutPathFails() {
+        when(envConfig.getSwitchHubSdkUpdatesFilePath()).thenReturn("");
+
+        assertFalse(fileUpdateSource.start());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Message<MessageModel>> captureMessages() {
+        ArgumentCaptor<List<Message<MessageModel>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(switchConsumer).onFlagChanges(captor.capture());
+        return captor.getValue();
+    }
+}
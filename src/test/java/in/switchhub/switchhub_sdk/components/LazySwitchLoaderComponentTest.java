@@ -0,0 +1,194 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.dtos.FetchSwitchRequestDto;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.util.SwitchDetailsStreamReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LazySwitchLoaderComponentTest {
+
+    @Mock
+    private EnvConfig envConfig;
+
+    @Mock
+    private SwitchHubApiComponent switchHubApiComponent;
+
+    @Spy
+    private SharedDataStoreComponent sharedDataStoreComponent;
+
+    @Mock
+    private SnapshotPersistenceComponent snapshotPersistenceComponent;
+
+    @Mock
+    private ScheduledExecutorService switchHubScheduler;
+
+    @InjectMocks
+    private LazySwitchLoaderComponent lazySwitchLoaderComponent;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(lazySwitchLoaderComponent, "switchHubWorkerExecutor", (Executor) Runnable::run);
+        lenient().when(envConfig.isSwitchHubSdkLazyFetchEnabled()).thenReturn(true);
+        lenient().when(envConfig.getSwitchHubSdkLazyFetchBatchWindowMillis()).thenReturn(10L);
+        lenient().when(envConfig.getSwitchHubSdkLazyFetchRetryAfterMillis()).thenReturn(60_000L);
+        lenient().when(envConfig.getSwitchHubSdkEnvironmentName()).thenReturn("production");
+        lenient().when(envConfig.getSwitchHubSdkApplicationName()).thenReturn("my-app");
+        lenient().when(envConfig.isSwitchHubSdkFetchStreaming()).thenReturn(true);
+    }
+
+    @Test
+    void testOnMissingSwitch_DisabledDoesNothing() {
+        when(envConfig.isSwitchHubSdkLazyFetchEnabled()).thenReturn(false);
+
+        assertFalse(lazySwitchLoaderComponent.onMissingSwitch("lazy-switch"));
+
+        verifyNoInteractions(switchHubScheduler, switchHubApiComponent);
+    }
+
+    @Test
+    void testOnMissingSwitch_ReturnsConfiguredDefault() {
+        when(envConfig.isSwitchHubSdkLazyFetchDefaultValue()).thenReturn(true);
+
+        assertTrue(lazySwitchLoaderComponent.onMissingSwitch("lazy-switch"));
+    }
+
+    @Test
+    void testOnMissingSwitch_CoalescesMissesIntoOneBatch() {
+        stubFetch("switch-a", "switch-b");
+
+        lazySwitchLoaderComponent.onMissingSwitch("switch-a");
+        lazySwitchLoaderComponent.onMissingSwitch("switch-a");
+        lazySwitchLoaderComponent.onMissingSwitch("switch-b");
+        lazySwitchLoaderComponent.onMissingSwitch("switch-a");
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(switchHubScheduler).schedule(flush.capture(), eq(10L), eq(TimeUnit.MILLISECONDS));
+        flush.getValue().run();
+
+        ArgumentCaptor<FetchSwitchRequestDto> request = ArgumentCaptor.forClass(FetchSwitchRequestDto.class);
+        verify(switchHubApiComponent).fetchSwitch(request.capture(), eq("production"), eq("my-app"), isNull(), any());
+        assertEquals(List.of("switch-a", "switch-b"), request.getValue().getSwitchNames());
+        assertNotNull(sharedDataStoreComponent.getCompiledSwitch("switch-a"));
+        assertNotNull(sharedDataStoreComponent.getCompiledSwitch("switch-b"));
+        verify(snapshotPersistenceComponent).scheduleSave();
+    }
+
+    @Test
+    void testOnMissingSwitch_SplitsBatchByChunkSize() {
+        when(envConfig.getSwitchHubSdkFetchChunkSize()).thenReturn(2);
+        stubFetch();
+
+        lazySwitchLoaderComponent.onMissingSwitch("switch-a");
+        lazySwitchLoaderComponent.onMissingSwitch("switch-b");
+        lazySwitchLoaderComponent.onMissingSwitch("switch-c");
+        lazySwitchLoaderComponent.flush();
+
+        verify(switchHubApiComponent, times(2)).fetchSwitch(any(), anyString(), anyString(), isNull(), any());
+    }
+
+    @Test
+    void testOnMissingSwitch_NotRequestedAgainUntilRetryAfter() {
+        stubFetch();
+
+        lazySwitchLoaderComponent.onMissingSwitch("unknown-switch");
+        lazySwitchLoaderComponent.flush();
+        lazySwitchLoaderComponent.onMissingSwitch("unknown-switch");
+        lazySwitchLoaderComponent.flush();
+
+        verify(switchHubApiComponent, times(1)).fetchSwitch(any(), anyString(), anyString(), isNull(), any());
+        verify(switchHubScheduler, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testOnMissingSwitch_RequestedAgainAfterRetryAfter() {
+        when(envConfig.getSwitchHubSdkLazyFetchRetryAfterMillis()).thenReturn(0L);
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString(), isNull(), any()))
+                .thenThrow(new RuntimeException("Connection refused"));
+
+        lazySwitchLoaderComponent.onMissingSwitch("lazy-switch");
+        lazySwitchLoaderComponent.flush();
+        lazySwitchLoaderComponent.onMissingSwitch("lazy-switch");
+        lazySwitchLoaderComponent.flush();
+
+        verify(switchHubApiComponent, times(2)).fetchSwitch(any(), anyString(), anyString(), isNull(), any());
+    }
+
+    @Test
+    void testFlush_PurgesExpiredRetryEntries() {
+        when(envConfig.getSwitchHubSdkLazyFetchRetryAfterMillis()).thenReturn(0L);
+        stubFetch();
+
+        lazySwitchLoaderComponent.onMissingSwitch("unknown-a");
+        lazySwitchLoaderComponent.flush();
+        lazySwitchLoaderComponent.onMissingSwitch("unknown-b");
+        lazySwitchLoaderComponent.flush();
+
+        Map<?, ?> retryAfterNanos = (Map<?, ?>) ReflectionTestUtils.getField(lazySwitchLoaderComponent, "retryAfterNanos");
+        assertEquals(Set.of("unknown-b"), retryAfterNanos.keySet());
+    }
+
+    @Test
+    void testRefresh_RefetchesLoadedSwitches() {
+        stubFetch("switch-a");
+        lazySwitchLoaderComponent.onMissingSwitch("switch-a");
+        lazySwitchLoaderComponent.onMissingSwitch("unknown-switch");
+        lazySwitchLoaderComponent.flush();
+        assertEquals(Set.of("switch-a"), lazySwitchLoaderComponent.getLoadedSwitches());
+
+        assertEquals(0, lazySwitchLoaderComponent.refresh());
+
+        ArgumentCaptor<FetchSwitchRequestDto> request = ArgumentCaptor.forClass(FetchSwitchRequestDto.class);
+        verify(switchHubApiComponent, times(2)).fetchSwitch(request.capture(), anyString(), anyString(), isNull(), any());
+        assertEquals(List.of("switch-a"), request.getAllValues().get(1).getSwitchNames());
+    }
+
+    @Test
+    void testRefresh_NothingLoadedDoesNotFetch() {
+        assertEquals(0, lazySwitchLoaderComponent.refresh());
+
+        verifyNoInteractions(switchHubApiComponent);
+    }
+
+    @Test
+    void testFlush_NothingPendingDoesNotFetch() {
+        lazySwitchLoaderComponent.flush();
+
+        verifyNoInteractions(switchHubApiComponent);
+    }
+
+    private void stubFetch(String... returned) {
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString(), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    SwitchDetailsStreamReader.Sink sink = invocation.getArgument(4);
+                    for (String switchName : returned) {
+                        SwitchModel switchModel = new SwitchModel();
+                        switchModel.setSwitchName(switchName);
+                        switchModel.setStatus(true);
+                        sink.put(switchName, switchModel);
+                    }
+                    return null;
+                });
+    }
+}
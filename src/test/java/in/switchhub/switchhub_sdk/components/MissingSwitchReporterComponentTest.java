@@ -0,0 +1,113 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MissingSwitchReporterComponentTest {
+
+    @Mock
+    private EnvConfig envConfig;
+
+    @Mock
+    private ScheduledExecutorService switchHubScheduler;
+
+    @InjectMocks
+    private MissingSwitchReporterComponent missingSwitchReporterComponent;
+
+    @Test
+    void testScheduleReports() {
+        when(envConfig.getSwitchHubSdkMissingSwitchReportIntervalSeconds()).thenReturn(30L);
+
+        missingSwitchReporterComponent.scheduleReports();
+
+        verify(switchHubScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(30L), eq(30L), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testScheduleReports_DisabledWithZeroInterval() {
+        when(envConfig.getSwitchHubSdkMissingSwitchReportIntervalSeconds()).thenReturn(0L);
+
+        missingSwitchReporterComponent.scheduleReports();
+
+        verifyNoInteractions(switchHubScheduler);
+    }
+
+    @Test
+    void testRecordMissingSwitch_CountsPerSwitch() {
+        missingSwitchReporterComponent.recordMissingSwitch("switch-a");
+        missingSwitchReporterComponent.recordMissingSwitch("switch-a");
+        missingSwitchReporterComponent.recordMissingSwitch("switch-b");
+
+        assertEquals(2, missingSwitchReporterComponent.getMissingSwitches().get("switch-a").getCount());
+        assertEquals(1, missingSwitchReporterComponent.getMissingSwitches().get("switch-b").getCount());
+    }
+
+    @Test
+    void testRecordMissingGenerator_CountsPerMeteredKey() {
+        missingSwitchReporterComponent.recordMissingGenerator("switch-a", "premium");
+        missingSwitchReporterComponent.recordMissingGenerator("switch-a", "premium");
+        missingSwitchReporterComponent.recordMissingGenerator("switch-a", null);
+
+        assertEquals(2, missingSwitchReporterComponent.getMissingGenerators("switch-a").get("premium").getCount());
+        assertEquals(1, missingSwitchReporterComponent.getMissingGenerators("switch-a").get("").getCount());
+        assertTrue(missingSwitchReporterComponent.getMissingGenerators("switch-b").isEmpty());
+    }
+
+    @Test
+    void testReport_ResetsCountsAndDropsIdleEntries() {
+        missingSwitchReporterComponent.recordMissingSwitch("switch-a");
+        missingSwitchReporterComponent.recordMissingGenerator("switch-b", "premium");
+
+        missingSwitchReporterComponent.report();
+
+        assertEquals(0, missingSwitchReporterComponent.getMissingSwitches().get("switch-a").getCount());
+        assertEquals(0, missingSwitchReporterComponent.getMissingGenerators("switch-b").get("premium").getCount());
+
+        missingSwitchReporterComponent.report();
+
+        assertTrue(missingSwitchReporterComponent.getMissingSwitches().isEmpty());
+        assertTrue(missingSwitchReporterComponent.getMissingGenerators("switch-b").isEmpty());
+    }
+
+    @Test
+    void testRecordMissingSwitch_Concurrent() throws Exception {
+        int threads = 8;
+        int hitsPerThread = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < hitsPerThread; i++) {
+                        missingSwitchReporterComponent.recordMissingSwitch("switch-a");
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals((long) threads * hitsPerThread,
+                missingSwitchReporterComponent.getMissingSwitches().get("switch-a").getCount());
+    }
+}
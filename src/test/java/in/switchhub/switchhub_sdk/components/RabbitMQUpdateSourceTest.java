@@ -0,0 +1,199 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.config.RabbitMQConfig;
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.util.SwitchMessageConverter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RabbitMQUpdateSourceTest {
+
+    @Mock
+    private SwitchConsumer switchConsumer;
+
+    @Mock
+    private CachingConnectionFactory rabbitMqconnectionFactory;
+
+    @Mock
+    private RabbitListenerEndpointRegistry rabbitListenerEndpointRegistry;
+
+    @Mock
+    private MessageListenerContainer listenerContainer;
+
+    @Spy
+    private MessageConverter switchHubMessageConverter = new SwitchMessageConverter(new Jackson2JsonMessageConverter(), false);
+
+    @Mock
+    private SwitchMetricsComponent switchMetricsComponent;
+
+    @InjectMocks
+    private RabbitMQUpdateSource rabbitMQUpdateSource;
+
+    @Test
+    void testStart_OpensBrokerConnectionAndStartsListener() {
+        when(rabbitListenerEndpointRegistry.getListenerContainer(SwitchHubConstants.RabbitMQ.LISTENER_ID))
+                .thenReturn(listenerContainer);
+
+        assertTrue(rabbitMQUpdateSource.start());
+
+        verify(rabbitMqconnectionFactory).createConnection();
+        verify(listenerContainer).start();
+    }
+
+    @Test
+    void testStart_ReportsUnreachableBrokerButStillStartsListener() {
+        when(rabbitMqconnectionFactory.createConnection())
+                .thenThrow(new AmqpConnectException(new ConnectException("Connection refused")));
+        when(rabbitListenerEndpointRegistry.getListenerContainer(SwitchHubConstants.RabbitMQ.LISTENER_ID))
+                .thenReturn(listenerContainer);
+
+        assertFalse(rabbitMQUpdateSource.start());
+
+        // the container retries on its own and consumes once the broker is reachable
+        verify(listenerContainer).start();
+    }
+
+    @Test
+    void testStart_DoesNotRestartRunningListener() {
+        when(rabbitListenerEndpointRegistry.getListenerContainer(SwitchHubConstants.RabbitMQ.LISTENER_ID))
+                .thenReturn(listenerContainer);
+        when(listenerContainer.isRunning()).thenReturn(true);
+
+        assertTrue(rabbitMQUpdateSource.start());
+
+        verify(listenerContainer, never()).start();
+    }
+
+    @Test
+    void testOnFlagChanges_FeedsSharedPipeline() {
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(SwitchHubConstants.RabbitMQ.SEQUENCE_HEADER, 7L);
+        properties.setRedelivered(true);
+
+        rabbitMQUpdateSource.onFlagChanges(List.of(delivery("feature-1", properties)));
+
+        List<Message<MessageModel>> messages = captureMessages();
+        assertEquals(1, messages.size());
+        assertEquals("feature-1", messages.get(0).getPayload().getSwitchName());
+        assertEquals(7L, messages.get(0).getHeaders().get(SwitchHubConstants.RabbitMQ.SEQUENCE_HEADER));
+        assertEquals(Boolean.TRUE, messages.get(0).getHeaders().get(AmqpHeaders.REDELIVERED));
+    }
+
+    @Test
+    void testOnFlagChanges_PoisonedBatchKeepsReadableMessages() {
+        MessageProperties poisonProperties = new MessageProperties();
+        poisonProperties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        org.springframework.amqp.core.Message poison = new org.springframework.amqp.core.Message(
+                "{not json".getBytes(StandardCharsets.UTF_8), poisonProperties);
+
+        rabbitMQUpdateSource.onFlagChanges(List.of(
+                delivery("feature-1", new MessageProperties()), poison, delivery("feature-2", new MessageProperties())));
+
+        List<Message<MessageModel>> messages = captureMessages();
+        assertEquals(List.of("feature-1", "feature-2"),
+                messages.stream().map(message -> message.getPayload().getSwitchName()).toList());
+        verify(switchMetricsComponent).recordInvalid(1);
+    }
+
+    @Test
+    void testOnFlagChanges_OnlyUnreadableMessagesAppliesNothing() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(SwitchHubConstants.RabbitMQ.BINARY_CONTENT_TYPE);
+
+        rabbitMQUpdateSource.onFlagChanges(List.of(new org.springframework.amqp.core.Message(new byte[] {1}, properties)));
+
+        verifyNoInteractions(switchConsumer);
+        verify(switchMetricsComponent).recordInvalid(1);
+    }
+
+    @Test
+    void testContextRefresh_DoesNotStartListenerContainer() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getBeanFactory().registerSingleton("switchConsumer", switchConsumer);
+            context.register(ListenerConfig.class, RabbitMQUpdateSource.class);
+            context.refresh();
+
+            MessageListenerContainer container = context.getBean(RabbitListenerEndpointRegistry.class)
+                    .getListenerContainer(SwitchHubConstants.RabbitMQ.LISTENER_ID);
+            assertNotNull(container);
+            assertFalse(container.isRunning());
+        }
+    }
+
+    private static org.springframework.amqp.core.Message delivery(String switchName, MessageProperties properties) {
+        return new Jackson2JsonMessageConverter().toMessage(new MessageModel(switchName, new SwitchModel()), properties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Message<MessageModel>> captureMessages() {
+        ArgumentCaptor<List<Message<MessageModel>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(switchConsumer).onFlagChanges(captor.capture());
+        return captor.getValue();
+    }
+
+    @Configuration
+    @EnableRabbit
+    static class ListenerConfig {
+
+        // not a bean, so the test context needs no EnvConfig
+        private final RabbitMQConfig rabbitMQConfig = new RabbitMQConfig();
+
+        ListenerConfig() {
+            ReflectionTestUtils.setField(rabbitMQConfig, "envConfig", mock(EnvConfig.class));
+        }
+
+        @Bean
+        CachingConnectionFactory rabbitMqconnectionFactory() {
+            // nothing listens on this port, so a container started during refresh would fail to connect
+            return new CachingConnectionFactory("localhost", 1);
+        }
+
+        @Bean
+        Queue queue() {
+            return new Queue("queue.test.dev", false);
+        }
+
+        @Bean
+        MessageConverter switchHubMessageConverter() {
+            return rabbitMQConfig.switchHubMessageConverter();
+        }
+
+        @Bean
+        SimpleRabbitListenerContainerFactory switchHubListenerContainerFactory(CachingConnectionFactory rabbitMqconnectionFactory,
+                                                                               MessageConverter switchHubMessageConverter) {
+            return rabbitMQConfig.switchHubListenerContainerFactory(rabbitMqconnectionFactory, switchHubMessageConverter);
+        }
+    }
+}
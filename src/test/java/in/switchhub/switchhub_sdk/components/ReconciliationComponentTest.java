@@ -0,0 +1,162 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReconciliationComponentTest {
+
+    @Mock
+    private EnvConfig envConfig;
+
+    @Mock
+    private StartupComponent startupComponent;
+
+    @Mock
+    private LazySwitchLoaderComponent lazySwitchLoaderComponent;
+
+    @Mock
+    private SwitchMetricsComponent switchMetricsComponent;
+
+    @Mock
+    private ScheduledExecutorService switchHubScheduler;
+
+    @InjectMocks
+    private ReconciliationComponent reconciliationComponent;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reconciliationComponent, "switchHubWorkerExecutor", (Executor) Runnable::run);
+    }
+
+    @Test
+    void testScheduleReconciliation_FirstRunWithinOneInterval() {
+        when(envConfig.getSwitchHubSdkReconciliationIntervalSeconds()).thenReturn(60L);
+
+        reconciliationComponent.scheduleReconciliation();
+
+        ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        verify(switchHubScheduler).schedule(any(Runnable.class), delay.capture(), eq(TimeUnit.MILLISECONDS));
+        assertTrue(delay.getValue() >= 1 && delay.getValue() <= 60_000, "delay " + delay.getValue());
+    }
+
+    @Test
+    void testScheduleReconciliation_DisabledWithZeroInterval() {
+        when(envConfig.getSwitchHubSdkReconciliationIntervalSeconds()).thenReturn(0L);
+
+        reconciliationComponent.scheduleReconciliation();
+
+        verifyNoInteractions(switchHubScheduler);
+    }
+
+    @Test
+    void testScheduleReconciliation_DisabledForFileSource() {
+        when(envConfig.getSwitchHubSdkUpdatesSource()).thenReturn("file");
+
+        reconciliationComponent.scheduleReconciliation();
+
+        verifyNoInteractions(switchHubScheduler, startupComponent, lazySwitchLoaderComponent);
+    }
+
+    @Test
+    void testScheduledRun_ReconcilesOnWorkerAndReschedules() {
+        when(envConfig.getSwitchHubSdkReconciliationIntervalSeconds()).thenReturn(60L);
+        when(startupComponent.fetchSwitches(any(AtomicInteger.class))).thenReturn(true);
+        reconciliationComponent.scheduleReconciliation();
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(switchHubScheduler).schedule(task.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        task.getValue().run();
+
+        verify(startupComponent).fetchSwitches(any(AtomicInteger.class));
+        verify(switchHubScheduler, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testScheduledRun_ReschedulesAfterFailure() {
+        when(envConfig.getSwitchHubSdkReconciliationIntervalSeconds()).thenReturn(60L);
+        when(startupComponent.fetchSwitches(any(AtomicInteger.class))).thenThrow(new RuntimeException("boom"));
+        reconciliationComponent.scheduleReconciliation();
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(switchHubScheduler).schedule(task.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        assertDoesNotThrow(() -> task.getValue().run());
+        verify(switchHubScheduler, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testReconcile_RecordsDrift() {
+        when(startupComponent.fetchSwitches(any(AtomicInteger.class))).thenAnswer(invocation -> {
+            invocation.<AtomicInteger>getArgument(0).addAndGet(3);
+            return true;
+        });
+
+        assertEquals(3, reconciliationComponent.reconcile());
+
+        verify(switchMetricsComponent).recordDrift(3);
+    }
+
+    @Test
+    void testReconcile_IncludesLazilyLoadedSwitches() {
+        when(startupComponent.fetchSwitches(any(AtomicInteger.class))).thenReturn(true);
+        when(lazySwitchLoaderComponent.refresh()).thenReturn(2);
+
+        assertEquals(2, reconciliationComponent.reconcile());
+
+        verify(switchMetricsComponent).recordDrift(2);
+    }
+
+    @Test
+    void testReconcile_NoDrift() {
+        when(startupComponent.fetchSwitches(any(AtomicInteger.class))).thenReturn(false);
+
+        assertEquals(0, reconciliationComponent.reconcile());
+
+        verifyNoInteractions(switchMetricsComponent);
+    }
+
+    @Test
+    void testNextDelayMillis_StaysWithinJitter() {
+        when(envConfig.getSwitchHubSdkReconciliationIntervalSeconds()).thenReturn(100L);
+        when(envConfig.getSwitchHubSdkReconciliationJitter()).thenReturn(0.2);
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < 1_000; i++) {
+            long delay = reconciliationComponent.nextDelayMillis();
+            min = Math.min(min, delay);
+            max = Math.max(max, delay);
+        }
+
+        assertTrue(min >= 80_000, "min " + min);
+        assertTrue(max <= 120_000, "max " + max);
+        // spread out, not a fixed period
+        assertTrue(max - min > 20_000, "spread " + (max - min));
+    }
+
+    @Test
+    void testNextDelayMillis_NoJitter() {
+        when(envConfig.getSwitchHubSdkReconciliationIntervalSeconds()).thenReturn(10L);
+        when(envConfig.getSwitchHubSdkReconciliationJitter()).thenReturn(0.0);
+
+        assertEquals(10_000, reconciliationComponent.nextDelayMillis());
+    }
+}
@@ -0,0 +1,190 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SequenceTrackerComponentTest {
+
+    @Mock
+    private EnvConfig envConfig;
+
+    @Mock
+    private ReconciliationComponent reconciliationComponent;
+
+    @Mock
+    private ScheduledExecutorService switchHubScheduler;
+
+    @InjectMocks
+    private SequenceTrackerComponent sequenceTrackerComponent;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(sequenceTrackerComponent, "switchHubWorkerExecutor", (Executor) Runnable::run);
+        when(envConfig.getSwitchHubSdkConsumerSequenceMaxTrackedGap()).thenReturn(10L);
+    }
+
+    @Test
+    void testAccept_ConsecutiveSequencesNeedNoResync() {
+        assertTrue(accept(5));
+        assertTrue(accept(6));
+        assertTrue(accept(7));
+
+        verifyNoInteractions(switchHubScheduler, reconciliationComponent);
+        assertEquals(0, sequenceTrackerComponent.getGaps());
+        assertEquals(0, sequenceTrackerComponent.getDuplicates());
+    }
+
+    @Test
+    void testAccept_DuplicateIsRejected() {
+        accept(1);
+        accept(2);
+
+        assertFalse(accept(2));
+        assertFalse(accept(1));
+        assertEquals(2, sequenceTrackerComponent.getDuplicates());
+        verifyNoInteractions(reconciliationComponent);
+    }
+
+    @Test
+    void testAccept_HoleFilledWithinGracePeriodDoesNotResync() {
+        when(envConfig.getSwitchHubSdkConsumerSequenceGapGraceMillis()).thenReturn(0L);
+        accept(1);
+
+        assertTrue(accept(3));
+        assertTrue(accept(2));
+        assertFalse(accept(2));
+        scheduledCheck().run();
+
+        verifyNoInteractions(reconciliationComponent);
+        assertEquals(0, sequenceTrackerComponent.getGaps());
+    }
+
+    @Test
+    void testCheckGaps_HoleStillOpenAfterGracePeriodResyncs() {
+        when(envConfig.getSwitchHubSdkConsumerSequenceGapGraceMillis()).thenReturn(0L);
+        accept(1);
+        accept(4);
+
+        scheduledCheck().run();
+
+        verify(reconciliationComponent).reconcile();
+        assertEquals(1, sequenceTrackerComponent.getGaps());
+        // the resync already covered the lost numbers, so a late arrival is skipped
+        assertFalse(accept(2));
+    }
+
+    @Test
+    void testCheckGaps_KeepsHolesYoungerThanGracePeriod() {
+        when(envConfig.getSwitchHubSdkConsumerSequenceGapGraceMillis()).thenReturn(60_000L);
+        accept(1);
+        accept(3);
+
+        sequenceTrackerComponent.checkGaps();
+
+        verifyNoInteractions(reconciliationComponent);
+        assertTrue(accept(2));
+    }
+
+    @Test
+    void testAccept_JumpBeyondMaxTrackedGapResyncsImmediately() {
+        accept(1);
+
+        assertTrue(accept(100));
+
+        verify(reconciliationComponent).reconcile();
+        verifyNoInteractions(switchHubScheduler);
+        assertEquals(1, sequenceTrackerComponent.getGaps());
+    }
+
+    @Test
+    void testAccept_SequenceRestartResyncsAndTracksFromNewValue() {
+        accept(500);
+
+        assertTrue(accept(1));
+        assertTrue(accept(2));
+
+        verify(reconciliationComponent).reconcile();
+        assertFalse(accept(2));
+    }
+
+    @Test
+    void testResync_FailureIsLoggedAndNextGapResyncsAgain() {
+        when(reconciliationComponent.reconcile()).thenThrow(new RuntimeException("backend down")).thenReturn(0);
+        accept(1);
+
+        assertDoesNotThrow(() -> accept(100));
+        accept(200);
+
+        verify(reconciliationComponent, times(2)).reconcile();
+    }
+
+    @Test
+    void testResync_RequestsWhileQueuedAreCoalesced() {
+        List<Runnable> queued = new ArrayList<>();
+        ReflectionTestUtils.setField(sequenceTrackerComponent, "switchHubWorkerExecutor", (Executor) queued::add);
+        accept(1);
+
+        accept(100);
+        accept(200);
+
+        assertEquals(1, queued.size());
+        queued.get(0).run();
+        verify(reconciliationComponent).reconcile();
+
+        accept(300);
+        assertEquals(2, queued.size());
+    }
+
+    @Test
+    void testIsDuplicate_DoesNotRecordTheNumber() {
+        accept(1);
+
+        assertFalse(sequenceTrackerComponent.isDuplicate(2));
+        assertFalse(sequenceTrackerComponent.isDuplicate(2));
+        assertEquals(0, sequenceTrackerComponent.getDuplicates());
+    }
+
+    @Test
+    void testIsTracking_OnlyWhenThisInstanceSeesEveryMessage() {
+        reset(envConfig);
+        assertFalse(sequenceTrackerComponent.isTracking());
+
+        when(envConfig.getSwitchHubSdkUpdatesSource()).thenReturn("sse");
+        assertTrue(sequenceTrackerComponent.isTracking());
+
+        when(envConfig.isSwitchHubSdkConsumerBroadcastEnabled()).thenReturn(true);
+        assertTrue(sequenceTrackerComponent.isTracking());
+    }
+
+    // what SwitchConsumer does around a successful apply
+    private boolean accept(long sequence) {
+        if (sequenceTrackerComponent.isDuplicate(sequence)) {
+            return false;
+        }
+        sequenceTrackerComponent.commit(sequence);
+        return true;
+    }
+
+    private Runnable scheduledCheck() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(switchHubScheduler).schedule(task.capture(), eq(0L), eq(TimeUnit.MILLISECONDS));
+        return task.getValue();
+    }
+}
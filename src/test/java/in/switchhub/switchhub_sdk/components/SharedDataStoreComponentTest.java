@@ -1,12 +1,20 @@
 package in.switchhub.switchhub_sdk.components;
 
+import in.switchhub.switchhub_sdk.models.CompiledSwitchModel;
 import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.models.SwitchSnapshotModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 class SharedDataStoreComponentTest {
 
@@ -309,4 +317,360 @@ class SharedDataStoreComponentTest {
             sharedDataStoreComponent.resetWeightedMeteredMap("non-existent");
         });
     }
+
+    @Test
+    void testPutDataMap_CompilesDefaultGeneratorForNonMeteredSwitch() {
+        SwitchModel switchModel = new SwitchModel();
+        switchModel.setStatus(true);
+
+        sharedDataStoreComponent.putDataMap("plain-switch", switchModel);
+
+        assertTrue(sharedDataStoreComponent.weightedMeteredMapContainsKey("plain-switch"));
+        assertTrue(sharedDataStoreComponent.getNextWeight("plain-switch", "default"));
+    }
+
+    @Test
+    void testPutDataMap_CompilesMeteredGenerators() {
+        Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
+        meteredStatus.put("default", Map.of("trueValue", 0));
+        meteredStatus.put("premium", Map.of("trueValue", 100));
+        meteredStatus.put("invalid", Map.of("otherKey", 60));
+
+        SwitchModel switchModel = new SwitchModel();
+        switchModel.setStatus(true);
+        switchModel.setMeteredStatus(meteredStatus);
+
+        sharedDataStoreComponent.putDataMap("metered-switch", switchModel);
+
+        CompiledSwitchModel compiled = sharedDataStoreComponent.getCompiledSwitch("metered-switch");
+        assertTrue(compiled.isMetered());
+        assertTrue(compiled.isStatus());
+        assertEquals(Map.of("default", 0, "premium", 100), compiled.getTruePercentages());
+        assertFalse(sharedDataStoreComponent.getNextWeight("metered-switch", "default"));
+        assertTrue(sharedDataStoreComponent.getNextWeight("metered-switch", "premium"));
+        // Keys without a trueValue get no generator and fall back to default
+        assertFalse(sharedDataStoreComponent.getNextWeight("metered-switch", "invalid"));
+    }
+
+    @Test
+    void testPutDataMap_ReplacesGeneratorsInOneStep() {
+        SwitchModel first = new SwitchModel();
+        first.setMeteredStatus(Map.of("old-key", Map.of("trueValue", 100)));
+        sharedDataStoreComponent.putDataMap("feature", first);
+
+        SwitchModel second = new SwitchModel();
+        second.setMeteredStatus(Map.of("new-key", Map.of("trueValue", 100)));
+        sharedDataStoreComponent.putDataMap("feature", second);
+
+        CompiledSwitchModel compiled = sharedDataStoreComponent.getCompiledSwitch("feature");
+        assertSame(second, compiled.getSwitchModel());
+        assertEquals(Map.of("new-key", 100), compiled.getTruePercentages());
+    }
+
+    @Test
+    void testPutDataMap_NullModelIgnored() {
+        sharedDataStoreComponent.putDataMap("feature", null);
+
+        assertFalse(sharedDataStoreComponent.dataMapContainsKey("feature"));
+        assertEquals(0L, sharedDataStoreComponent.getVersion());
+    }
+
+    @Test
+    void testPutAllDataMap_PublishesSingleVersion() {
+        Map<String, SwitchModel> switches = new HashMap<>();
+        switches.put("feature-1", new SwitchModel());
+        switches.put("feature-2", new SwitchModel());
+        switches.put("feature-3", new SwitchModel());
+
+        sharedDataStoreComponent.putAllDataMap(switches);
+
+        assertEquals(1L, sharedDataStoreComponent.getVersion());
+        assertEquals(3, sharedDataStoreComponent.dataMapGetAll().size());
+    }
+
+    @Test
+    void testBeginUpdate_PublishesOnlyOnPublish() {
+        SharedDataStoreComponent.Update update = sharedDataStoreComponent.beginUpdate();
+        update.put("feature-1", new SwitchModel());
+        update.put("feature-2", null);
+        update.put("feature-3", new SwitchModel());
+
+        assertEquals(2, update.size());
+        assertEquals(0L, sharedDataStoreComponent.getVersion());
+        assertFalse(sharedDataStoreComponent.dataMapContainsKey("feature-1"));
+
+        update.publish();
+
+        assertEquals(1L, sharedDataStoreComponent.getVersion());
+        assertTrue(sharedDataStoreComponent.dataMapContainsKey("feature-1"));
+        assertTrue(sharedDataStoreComponent.dataMapContainsKey("feature-3"));
+        assertTrue(sharedDataStoreComponent.getCompiledSwitch("feature-1").getGenerators().containsKey("default"));
+    }
+
+    @Test
+    void testBeginUpdate_RemovesAndPutsInOneVersion() {
+        sharedDataStoreComponent.putAllDataMap(Map.of("feature-1", new SwitchModel(), "feature-2", new SwitchModel()));
+
+        SharedDataStoreComponent.Update update = sharedDataStoreComponent.beginUpdate();
+        update.remove("feature-1");
+        update.put("feature-3", new SwitchModel());
+        update.publish();
+
+        assertEquals(2L, sharedDataStoreComponent.getVersion());
+        assertEquals(Set.of("feature-2", "feature-3"), sharedDataStoreComponent.dataMapGetAll().keySet());
+        assertEquals(1, update.removedSize());
+    }
+
+    @Test
+    void testBeginUpdate_PublishesSyncTokensWithSwitches() {
+        SharedDataStoreComponent.Update update = sharedDataStoreComponent.beginUpdate();
+        update.put("feature-1", new SwitchModel());
+        update.setSyncToken("chunk-1", "\"v1\"");
+        update.publish();
+
+        SwitchSnapshotModel snapshot = sharedDataStoreComponent.getSnapshot();
+        assertEquals("\"v1\"", snapshot.getSyncToken("chunk-1"));
+        assertNotNull(snapshot.getSwitch("feature-1"));
+
+        SharedDataStoreComponent.Update clear = sharedDataStoreComponent.beginUpdate();
+        clear.setSyncToken("chunk-1", null);
+        clear.publish();
+
+        assertNull(sharedDataStoreComponent.getSyncToken("chunk-1"));
+        assertTrue(sharedDataStoreComponent.dataMapContainsKey("feature-1"));
+    }
+
+    @Test
+    void testSyncTokensSurviveOtherUpdates() {
+        sharedDataStoreComponent.putAllDataMap(Map.of("feature-1", new SwitchModel()), Map.of("chunk-1", "\"v1\""));
+
+        sharedDataStoreComponent.putDataMap("feature-2", new SwitchModel());
+        sharedDataStoreComponent.dataMapRemove("feature-1");
+
+        assertEquals(Map.of("chunk-1", "\"v1\""), sharedDataStoreComponent.getSyncTokens());
+    }
+
+    @Test
+    void testBeginUpdate_CountsChangedSwitches() {
+        SwitchModel unchanged = new SwitchModel();
+        unchanged.setSwitchId("switch-1");
+        SwitchModel stale = new SwitchModel();
+        stale.setSwitchId("switch-2");
+        sharedDataStoreComponent.putAllDataMap(Map.of("feature-1", unchanged, "feature-2", stale));
+
+        SwitchModel sameAsStored = new SwitchModel();
+        sameAsStored.setSwitchId("switch-1");
+        SwitchModel updated = new SwitchModel();
+        updated.setSwitchId("switch-2");
+        updated.setStatus(true);
+
+        SharedDataStoreComponent.Update update = sharedDataStoreComponent.beginUpdate();
+        update.put("feature-1", sameAsStored);
+        update.put("feature-2", updated);
+        update.put("feature-3", new SwitchModel());
+        update.remove("feature-4");
+
+        // feature-2 changed and feature-3 is new; feature-1 is identical and feature-4 never existed
+        assertEquals(2, update.changedSize());
+    }
+
+    @Test
+    void testBeginUpdate_EmptyUpdateDoesNotPublish() {
+        sharedDataStoreComponent.beginUpdate().publish();
+
+        assertEquals(0L, sharedDataStoreComponent.getVersion());
+    }
+
+    @Test
+    void testVersion_IncreasesMonotonically() {
+        assertEquals(0L, sharedDataStoreComponent.getVersion());
+
+        sharedDataStoreComponent.putDataMap("feature", new SwitchModel());
+        sharedDataStoreComponent.registerWeights("feature", "premium", 50);
+        sharedDataStoreComponent.resetWeightedMeteredMap("feature");
+        sharedDataStoreComponent.dataMapRemove("feature");
+
+        assertEquals(4L, sharedDataStoreComponent.getVersion());
+    }
+
+    @Test
+    void testSnapshot_IsImmutableAfterPublish() {
+        SwitchModel switchModel = new SwitchModel();
+        switchModel.setSwitchId("switch-1");
+        sharedDataStoreComponent.putDataMap("feature-1", switchModel);
+
+        SwitchSnapshotModel before = sharedDataStoreComponent.getSnapshot();
+
+        sharedDataStoreComponent.putDataMap("feature-2", new SwitchModel());
+        sharedDataStoreComponent.dataMapRemove("feature-1");
+
+        assertEquals(1, before.getSwitches().size());
+        assertSame(switchModel, before.getSwitch("feature-1").getSwitchModel());
+        assertNull(before.getSwitch("feature-2"));
+        assertThrows(UnsupportedOperationException.class, () -> before.getSwitches().remove("feature-1"));
+        assertThrows(UnsupportedOperationException.class, () -> sharedDataStoreComponent.dataMapGetAll().clear());
+    }
+
+    @Test
+    void testConcurrentReadersNeverSeeSwitchWithoutGenerators() throws Exception {
+        SwitchModel switchModel = new SwitchModel();
+        switchModel.setStatus(true);
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 100)));
+        sharedDataStoreComponent.putDataMap("feature", switchModel);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger inconsistentReads = new AtomicInteger();
+
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                CompiledSwitchModel compiled = sharedDataStoreComponent.getCompiledSwitch("feature");
+                if (compiled == null || compiled.getGenerators().isEmpty()
+                        || !sharedDataStoreComponent.getNextWeight("feature", "default")) {
+                    inconsistentReads.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < 2_000; i++) {
+            SwitchModel update = new SwitchModel();
+            update.setStatus(true);
+            update.setMeteredStatus(Map.of("default", Map.of("trueValue", 100)));
+            sharedDataStoreComponent.putDataMap("feature", update);
+        }
+
+        running.set(false);
+        reader.join();
+
+        assertEquals(0, inconsistentReads.get());
+    }
+
+    @Test
+    void testPutDataMap_DropsOlderState() {
+        sharedDataStoreComponent.putDataMap("test-switch", versioned(true, "2024-05-01T10:00:00Z"));
+        long version = sharedDataStoreComponent.getVersion();
+
+        sharedDataStoreComponent.putDataMap("test-switch", versioned(false, "2024-05-01T09:00:00Z"));
+
+        assertTrue(sharedDataStoreComponent.getDataMap("test-switch").isStatus());
+        assertEquals(version, sharedDataStoreComponent.getVersion());
+    }
+
+    @Test
+    void testPutDataMap_AppliesSameOrNewerOrUnversionedState() {
+        sharedDataStoreComponent.putDataMap("test-switch", versioned(true, "2024-05-01T10:00:00Z"));
+
+        sharedDataStoreComponent.putDataMap("test-switch", versioned(false, "2024-05-01T10:00:00Z"));
+        assertFalse(sharedDataStoreComponent.getDataMap("test-switch").isStatus());
+
+        sharedDataStoreComponent.putDataMap("test-switch", versioned(true, "2024-05-01T11:00:00Z"));
+        assertTrue(sharedDataStoreComponent.getDataMap("test-switch").isStatus());
+
+        sharedDataStoreComponent.putDataMap("test-switch", versioned(false, null));
+        assertFalse(sharedDataStoreComponent.getDataMap("test-switch").isStatus());
+    }
+
+    @Test
+    void testUpdate_NewestStateInBatchWins() {
+        SharedDataStoreComponent.Update update = sharedDataStoreComponent.beginUpdate();
+        update.put("test-switch", versioned(true, "2024-05-01T11:00:00Z"));
+        update.put("test-switch", versioned(false, "2024-05-01T10:00:00Z"));
+        update.publish();
+
+        assertTrue(sharedDataStoreComponent.getDataMap("test-switch").isStatus());
+        assertEquals(1, update.staleSize());
+        assertEquals(1, update.changedSize());
+    }
+
+    @Test
+    void testUpdate_DropsStateOverwrittenWhileFilling() {
+        SharedDataStoreComponent.Update startupFetch = sharedDataStoreComponent.beginUpdate();
+        startupFetch.put("test-switch", versioned(false, "2024-05-01T10:00:00Z"));
+        startupFetch.put("other-switch", versioned(true, "2024-05-01T10:00:00Z"));
+
+        sharedDataStoreComponent.putDataMap("test-switch", versioned(true, "2024-05-01T11:00:00Z"));
+        startupFetch.publish();
+
+        assertTrue(sharedDataStoreComponent.getDataMap("test-switch").isStatus());
+        assertNotNull(sharedDataStoreComponent.getDataMap("other-switch"));
+        assertEquals(1, startupFetch.staleSize());
+        assertEquals(1, startupFetch.size());
+        assertEquals(1, startupFetch.changedSize());
+    }
+
+    @Test
+    void testUpdate_DropsRemovalOfSwitchRecreatedWhileFilling() {
+        SharedDataStoreComponent.Update slowFetch = sharedDataStoreComponent.beginUpdate();
+        slowFetch.remove("test-switch");
+
+        sharedDataStoreComponent.putDataMap("test-switch", versioned(true, "2024-05-01T11:00:00Z"));
+        slowFetch.publish();
+
+        assertTrue(sharedDataStoreComponent.getDataMap("test-switch").isStatus());
+        assertEquals(1, slowFetch.staleSize());
+        assertEquals(0, slowFetch.changedSize());
+    }
+
+    @Test
+    void testUpdate_AppliesRemovalOfUnchangedSwitch() {
+        sharedDataStoreComponent.putDataMap("test-switch", versioned(true, "2024-05-01T10:00:00Z"));
+
+        SharedDataStoreComponent.Update update = sharedDataStoreComponent.beginUpdate();
+        update.remove("test-switch");
+        update.publish();
+
+        assertNull(sharedDataStoreComponent.getDataMap("test-switch"));
+        assertEquals(0, update.staleSize());
+        assertEquals(1, update.changedSize());
+    }
+
+    @Test
+    void testUpdate_RecordsStaleUpdates() {
+        SwitchMetricsComponent switchMetricsComponent = mock(SwitchMetricsComponent.class);
+        ReflectionTestUtils.setField(sharedDataStoreComponent, "switchMetricsComponent", switchMetricsComponent);
+        sharedDataStoreComponent.putDataMap("test-switch", versioned(true, "2024-05-01T10:00:00Z"));
+
+        sharedDataStoreComponent.putDataMap("test-switch", versioned(false, "2024-05-01T09:00:00Z"));
+
+        verify(switchMetricsComponent).recordStale(1);
+    }
+
+    private static SwitchModel versioned(boolean status, String updatedAt) {
+        SwitchModel switchModel = new SwitchModel();
+        switchModel.setSwitchName("test-switch");
+        switchModel.setStatus(status);
+        switchModel.setUpdatedAt(updatedAt);
+        return switchModel;
+    }
+
+    @Test
+    void testUpdate_AuditFieldsAloneAreNoChange() {
+        SwitchModel stored = versioned(true, "2024-05-01T10:00:00Z");
+        stored.setCreatedBy("creator");
+        stored.setUpdatedBy("updater");
+        sharedDataStoreComponent.putDataMap("test-switch", stored);
+
+        SharedDataStoreComponent.Update update = sharedDataStoreComponent.beginUpdate();
+        update.put("test-switch", versioned(true, "2024-05-01T10:00:00Z"));
+
+        assertEquals(0, update.changedSize());
+    }
+
+    @Test
+    void testUpdate_SkipsSwitchThatCannotBeCompiled() {
+        SwitchMetricsComponent switchMetricsComponent = mock(SwitchMetricsComponent.class);
+        ReflectionTestUtils.setField(sharedDataStoreComponent, "switchMetricsComponent", switchMetricsComponent);
+        SwitchModel invalid = versioned(true, "2024-05-01T10:00:00Z");
+        invalid.setMeteredStatus(Map.of("default", Map.of("trueValue", 150)));
+
+        SharedDataStoreComponent.Update update = sharedDataStoreComponent.beginUpdate();
+        update.put("bad-switch", invalid);
+        update.put("test-switch", versioned(true, "2024-05-01T10:00:00Z"));
+        update.publish();
+
+        assertEquals(1, update.invalidSize());
+        assertNull(sharedDataStoreComponent.getCompiledSwitch("bad-switch"));
+        assertTrue(sharedDataStoreComponent.getDataMap("test-switch").isStatus());
+        verify(switchMetricsComponent).recordInvalid(1);
+    }
 }
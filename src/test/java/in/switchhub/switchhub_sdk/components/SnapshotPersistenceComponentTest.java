@@ -0,0 +1,149 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SnapshotPersistenceComponentTest {
+
+    @Mock
+    private EnvConfig envConfig;
+
+    @Mock
+    private SharedDataStoreComponent sharedDataStoreComponent;
+
+    @Mock
+    private ScheduledExecutorService switchHubScheduler;
+
+    @InjectMocks
+    private SnapshotPersistenceComponent snapshotPersistenceComponent;
+
+    @TempDir
+    Path tempDir;
+
+    private SwitchModel switchModel;
+
+    @BeforeEach
+    void setUp() {
+        when(envConfig.isSwitchHubSdkSnapshotEnabled()).thenReturn(true);
+        when(envConfig.getSwitchHubSdkSnapshotDirectory()).thenReturn(tempDir.resolve("snapshots").toString());
+        when(envConfig.getSwitchHubSdkSnapshotWriteDelayMillis()).thenReturn(500L);
+        when(envConfig.getSwitchHubSdkEnvironmentName()).thenReturn("dev");
+        when(envConfig.getSwitchHubSdkApplicationName()).thenReturn("test-app");
+
+        switchModel = new SwitchModel();
+        switchModel.setSwitchName("test-switch");
+        switchModel.setStatus(true);
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 40)));
+    }
+
+    @Test
+    void testSaveAndLoad() {
+        when(sharedDataStoreComponent.dataMapGetAll()).thenReturn(Map.of("test-switch", switchModel));
+
+        snapshotPersistenceComponent.saveNow();
+
+        assertEquals(tempDir.resolve("snapshots").resolve("dev.test-app.snapshot"),
+                snapshotPersistenceComponent.getSnapshotFile());
+        assertTrue(Files.isRegularFile(snapshotPersistenceComponent.getSnapshotFile()));
+        assertEquals(Map.of("test-switch", switchModel), snapshotPersistenceComponent.load().getSwitches());
+    }
+
+    @Test
+    void testSaveAndLoad_SyncTokens() {
+        when(sharedDataStoreComponent.getSyncTokens()).thenReturn(Map.of("2:abc", "\"v7\""));
+        when(sharedDataStoreComponent.dataMapGetAll()).thenReturn(Map.of("test-switch", switchModel));
+
+        snapshotPersistenceComponent.saveNow();
+
+        assertEquals(Map.of("2:abc", "\"v7\""), snapshotPersistenceComponent.load().getSyncTokens());
+    }
+
+    @Test
+    void testSave_LeavesNoTemporaryFiles() throws Exception {
+        snapshotPersistenceComponent.save(Map.of("test-switch", switchModel), Map.of());
+        snapshotPersistenceComponent.save(Map.of("other-switch", switchModel), Map.of());
+
+        try (Stream<Path> files = Files.list(tempDir.resolve("snapshots"))) {
+            assertEquals(1, files.count());
+        }
+        assertEquals(Map.of("other-switch", switchModel), snapshotPersistenceComponent.load().getSwitches());
+    }
+
+    @Test
+    void testSaveNow_SkipsEmptyStore() {
+        when(sharedDataStoreComponent.dataMapGetAll()).thenReturn(Map.of());
+
+        snapshotPersistenceComponent.saveNow();
+
+        assertFalse(Files.exists(snapshotPersistenceComponent.getSnapshotFile()));
+    }
+
+    @Test
+    void testLoad_MissingFile() {
+        assertTrue(snapshotPersistenceComponent.load().getSwitches().isEmpty());
+    }
+
+    @Test
+    void testLoad_CorruptFile() throws Exception {
+        Path file = snapshotPersistenceComponent.getSnapshotFile();
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[]{1, 2, 3});
+
+        assertTrue(snapshotPersistenceComponent.load().getSwitches().isEmpty());
+    }
+
+    @Test
+    void testLoad_Disabled() {
+        snapshotPersistenceComponent.save(Map.of("test-switch", switchModel), Map.of());
+        when(envConfig.isSwitchHubSdkSnapshotEnabled()).thenReturn(false);
+
+        assertTrue(snapshotPersistenceComponent.load().getSwitches().isEmpty());
+    }
+
+    @Test
+    void testScheduleSave_CoalescesPendingWrites() {
+        snapshotPersistenceComponent.scheduleSave();
+        snapshotPersistenceComponent.scheduleSave();
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(switchHubScheduler, times(1)).schedule(task.capture(), eq(500L), eq(TimeUnit.MILLISECONDS));
+
+        when(sharedDataStoreComponent.dataMapGetAll()).thenReturn(Map.of("test-switch", switchModel));
+        task.getValue().run();
+        snapshotPersistenceComponent.scheduleSave();
+
+        verify(switchHubScheduler, times(2)).schedule(any(Runnable.class), eq(500L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testScheduleSave_Disabled() {
+        when(envConfig.isSwitchHubSdkSnapshotEnabled()).thenReturn(false);
+
+        snapshotPersistenceComponent.scheduleSave();
+
+        verifyNoInteractions(switchHubScheduler);
+    }
+}
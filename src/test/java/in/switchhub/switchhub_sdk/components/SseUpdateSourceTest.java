@@ -0,0 +1,205 @@
+package in.switchhub.switchhub_sdk.components;
+
+import com.sun.net.httpserver.HttpServer;
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import in.switchhub.switchhub_sdk.util.SseEventReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SseUpdateSourceTest {
+
+    private static final String EVENT = "{\"switchName\":\"feature-1\",\"switchDetails\":{\"switchId\":\"switch-1\",\"status\":true}}";
+
+    @Mock
+    private EnvConfig envConfig;
+
+    @Mock
+    private SwitchConsumer switchConsumer;
+
+    @Mock
+    private SequenceTrackerComponent sequenceTrackerComponent;
+
+    @InjectMocks
+    private SseUpdateSource sseUpdateSource;
+
+    private HttpServer server;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        sseUpdateSource.close();
+        release.countDown();
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testOnEvent_ForwardsMessageWithSequenceHeader() {
+        sseUpdateSource.onEvent("42", "42", null, EVENT);
+
+        List<Message<MessageModel>> messages = captureMessages();
+        assertEquals(1, messages.size());
+        assertEquals("feature-1", messages.get(0).getPayload().getSwitchName());
+        assertTrue(messages.get(0).getPayload().getSwitchDetails().isStatus());
+        assertEquals("42", messages.get(0).getHeaders().get(SwitchHubConstants.RabbitMQ.SEQUENCE_HEADER));
+    }
+
+    @Test
+    void testOnEvent_EventWithoutOwnIdCarriesNoSequence() throws IOException {
+        String body = "id: 42\ndata: " + EVENT + "\n\ndata: " + EVENT + "\n\n";
+
+        SseEventReader.read(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), sseUpdateSource::onEvent);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Message<MessageModel>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(switchConsumer, times(2)).onFlagChanges(captor.capture());
+        assertEquals("42", captor.getAllValues().get(0).get(0).getHeaders().get(SwitchHubConstants.RabbitMQ.SEQUENCE_HEADER));
+        assertNull(captor.getAllValues().get(1).get(0).getHeaders().get(SwitchHubConstants.RabbitMQ.SEQUENCE_HEADER));
+    }
+
+    @Test
+    void testOnEvent_IgnoresOtherEventTypes() {
+        sseUpdateSource.onEvent(null, null, "ping", "{}");
+
+        verifyNoInteractions(switchConsumer, sequenceTrackerComponent);
+    }
+
+    @Test
+    void testOnEvent_UnreadableEventResyncs() {
+        sseUpdateSource.onEvent("3", "3", SwitchHubConstants.Updates.SSE_MESSAGE_EVENT, "{not json");
+
+        verifyNoInteractions(switchConsumer);
+        verify(sequenceTrackerComponent).requestResync();
+    }
+
+    @Test
+    void testOnEvent_ApplyFailureResyncs() {
+        doThrow(new IllegalStateException("boom")).when(switchConsumer).onFlagChanges(anyList());
+
+        assertDoesNotThrow(() -> sseUpdateSource.onEvent(null, null, null, EVENT));
+
+        verify(sequenceTrackerComponent).requestResync();
+    }
+
+    @Test
+    void testStart_StreamsEventsIntoPipeline() throws IOException {
+        BlockingQueue<String> requests = new LinkedBlockingQueue<>();
+        startServer(requests, "id: 1\ndata: " + EVENT + "\n\n", true);
+
+        assertTrue(sseUpdateSource.start());
+
+        verify(switchConsumer, timeout(5000)).onFlagChanges(anyList());
+        assertEquals("production/test-app", requests.poll());
+    }
+
+    @Test
+    void testReconnect_ResumesFromLastEventId() throws Exception {
+        when(envConfig.getSwitchHubSdkUpdatesSseReconnectInitialBackoffMillis()).thenReturn(1L);
+        when(envConfig.getSwitchHubSdkUpdatesSseReconnectMaxBackoffMillis()).thenReturn(1L);
+        BlockingQueue<String> requests = new LinkedBlockingQueue<>();
+        // every response ends after one event, so the source reconnects
+        startServer(requests, "id: 5\ndata: " + EVENT + "\n\n", false);
+
+        assertTrue(sseUpdateSource.start());
+
+        assertEquals("production/test-app", requests.poll(5, TimeUnit.SECONDS));
+        assertEquals("production/test-app/5", requests.poll(5, TimeUnit.SECONDS));
+        verify(sequenceTrackerComponent, never()).requestResync();
+    }
+
+    @Test
+    void testReconnect_BacksOffWhenStreamEndsWithoutEvents() throws Exception {
+        when(envConfig.getSwitchHubSdkUpdatesSseReconnectInitialBackoffMillis()).thenReturn(10L);
+        when(envConfig.getSwitchHubSdkUpdatesSseReconnectMaxBackoffMillis()).thenReturn(60_000L);
+        BlockingQueue<String> requests = new LinkedBlockingQueue<>();
+        // accepted and closed at once, as an overloaded server might
+        startServer(requests, "", false);
+
+        assertTrue(sseUpdateSource.start());
+        Thread.sleep(1000);
+
+        // without growing backoff this would reconnect every few milliseconds
+        assertTrue(requests.size() < 15, "connections " + requests.size());
+    }
+
+    @Test
+    void testStart_ReportsRejectedConnection() throws IOException {
+        lenient().when(envConfig.getSwitchHubSdkUpdatesSseReconnectInitialBackoffMillis()).thenReturn(60_000L);
+        lenient().when(envConfig.getSwitchHubSdkUpdatesSseReconnectMaxBackoffMillis()).thenReturn(60_000L);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        stubConnection();
+
+        assertFalse(sseUpdateSource.start());
+        verifyNoInteractions(switchConsumer);
+    }
+
+    private void startServer(BlockingQueue<String> requests, String body, boolean holdOpen) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            String lastEventId = exchange.getRequestHeaders().getFirst(SwitchHubConstants.Api.HEADER_LAST_EVENT_ID);
+            requests.add(exchange.getRequestHeaders().getFirst(SwitchHubConstants.Api.HEADER_ENVIRONMENT_NAME) + "/"
+                    + exchange.getRequestHeaders().getFirst(SwitchHubConstants.Api.HEADER_APPLICATION_NAME)
+                    + (lastEventId == null ? "" : "/" + lastEventId));
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                if (holdOpen) {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        stubConnection();
+    }
+
+    private void stubConnection() {
+        when(envConfig.getSwitchHubSdkUpdatesSseUrl())
+                .thenReturn("http://127.0.0.1:" + server.getAddress().getPort() + "/stream");
+        when(envConfig.getSwitchHubBackendConnectTimeoutMillis()).thenReturn(2000L);
+        when(envConfig.getSwitchHubSdkUpdatesSseIdleTimeoutMillis()).thenReturn(10_000);
+        when(envConfig.getSwitchHubSdkEnvironmentName()).thenReturn("production");
+        when(envConfig.getSwitchHubSdkApplicationName()).thenReturn("test-app");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Message<MessageModel>> captureMessages() {
+        ArgumentCaptor<List<Message<MessageModel>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(switchConsumer).onFlagChanges(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -3,19 +3,32 @@ package in.switchhub.switchhub_sdk.components;
 import in.switchhub.switchhub_sdk.config.EnvConfig;
 import in.switchhub.switchhub_sdk.dtos.FetchSwitchRequestDto;
 import in.switchhub.switchhub_sdk.dtos.FetchSwitchResponseDto;
+import in.switchhub.switchhub_sdk.models.PersistedSnapshotModel;
 import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.util.SwitchDetailsStreamReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.BufferUnderflowException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,14 +47,29 @@ class StartupComponentTest {
     @Mock
     private EnvConfig envConfig;
 
+    @Mock
+    private SnapshotPersistenceComponent snapshotPersistenceComponent;
+
+    @Mock
+    private UpdateSource updateSource;
+
+    @Mock
+    private ScheduledExecutorService switchHubScheduler;
+
+    @Spy
+    private SwitchHubReadiness switchHubReadiness;
+
     @InjectMocks
     private StartupComponent startupComponent;
 
     @BeforeEach
     void setUp() {
-        when(envConfig.getSwitchHubSdkSwitches()).thenReturn(Arrays.asList("feature-1", "feature-2"));
-        when(envConfig.getSwitchHubSdkEnvironmentName()).thenReturn("production");
-        when(envConfig.getSwitchHubSdkApplicationName()).thenReturn("test-app");
+        lenient().when(envConfig.getSwitchHubSdkSwitches()).thenReturn(Arrays.asList("feature-1", "feature-2"));
+        lenient().when(envConfig.getSwitchHubSdkEnvironmentName()).thenReturn("production");
+        lenient().when(envConfig.getSwitchHubSdkApplicationName()).thenReturn("test-app");
+        // run the startup tasks on the test thread
+        ReflectionTestUtils.setField(startupComponent, "switchHubWorkerExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(startupComponent, "updateSources", List.of(updateSource));
     }
 
     @Test
@@ -60,7 +88,7 @@ class StartupComponentTest {
         startupComponent.onApplicationReady();
 
         verify(switchHubApiComponent).fetchSwitch(any(FetchSwitchRequestDto.class), eq("production"), eq("test-app"));
-        verify(sharedDataStoreComponent).putDataMap("feature-1", switch1);
+        verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-1", switch1));
     }
 
     @Test
@@ -84,8 +112,9 @@ class StartupComponentTest {
 
         startupComponent.onApplicationReady();
 
-        verify(sharedDataStoreComponent).putDataMap("feature-1", switch1);
-        verify(sharedDataStoreComponent).registerWeights("feature-1", "default", 50);
+        verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-1", switch1));
+        // Generators are compiled by the store as part of the same update
+        verify(sharedDataStoreComponent, never()).registerWeights(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -113,8 +142,8 @@ class StartupComponentTest {
 
         startupComponent.onApplicationReady();
 
-        verify(sharedDataStoreComponent).registerWeights("feature-1", "default", 25);
-        verify(sharedDataStoreComponent).registerWeights("feature-1", "premium", 75);
+        verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-1", switch1));
+        verify(sharedDataStoreComponent, never()).registerWeights(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -132,8 +161,8 @@ class StartupComponentTest {
 
         startupComponent.onApplicationReady();
 
-        verify(sharedDataStoreComponent).putDataMap("feature-1", switch1);
-        verify(sharedDataStoreComponent).registerWeights("feature-1", "default", 100);
+        verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-1", switch1));
+        verify(sharedDataStoreComponent, never()).registerWeights(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -143,7 +172,7 @@ class StartupComponentTest {
         startupComponent.onApplicationReady();
 
         verify(switchHubApiComponent).fetchSwitch(any(), anyString(), anyString());
-        verify(sharedDataStoreComponent, never()).putDataMap(anyString(), any());
+        verify(sharedDataStoreComponent, never()).putAllDataMap(any());
     }
 
     @Test
@@ -154,7 +183,7 @@ class StartupComponentTest {
 
         startupComponent.onApplicationReady();
 
-        verify(sharedDataStoreComponent, never()).putDataMap(anyString(), any());
+        verify(sharedDataStoreComponent, never()).putAllDataMap(any());
     }
 
     @Test
@@ -165,7 +194,7 @@ class StartupComponentTest {
 
         startupComponent.onApplicationReady();
 
-        verify(sharedDataStoreComponent, never()).putDataMap(anyString(), any());
+        verify(sharedDataStoreComponent, never()).putAllDataMap(any());
     }
 
     @Test
@@ -179,7 +208,7 @@ class StartupComponentTest {
 
         startupComponent.onApplicationReady();
 
-        verify(sharedDataStoreComponent, never()).putDataMap(anyString(), any());
+        verify(sharedDataStoreComponent, never()).putAllDataMap(any());
     }
 
     @Test
@@ -200,8 +229,9 @@ class StartupComponentTest {
 
         startupComponent.onApplicationReady();
 
-        verify(sharedDataStoreComponent).putDataMap("feature-1", switch1);
-        verify(sharedDataStoreComponent).putDataMap("feature-2", switch2);
+        // Both switches are published together in one store update
+        verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-1", switch1, "feature-2", switch2));
+        verify(sharedDataStoreComponent, never()).putDataMap(anyString(), any());
     }
 
     @Test
@@ -212,7 +242,7 @@ class StartupComponentTest {
         assertDoesNotThrow(() -> startupComponent.onApplicationReady());
 
         verify(switchHubApiComponent).fetchSwitch(any(), anyString(), anyString());
-        verify(sharedDataStoreComponent, never()).putDataMap(anyString(), any());
+        verify(sharedDataStoreComponent, never()).putAllDataMap(any());
     }
 
     @Test
@@ -254,8 +284,385 @@ class StartupComponentTest {
 
         startupComponent.onApplicationReady();
 
-        verify(sharedDataStoreComponent).putDataMap("feature-1", switch1);
-        // Should not register weights when trueValue is null
-        verify(sharedDataStoreComponent, never()).registerWeights(eq("feature-1"), eq("default"), anyInt());
+        verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-1", switch1));
+        verify(sharedDataStoreComponent, never()).registerWeights(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    void testOnApplicationReady_LoadsLocalSnapshotBeforeFetch() {
+        SwitchModel persisted = new SwitchModel();
+        persisted.setSwitchId("persisted");
+        SwitchModel fetched = new SwitchModel();
+        fetched.setSwitchId("fetched");
+
+        when(snapshotPersistenceComponent.load()).thenReturn(new PersistedSnapshotModel(Map.of("feature-1", persisted), Map.of()));
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString()))
+                .thenReturn(new FetchSwitchResponseDto(Map.of("feature-1", fetched)));
+
+        startupComponent.onApplicationReady();
+
+        InOrder inOrder = inOrder(sharedDataStoreComponent, switchHubApiComponent, snapshotPersistenceComponent);
+        inOrder.verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-1", persisted), Map.of());
+        inOrder.verify(switchHubApiComponent).fetchSwitch(any(), anyString(), anyString());
+        inOrder.verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-1", fetched));
+        inOrder.verify(snapshotPersistenceComponent).scheduleSave();
+    }
+
+    @Test
+    void testOnApplicationReady_KeepsLocalSnapshotWhenFetchFails() {
+        SwitchModel persisted = new SwitchModel();
+        persisted.setSwitchId("persisted");
+
+        when(snapshotPersistenceComponent.load()).thenReturn(new PersistedSnapshotModel(Map.of("feature-1", persisted), Map.of()));
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("API Error"));
+
+        startupComponent.onApplicationReady();
+
+        verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-1", persisted), Map.of());
+        verify(snapshotPersistenceComponent, never()).scheduleSave();
+    }
+
+    @Test
+    void testOnApplicationReady_FetchesWhenLocalSnapshotCannotBeRestored() {
+        SwitchModel fetched = new SwitchModel();
+        fetched.setSwitchId("fetched");
+
+        when(snapshotPersistenceComponent.load()).thenThrow(new BufferUnderflowException());
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString()))
+                .thenReturn(new FetchSwitchResponseDto(Map.of("feature-1", fetched)));
+
+        assertDoesNotThrow(() -> startupComponent.onApplicationReady());
+
+        verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-1", fetched));
+    }
+
+    @Test
+    void testOnApplicationReady_ReadyWhenFetchAndUpdateSourcesSucceed() {
+        when(updateSource.start()).thenReturn(true);
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString()))
+                .thenReturn(new FetchSwitchResponseDto(new HashMap<>()));
+
+        startupComponent.onApplicationReady();
+
+        verify(updateSource).start();
+        assertEquals(SwitchHubReadiness.State.READY, switchHubReadiness.getState());
+    }
+
+    @Test
+    void testOnApplicationReady_DegradedWhenUpdateSourceUnavailable() {
+        when(updateSource.start()).thenThrow(new RuntimeException("Connection failed"));
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString()))
+                .thenReturn(new FetchSwitchResponseDto(new HashMap<>()));
+
+        assertDoesNotThrow(() -> startupComponent.onApplicationReady());
+
+        assertEquals(SwitchHubReadiness.State.DEGRADED, switchHubReadiness.getState());
+        assertTrue(switchHubReadiness.isSwitchesLoaded());
+        assertFalse(switchHubReadiness.isUpdateSourcesConnected());
+    }
+
+    @Test
+    void testOnApplicationReady_ReadyWithoutUpdateSources() {
+        ReflectionTestUtils.setField(startupComponent, "updateSources", null);
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString()))
+                .thenReturn(new FetchSwitchResponseDto(new HashMap<>()));
+
+        startupComponent.onApplicationReady();
+
+        assertEquals(SwitchHubReadiness.State.READY, switchHubReadiness.getState());
+    }
+
+    @Test
+    void testOnApplicationReady_StartsEveryUpdateSourceEvenAfterAFailure() {
+        UpdateSource second = mock(UpdateSource.class);
+        when(second.start()).thenReturn(true);
+        when(updateSource.start()).thenThrow(new IllegalStateException("boom"));
+        when(updateSource.getName()).thenReturn("first");
+        ReflectionTestUtils.setField(startupComponent, "updateSources", List.of(updateSource, second));
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString()))
+                .thenReturn(new FetchSwitchResponseDto(new HashMap<>()));
+
+        startupComponent.onApplicationReady();
+
+        verify(second).start();
+        assertFalse(switchHubReadiness.isUpdateSourcesConnected());
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void testOnApplicationReady_WarnsWhenConditionalFetchWithoutStreaming(CapturedOutput output) {
+        when(envConfig.isSwitchHubSdkFetchConditional()).thenReturn(true);
+        when(envConfig.isSwitchHubSdkFetchStreaming()).thenReturn(false);
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString()))
+                .thenReturn(new FetchSwitchResponseDto(new HashMap<>()));
+
+        startupComponent.onApplicationReady();
+
+        assertTrue(output.getOut().contains("switchHub.sdk.fetch.conditional is ignored"));
+        verify(switchHubApiComponent).fetchSwitch(any(), anyString(), anyString());
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void testOnApplicationReady_NoConditionalWarningWithStreaming(CapturedOutput output) {
+        when(envConfig.isSwitchHubSdkFetchConditional()).thenReturn(true);
+        when(envConfig.isSwitchHubSdkFetchStreaming()).thenReturn(true);
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString(), any(), any())).thenReturn("etag-1");
+        when(sharedDataStoreComponent.beginUpdate()).thenReturn(mock(SharedDataStoreComponent.Update.class));
+
+        startupComponent.onApplicationReady();
+
+        assertFalse(output.getOut().contains("switchHub.sdk.fetch.conditional is ignored"));
+    }
+
+    @Test
+    void testOnApplicationReady_FileSourceSkipsBackendFetch() {
+        when(envConfig.getSwitchHubSdkUpdatesSource()).thenReturn("file");
+        when(updateSource.start()).thenReturn(true);
+
+        startupComponent.onApplicationReady();
+
+        verifyNoInteractions(switchHubApiComponent);
+        verify(sharedDataStoreComponent, never()).putAllDataMap(any());
+        assertEquals(SwitchHubReadiness.State.READY, switchHubReadiness.getState());
+    }
+
+    @Test
+    void testOnApplicationReady_DegradedWhenFetchFails() {
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("API Error"));
+
+        startupComponent.onApplicationReady();
+
+        assertEquals(SwitchHubReadiness.State.DEGRADED, switchHubReadiness.getState());
+        assertFalse(switchHubReadiness.isSwitchesLoaded());
+    }
+
+    @Test
+    void testOnApplicationReady_ReturnsWithoutWaitingByDefault() {
+        // the update sources never report back, so startup does not finish
+        doNothing().when(switchHubReadiness).updateSourcesConnected(anyBoolean());
+
+        startupComponent.onApplicationReady();
+
+        assertEquals(SwitchHubReadiness.State.STARTING, switchHubReadiness.getState());
+        verify(switchHubReadiness, never()).awaitStarted(anyLong());
+    }
+
+    @Test
+    void testOnApplicationReady_WaitsForReadinessWhenConfigured() {
+        doNothing().when(switchHubReadiness).updateSourcesConnected(anyBoolean());
+        when(envConfig.getSwitchHubSdkStartupReadinessTimeoutMillis()).thenReturn(50L);
+
+        startupComponent.onApplicationReady();
+
+        verify(switchHubReadiness).awaitStarted(50L);
+        assertEquals(SwitchHubReadiness.State.STARTING, switchHubReadiness.getState());
+    }
+
+    @Test
+    void testFetchSwitches_SplitsIntoChunks() {
+        when(envConfig.getSwitchHubSdkSwitches()).thenReturn(Arrays.asList("feature-1", "feature-2", "feature-3"));
+        when(envConfig.getSwitchHubSdkFetchChunkSize()).thenReturn(2);
+        when(envConfig.getSwitchHubSdkFetchMaxConcurrency()).thenReturn(2);
+
+        SwitchModel switch1 = new SwitchModel();
+        switch1.setSwitchId("switch-1");
+        SwitchModel switch3 = new SwitchModel();
+        switch3.setSwitchId("switch-3");
+        when(switchHubApiComponent.fetchSwitch(eq(new FetchSwitchRequestDto(List.of("feature-1", "feature-2"))), anyString(), anyString()))
+                .thenReturn(new FetchSwitchResponseDto(Map.of("feature-1", switch1)));
+        when(switchHubApiComponent.fetchSwitch(eq(new FetchSwitchRequestDto(List.of("feature-3"))), anyString(), anyString()))
+                .thenReturn(new FetchSwitchResponseDto(Map.of("feature-3", switch3)));
+
+        assertTrue(startupComponent.fetchSwitches());
+
+        // each chunk is applied as it arrives
+        verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-1", switch1));
+        verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-3", switch3));
+        verify(switchHubApiComponent, times(2)).fetchSwitch(any(), anyString(), anyString());
+    }
+
+    @Test
+    void testFetchSwitches_FailedChunkKeepsOthers() {
+        when(envConfig.getSwitchHubSdkSwitches()).thenReturn(Arrays.asList("feature-1", "feature-2"));
+        when(envConfig.getSwitchHubSdkFetchChunkSize()).thenReturn(1);
+        when(envConfig.getSwitchHubSdkFetchMaxConcurrency()).thenReturn(4);
+
+        SwitchModel switch2 = new SwitchModel();
+        switch2.setSwitchId("switch-2");
+        when(switchHubApiComponent.fetchSwitch(eq(new FetchSwitchRequestDto(List.of("feature-1"))), anyString(), anyString()))
+                .thenThrow(new RuntimeException("API Error"));
+        when(switchHubApiComponent.fetchSwitch(eq(new FetchSwitchRequestDto(List.of("feature-2"))), anyString(), anyString()))
+                .thenReturn(new FetchSwitchResponseDto(Map.of("feature-2", switch2)));
+
+        assertFalse(startupComponent.fetchSwitches());
+
+        verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-2", switch2));
+    }
+
+    @Test
+    void testFetchSwitches_StreamsIntoStoreUpdate() {
+        when(envConfig.isSwitchHubSdkFetchStreaming()).thenReturn(true);
+        SharedDataStoreComponent.Update update = mock(SharedDataStoreComponent.Update.class);
+        when(sharedDataStoreComponent.beginUpdate()).thenReturn(update);
+        when(update.changedSize()).thenReturn(1);
+
+        SwitchModel switch1 = new SwitchModel();
+        switch1.setSwitchId("switch-1");
+        when(switchHubApiComponent.fetchSwitch(any(), eq("production"), eq("test-app"), isNull(), same(update)))
+                .thenAnswer(invocation -> {
+                    SwitchDetailsStreamReader.Sink sink = invocation.getArgument(4);
+                    sink.put("feature-1", switch1);
+                    return "\"v1\"";
+                });
+
+        assertTrue(startupComponent.fetchSwitches());
+
+        InOrder inOrder = inOrder(update, snapshotPersistenceComponent);
+        inOrder.verify(update).put("feature-1", switch1);
+        inOrder.verify(update).publish();
+        inOrder.verify(snapshotPersistenceComponent).scheduleSave();
+        // sync tokens are only kept for conditional fetches
+        verify(update, never()).setSyncToken(anyString(), any());
+        verify(sharedDataStoreComponent, never()).getSyncToken(anyString());
+        verify(switchHubApiComponent, never()).fetchSwitch(any(), anyString(), anyString());
+        verify(sharedDataStoreComponent, never()).putAllDataMap(any());
+    }
+
+    @Test
+    void testFetchSwitches_ConditionalSendsAndStoresSyncToken() {
+        when(envConfig.isSwitchHubSdkFetchStreaming()).thenReturn(true);
+        when(envConfig.isSwitchHubSdkFetchConditional()).thenReturn(true);
+        String syncTokenKey = StartupComponent.syncTokenKey(Arrays.asList("feature-1", "feature-2"));
+        when(sharedDataStoreComponent.getSyncToken(syncTokenKey)).thenReturn("\"v1\"");
+        SharedDataStoreComponent.Update update = mock(SharedDataStoreComponent.Update.class);
+        when(sharedDataStoreComponent.beginUpdate()).thenReturn(update);
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString(), eq("\"v1\""), same(update)))
+                .thenReturn("\"v2\"");
+
+        assertTrue(startupComponent.fetchSwitches());
+
+        InOrder inOrder = inOrder(update);
+        inOrder.verify(update).setSyncToken(syncTokenKey, "\"v2\"");
+        inOrder.verify(update).publish();
+    }
+
+    @Test
+    void testFetchSwitches_NotModifiedKeepsSyncToken() {
+        when(envConfig.isSwitchHubSdkFetchStreaming()).thenReturn(true);
+        when(envConfig.isSwitchHubSdkFetchConditional()).thenReturn(true);
+        when(sharedDataStoreComponent.getSyncToken(anyString())).thenReturn("\"v1\"");
+        SharedDataStoreComponent.Update update = mock(SharedDataStoreComponent.Update.class);
+        when(sharedDataStoreComponent.beginUpdate()).thenReturn(update);
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString(), eq("\"v1\""), same(update)))
+                .thenReturn("\"v1\"");
+
+        assertTrue(startupComponent.fetchSwitches());
+
+        verify(update, never()).setSyncToken(anyString(), any());
+        verify(update, never()).put(anyString(), any());
+        // nothing changed, so there is nothing new to persist
+        verify(snapshotPersistenceComponent, never()).scheduleSave();
+    }
+
+    @Test
+    void testFetchSwitches_ReportsDrift() {
+        when(envConfig.isSwitchHubSdkFetchStreaming()).thenReturn(true);
+        SharedDataStoreComponent.Update update = mock(SharedDataStoreComponent.Update.class);
+        when(sharedDataStoreComponent.beginUpdate()).thenReturn(update);
+        when(update.changedSize()).thenReturn(2);
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString(), any(), same(update))).thenReturn(null);
+        AtomicInteger drift = new AtomicInteger();
+
+        assertTrue(startupComponent.fetchSwitches(drift));
+
+        assertEquals(2, drift.get());
+        verify(snapshotPersistenceComponent).scheduleSave();
+    }
+
+    @Test
+    void testFetchSwitches_StreamingFailureDoesNotPublish() {
+        when(envConfig.isSwitchHubSdkFetchStreaming()).thenReturn(true);
+        SharedDataStoreComponent.Update update = mock(SharedDataStoreComponent.Update.class);
+        when(sharedDataStoreComponent.beginUpdate()).thenReturn(update);
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString(), any(), any(SwitchDetailsStreamReader.Sink.class)))
+                .thenThrow(new RuntimeException("Malformed response"));
+
+        assertFalse(startupComponent.fetchSwitches());
+
+        verify(update, never()).publish();
+        verify(snapshotPersistenceComponent, never()).scheduleSave();
+    }
+
+    @Test
+    void testOnApplicationReady_RestoresSyncTokensWithSnapshot() {
+        SwitchModel persisted = new SwitchModel();
+        persisted.setSwitchId("persisted");
+        when(snapshotPersistenceComponent.load()).thenReturn(
+                new PersistedSnapshotModel(Map.of("feature-1", persisted), Map.of("2:abc", "\"v1\"")));
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString())).thenReturn(null);
+
+        startupComponent.onApplicationReady();
+
+        verify(sharedDataStoreComponent).putAllDataMap(Map.of("feature-1", persisted), Map.of("2:abc", "\"v1\""));
+    }
+
+    @Test
+    void testFetchSwitchesWithRetry_RetriesWithBackoffUntilSuccess() {
+        when(envConfig.getSwitchHubSdkFetchRetryInitialBackoffMillis()).thenReturn(100L);
+        when(envConfig.getSwitchHubSdkFetchRetryMaxBackoffMillis()).thenReturn(1_000L);
+        when(envConfig.getSwitchHubSdkFetchRetryMaxElapsedMillis()).thenReturn(60_000L);
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("API Error"))
+                .thenThrow(new RuntimeException("API Error"))
+                .thenReturn(new FetchSwitchResponseDto(new HashMap<>()));
+
+        CompletableFuture<Boolean> loaded = startupComponent.fetchSwitchesWithRetry();
+
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        verify(switchHubScheduler).schedule(retry.capture(), delay.capture(), eq(TimeUnit.MILLISECONDS));
+        assertTrue(delay.getValue() >= 0 && delay.getValue() <= 100, "first delay " + delay.getValue());
+        assertFalse(loaded.isDone());
+
+        retry.getValue().run();
+        verify(switchHubScheduler, times(2)).schedule(retry.capture(), delay.capture(), eq(TimeUnit.MILLISECONDS));
+        assertTrue(delay.getValue() >= 0 && delay.getValue() <= 200, "second delay " + delay.getValue());
+
+        retry.getValue().run();
+
+        assertTrue(loaded.join());
+        verify(switchHubApiComponent, times(3)).fetchSwitch(any(), anyString(), anyString());
+    }
+
+    @Test
+    void testFetchSwitchesWithRetry_GivesUpAfterMaxElapsed() {
+        when(envConfig.getSwitchHubSdkFetchRetryInitialBackoffMillis()).thenReturn(10_000L);
+        when(envConfig.getSwitchHubSdkFetchRetryMaxBackoffMillis()).thenReturn(10_000L);
+        when(envConfig.getSwitchHubSdkFetchRetryMaxElapsedMillis()).thenReturn(1L);
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("API Error"));
+
+        CompletableFuture<Boolean> loaded = startupComponent.fetchSwitchesWithRetry();
+
+        // a retry is only scheduled if its delay still fits before the deadline
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        while (!loaded.isDone()) {
+            verify(switchHubScheduler, atLeastOnce()).schedule(retry.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+            retry.getValue().run();
+        }
+        assertFalse(loaded.join());
+    }
+
+    @Test
+    void testFetchSwitchesWithRetry_DisabledWithZeroMaxElapsed() {
+        when(switchHubApiComponent.fetchSwitch(any(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("API Error"));
+
+        assertFalse(startupComponent.fetchSwitchesWithRetry().join());
+
+        verifyNoInteractions(switchHubScheduler);
     }
 }
@@ -1,21 +1,37 @@
 package in.switchhub.switchhub_sdk.components;
 
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.constants.SwitchHubConstants;
 import in.switchhub.switchhub_sdk.models.MessageModel;
 import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.util.StripedExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +40,15 @@ class SwitchConsumerTest {
     @Mock
     private SharedDataStoreComponent sharedDataStoreComponent;
 
+    @Mock
+    private SnapshotPersistenceComponent snapshotPersistenceComponent;
+
+    @Mock
+    private StripedExecutor switchHubStripedExecutor;
+
+    @Mock
+    private SequenceTrackerComponent sequenceTrackerComponent;
+
     @InjectMocks
     private SwitchConsumer switchConsumer;
 
@@ -49,7 +74,16 @@ class SwitchConsumerTest {
         switchConsumer.handleFlagChange(messageModel);
 
         verify(sharedDataStoreComponent).putDataMap("test-feature", switchModel);
-        verify(sharedDataStoreComponent).registerWeights("test-feature", "default", 100);
+        verifyNoMoreInteractions(sharedDataStoreComponent);
+    }
+
+    @Test
+    void testHandleFlagChange_SchedulesSnapshotSave() {
+        switchConsumer.handleFlagChange(messageModel);
+
+        InOrder inOrder = inOrder(sharedDataStoreComponent, snapshotPersistenceComponent);
+        inOrder.verify(sharedDataStoreComponent).putDataMap("test-feature", switchModel);
+        inOrder.verify(snapshotPersistenceComponent).scheduleSave();
     }
 
     @Test
@@ -64,8 +98,7 @@ class SwitchConsumerTest {
         switchConsumer.handleFlagChange(messageModel);
 
         verify(sharedDataStoreComponent).putDataMap("test-feature", switchModel);
-        verify(sharedDataStoreComponent).resetWeightedMeteredMap("test-feature");
-        verify(sharedDataStoreComponent).registerWeights("test-feature", "default", 50);
+        verifyNoMoreInteractions(sharedDataStoreComponent);
     }
 
     @Test
@@ -85,13 +118,11 @@ class SwitchConsumerTest {
         switchConsumer.handleFlagChange(messageModel);
 
         verify(sharedDataStoreComponent).putDataMap("test-feature", switchModel);
-        verify(sharedDataStoreComponent).resetWeightedMeteredMap("test-feature");
-        verify(sharedDataStoreComponent).registerWeights("test-feature", "default", 30);
-        verify(sharedDataStoreComponent).registerWeights("test-feature", "premium", 80);
+        verifyNoMoreInteractions(sharedDataStoreComponent);
     }
 
     @Test
-    void testHandleFlagChange_ResetsWeightsBeforeRegistering() {
+    void testHandleFlagChange_AppliesUpdateInSingleStep() {
         Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
         Map<String, Integer> defaultMetering = new HashMap<>();
         defaultMetering.put("trueValue", 75);
@@ -101,9 +132,10 @@ class SwitchConsumerTest {
 
         switchConsumer.handleFlagChange(messageModel);
 
-        // Verify reset is called before registering new weights
-        verify(sharedDataStoreComponent).resetWeightedMeteredMap("test-feature");
-        verify(sharedDataStoreComponent).registerWeights("test-feature", "default", 75);
+        // The store compiles generators itself; no separate reset/register steps are visible to readers
+        verify(sharedDataStoreComponent).putDataMap("test-feature", switchModel);
+        verify(sharedDataStoreComponent, never()).resetWeightedMeteredMap(anyString());
+        verify(sharedDataStoreComponent, never()).registerWeights(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -113,8 +145,7 @@ class SwitchConsumerTest {
         switchConsumer.handleFlagChange(messageModel);
 
         verify(sharedDataStoreComponent).putDataMap("test-feature", switchModel);
-        verify(sharedDataStoreComponent, never()).resetWeightedMeteredMap(anyString());
-        verify(sharedDataStoreComponent).registerWeights("test-feature", "default", 100);
+        verifyNoMoreInteractions(sharedDataStoreComponent);
     }
 
     @Test
@@ -130,9 +161,7 @@ class SwitchConsumerTest {
         switchConsumer.handleFlagChange(messageModel);
 
         verify(sharedDataStoreComponent).putDataMap("test-feature", switchModel);
-        verify(sharedDataStoreComponent).resetWeightedMeteredMap("test-feature");
-        // Should not register weights when trueValue is null
-        verify(sharedDataStoreComponent, never()).registerWeights(eq("test-feature"), eq("default"), anyInt());
+        verifyNoMoreInteractions(sharedDataStoreComponent);
     }
 
     @Test
@@ -149,6 +178,7 @@ class SwitchConsumerTest {
 
         // Should be called twice
         verify(sharedDataStoreComponent, times(2)).putDataMap("test-feature", switchModel);
+        verifyNoMoreInteractions(sharedDataStoreComponent);
     }
 
     @Test
@@ -161,6 +191,7 @@ class SwitchConsumerTest {
 
         verify(sharedDataStoreComponent).putDataMap("feature-1", switchModel);
         verify(sharedDataStoreComponent).putDataMap("feature-2", switchModel);
+        verifyNoMoreInteractions(sharedDataStoreComponent);
     }
 
     @Test
@@ -210,9 +241,7 @@ class SwitchConsumerTest {
         switchConsumer.handleFlagChange(messageModel);
 
         verify(sharedDataStoreComponent).putDataMap("test-feature", switchModel);
-        verify(sharedDataStoreComponent).resetWeightedMeteredMap("test-feature");
-        // No weights should be registered since map is empty
-        verify(sharedDataStoreComponent, never()).registerWeights(anyString(), anyString(), anyInt());
+        verifyNoMoreInteractions(sharedDataStoreComponent);
     }
 
     @Test
@@ -234,9 +263,7 @@ class SwitchConsumerTest {
         switchConsumer.handleFlagChange(messageModel);
 
         verify(sharedDataStoreComponent).putDataMap("test-feature", switchModel);
-        verify(sharedDataStoreComponent).resetWeightedMeteredMap("test-feature");
-        verify(sharedDataStoreComponent).registerWeights("test-feature", "valid", 40);
-        verify(sharedDataStoreComponent, never()).registerWeights(eq("test-feature"), eq("invalid"), anyInt());
+        verifyNoMoreInteractions(sharedDataStoreComponent);
     }
 
     @Test
@@ -250,17 +277,286 @@ class SwitchConsumerTest {
 
         switchConsumer.handleFlagChange(messageModel);
 
-        verify(sharedDataStoreComponent).resetWeightedMeteredMap("test-feature");
-        verify(sharedDataStoreComponent).registerWeights("test-feature", "default", 50);
-
         // Second change without metered status
         switchModel.setMeteredStatus(null);
         MessageModel updatedMessage = new MessageModel("test-feature", switchModel);
 
         switchConsumer.handleFlagChange(updatedMessage);
 
-        // Reset should not be called for null metered status
-        verify(sharedDataStoreComponent, times(1)).resetWeightedMeteredMap("test-feature");
-        verify(sharedDataStoreComponent).registerWeights("test-feature", "default", 100);
+        verify(sharedDataStoreComponent, times(2)).putDataMap("test-feature", switchModel);
+        verifyNoMoreInteractions(sharedDataStoreComponent);
+    }
+
+    @Test
+    void testHandleFlagChanges_AppliesBatchAsOneUpdate() {
+        SharedDataStoreComponent.Update update = mock(SharedDataStoreComponent.Update.class);
+        when(sharedDataStoreComponent.beginUpdate()).thenReturn(update);
+        when(update.changedSize()).thenReturn(2);
+        SwitchModel olderModel = new SwitchModel();
+        olderModel.setStatus(false);
+
+        switchConsumer.handleFlagChanges(List.of(
+                new MessageModel("test-feature", olderModel),
+                new MessageModel("feature-2", switchModel),
+                messageModel));
+
+        InOrder inOrder = inOrder(update, snapshotPersistenceComponent);
+        inOrder.verify(update).put("test-feature", olderModel);
+        inOrder.verify(update).put("feature-2", switchModel);
+        inOrder.verify(update).put("test-feature", switchModel);
+        inOrder.verify(update).publish();
+        inOrder.verify(snapshotPersistenceComponent).scheduleSave();
+        verify(sharedDataStoreComponent, never()).putDataMap(anyString(), any());
+    }
+
+    @Test
+    void testHandleFlagChanges_LastMessageWinsInStore() {
+        SharedDataStoreComponent store = new SharedDataStoreComponent();
+        ReflectionTestUtils.setField(switchConsumer, "sharedDataStoreComponent", store);
+        SwitchModel olderModel = new SwitchModel();
+        olderModel.setStatus(false);
+        long version = store.getVersion();
+
+        switchConsumer.handleFlagChanges(List.of(
+                new MessageModel("test-feature", olderModel),
+                new MessageModel("feature-2", switchModel),
+                messageModel));
+
+        assertEquals(switchModel, store.getDataMap("test-feature"));
+        assertEquals(switchModel, store.getDataMap("feature-2"));
+        assertEquals(version + 1, store.getVersion());
+    }
+
+    @Test
+    void testHandleFlagChanges_UnchangedBatchSkipsSnapshotSave() {
+        SharedDataStoreComponent.Update update = mock(SharedDataStoreComponent.Update.class);
+        when(sharedDataStoreComponent.beginUpdate()).thenReturn(update);
+
+        switchConsumer.handleFlagChanges(List.of(messageModel, new MessageModel("feature-2", switchModel)));
+
+        verify(update).publish();
+        verifyNoInteractions(snapshotPersistenceComponent);
+    }
+
+    @Test
+    void testHandleFlagChanges_SingleMessageUsesSingleUpdate() {
+        switchConsumer.handleFlagChanges(List.of(messageModel));
+
+        verify(sharedDataStoreComponent).putDataMap("test-feature", switchModel);
+        verify(snapshotPersistenceComponent).scheduleSave();
+        verifyNoMoreInteractions(sharedDataStoreComponent);
+    }
+
+    @Test
+    void testHandleFlagChanges_StripedAppliesEachLaneOffListenerThread() {
+        SharedDataStoreComponent store = new SharedDataStoreComponent();
+        StripedExecutor stripedExecutor = new StripedExecutor(4, Executors.defaultThreadFactory());
+        ReflectionTestUtils.setField(switchConsumer, "sharedDataStoreComponent", store);
+        ReflectionTestUtils.setField(switchConsumer, "switchHubStripedExecutor", stripedExecutor);
+        Set<Thread> applyingThreads = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            applyingThreads.add(Thread.currentThread());
+            return null;
+        }).when(snapshotPersistenceComponent).scheduleSave();
+        try {
+            List<MessageModel> messages = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                SwitchModel model = new SwitchModel();
+                model.setSwitchName("feature-" + i);
+                model.setStatus(true);
+                messages.add(new MessageModel("feature-" + i, model));
+            }
+            SwitchModel older = new SwitchModel();
+            older.setSwitchName("feature-0");
+            messages.add(0, new MessageModel("feature-0", older));
+
+            switchConsumer.handleFlagChanges(messages);
+
+            for (int i = 0; i < 20; i++) {
+                assertTrue(store.getDataMap("feature-" + i).isStatus());
+            }
+            assertFalse(applyingThreads.isEmpty());
+            assertFalse(applyingThreads.contains(Thread.currentThread()));
+        } finally {
+            stripedExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testHandleFlagChanges_ConcurrentConsumersApplySameSwitchInOrderOnItsLane() throws Exception {
+        SharedDataStoreComponent store = new SharedDataStoreComponent();
+        StripedExecutor stripedExecutor = new StripedExecutor(4, Executors.defaultThreadFactory());
+        ReflectionTestUtils.setField(switchConsumer, "sharedDataStoreComponent", store);
+        ReflectionTestUtils.setField(switchConsumer, "switchHubStripedExecutor", stripedExecutor);
+        CountDownLatch firstApplying = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        List<Thread> applyingThreads = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            applyingThreads.add(Thread.currentThread());
+            if (applyingThreads.size() == 1) {
+                firstApplying.countDown();
+                releaseFirst.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(snapshotPersistenceComponent).scheduleSave();
+        SwitchModel first = new SwitchModel();
+        first.setSwitchName("test-feature");
+        first.setStatus(false);
+        try {
+            Thread consumerA = new Thread(() -> switchConsumer.handleFlagChanges(
+                    List.of(new MessageModel("test-feature", first))));
+            consumerA.start();
+            assertTrue(firstApplying.await(5, TimeUnit.SECONDS));
+
+            Thread consumerB = new Thread(() -> switchConsumer.handleFlagChanges(List.of(messageModel)));
+            consumerB.start();
+            consumerB.join(200);
+            // the second change waits for the first on the switch's lane
+            assertTrue(consumerB.isAlive());
+            assertFalse(store.getDataMap("test-feature").isStatus());
+
+            releaseFirst.countDown();
+            consumerA.join(5000);
+            consumerB.join(5000);
+
+            assertTrue(store.getDataMap("test-feature").isStatus());
+            assertEquals(2, applyingThreads.size());
+            assertSame(applyingThreads.get(0), applyingThreads.get(1));
+        } finally {
+            releaseFirst.countDown();
+            stripedExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testHandleFlagChanges_StripedFailurePropagatesToContainer() {
+        StripedExecutor stripedExecutor = new StripedExecutor(2, Executors.defaultThreadFactory());
+        ReflectionTestUtils.setField(switchConsumer, "switchHubStripedExecutor", stripedExecutor);
+        when(sharedDataStoreComponent.beginUpdate()).thenThrow(new IllegalStateException("boom"));
+        try {
+            assertThrows(RuntimeException.class,
+                    () -> switchConsumer.handleFlagChanges(List.of(messageModel, new MessageModel("feature-2", switchModel))));
+        } finally {
+            stripedExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testHandleFlagChanges_PoisonMessageDoesNotFailBatch() {
+        SharedDataStoreComponent store = new SharedDataStoreComponent();
+        ReflectionTestUtils.setField(switchConsumer, "sharedDataStoreComponent", store);
+        SwitchModel poison = new SwitchModel();
+        poison.setStatus(true);
+        poison.setMeteredStatus(Map.of("default", Map.of("trueValue", 150)));
+
+        assertDoesNotThrow(() -> switchConsumer.handleFlagChanges(List.of(
+                new MessageModel("feature-1", poison),
+                new MessageModel("test-feature", switchModel))));
+
+        assertNull(store.getDataMap("feature-1"));
+        assertTrue(store.getDataMap("test-feature").isStatus());
+        verify(snapshotPersistenceComponent).scheduleSave();
+    }
+
+    @Test
+    void testOnFlagChanges_SkipsDuplicateSequencesAndCommitsAppliedOnes() {
+        when(sequenceTrackerComponent.isTracking()).thenReturn(true);
+        when(sequenceTrackerComponent.isDuplicate(7L)).thenReturn(false);
+        when(sequenceTrackerComponent.isDuplicate(6L)).thenReturn(true);
+        MessageModel duplicate = new MessageModel("feature-2", switchModel);
+
+        switchConsumer.onFlagChanges(List.of(sequenced(messageModel, 7L), sequenced(duplicate, 6L)));
+
+        InOrder inOrder = inOrder(sharedDataStoreComponent, sequenceTrackerComponent);
+        inOrder.verify(sharedDataStoreComponent).putDataMap("test-feature", switchModel);
+        inOrder.verify(sequenceTrackerComponent).commit(7L);
+        verify(sequenceTrackerComponent, never()).commit(6L);
+        verifyNoMoreInteractions(sharedDataStoreComponent);
+    }
+
+    @Test
+    void testOnFlagChanges_AllDuplicatesAppliesNothing() {
+        when(sequenceTrackerComponent.isTracking()).thenReturn(true);
+        when(sequenceTrackerComponent.isDuplicate(3L)).thenReturn(true);
+
+        switchConsumer.onFlagChanges(List.of(sequenced(messageModel, "3")));
+
+        verifyNoInteractions(sharedDataStoreComponent, snapshotPersistenceComponent);
+    }
+
+    @Test
+    void testOnFlagChanges_SequenceIgnoredWhenNotTracking() {
+        switchConsumer.onFlagChanges(List.of(sequenced(messageModel, 7L)));
+
+        verify(sequenceTrackerComponent).isTracking();
+        verifyNoMoreInteractions(sequenceTrackerComponent);
+        verify(sharedDataStoreComponent).putDataMap("test-feature", switchModel);
+    }
+
+    @Test
+    void testOnFlagChanges_MessagesWithoutSequenceAreApplied() {
+        when(sequenceTrackerComponent.isTracking()).thenReturn(true);
+        SharedDataStoreComponent.Update update = mock(SharedDataStoreComponent.Update.class);
+        when(sharedDataStoreComponent.beginUpdate()).thenReturn(update);
+
+        switchConsumer.onFlagChanges(List.of(MessageBuilder.withPayload(messageModel).build(),
+                sequenced(new MessageModel("feature-2", switchModel), "not-a-number")));
+
+        verify(sequenceTrackerComponent).isTracking();
+        verifyNoMoreInteractions(sequenceTrackerComponent);
+        verify(update).put("test-feature", switchModel);
+        verify(update).put("feature-2", switchModel);
+        verify(update).publish();
+    }
+
+    @Test
+    void testOnFlagChanges_FailedBatchIsAppliedWhenRedelivered() {
+        EnvConfig envConfig = mock(EnvConfig.class);
+        when(envConfig.isSwitchHubSdkConsumerBroadcastEnabled()).thenReturn(true);
+        when(envConfig.getSwitchHubSdkConsumerSequenceMaxTrackedGap()).thenReturn(1000L);
+        SequenceTrackerComponent tracker = new SequenceTrackerComponent();
+        ReflectionTestUtils.setField(tracker, "envConfig", envConfig);
+        ReflectionTestUtils.setField(switchConsumer, "sequenceTrackerComponent", tracker);
+        SharedDataStoreComponent.Update update = mock(SharedDataStoreComponent.Update.class);
+        when(sharedDataStoreComponent.beginUpdate())
+                .thenThrow(new IllegalStateException("boom"))
+                .thenReturn(update);
+        MessageModel second = new MessageModel("feature-2", switchModel);
+
+        assertThrows(IllegalStateException.class,
+                () -> switchConsumer.onFlagChanges(List.of(sequenced(messageModel, 1L), sequenced(second, 2L))));
+        switchConsumer.onFlagChanges(List.of(redelivered(messageModel, 1L), redelivered(second, 2L)));
+
+        verify(update).put("test-feature", switchModel);
+        verify(update).put("feature-2", switchModel);
+        verify(update).publish();
+        assertEquals(0, tracker.getDuplicates());
+
+        // once applied, the same numbers delivered again are duplicates unless flagged as redelivered
+        switchConsumer.onFlagChanges(List.of(sequenced(messageModel, 1L), sequenced(second, 2L)));
+        assertEquals(2, tracker.getDuplicates());
+        switchConsumer.onFlagChanges(List.of(redelivered(messageModel, 1L), redelivered(second, 2L)));
+        verify(sharedDataStoreComponent, times(3)).beginUpdate();
+    }
+
+    @Test
+    void testSequenceOf_AcceptsNumbersAndNumericStrings() {
+        assertEquals(42L, SwitchConsumer.sequenceOf(42));
+        assertEquals(42L, SwitchConsumer.sequenceOf(42L));
+        assertEquals(42L, SwitchConsumer.sequenceOf(" 42 "));
+        assertNull(SwitchConsumer.sequenceOf("abc"));
+        assertNull(SwitchConsumer.sequenceOf(null));
+    }
+
+    private static Message<MessageModel> redelivered(MessageModel model, long sequence) {
+        return MessageBuilder.fromMessage(sequenced(model, sequence))
+                .setHeader(AmqpHeaders.REDELIVERED, true)
+                .build();
+    }
+
+    private static Message<MessageModel> sequenced(MessageModel model, Object sequence) {
+        return MessageBuilder.withPayload(model)
+                .setHeader(SwitchHubConstants.RabbitMQ.SEQUENCE_HEADER, sequence)
+                .build();
     }
 }
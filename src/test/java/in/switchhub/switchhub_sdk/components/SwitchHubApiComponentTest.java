@@ -4,6 +4,7 @@ import in.switchhub.switchhub_sdk.config.EnvConfig;
 import in.switchhub.switchhub_sdk.dtos.FetchSwitchRequestDto;
 import in.switchhub.switchhub_sdk.dtos.FetchSwitchResponseDto;
 import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.util.SwitchDetailsStreamReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,11 +14,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +43,9 @@ class SwitchHubApiComponentTest {
     @Mock
     private EnvConfig envConfig;
 
+    @Mock
+    private BackendCircuitBreaker backendCircuitBreaker;
+
     @InjectMocks
     private SwitchHubApiComponent switchHubApiComponent;
 
@@ -42,6 +54,7 @@ class SwitchHubApiComponentTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(backendCircuitBreaker.allowRequest()).thenReturn(true);
         requestDto = new FetchSwitchRequestDto(Arrays.asList("feature-1", "feature-2"));
 
         Map<String, SwitchModel> switchDetails = new HashMap<>();
@@ -201,4 +214,119 @@ class SwitchHubApiComponentTest {
 
         verify(restTemplate, times(3)).postForObject(anyString(), any(), eq(FetchSwitchResponseDto.class));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFetchSwitch_Streaming() throws Exception {
+        when(envConfig.getSwitchHubBackendBaseUrl()).thenReturn("http://localhost:8080");
+        RequestCallback requestCallback = request -> { };
+        when(restTemplate.httpEntityCallback(any())).thenReturn(requestCallback);
+        MockClientHttpResponse response = new MockClientHttpResponse(
+                "{\"switchDetails\":{\"feature-1\":{\"switchId\":\"switch-1\"}},\"removedSwitches\":[\"feature-2\"]}"
+                        .getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        response.getHeaders().setETag("\"v2\"");
+        stubExecute(requestCallback, response);
+        SwitchDetailsStreamReader.Sink sink = mock(SwitchDetailsStreamReader.Sink.class);
+
+        String syncToken = switchHubApiComponent.fetchSwitch(requestDto, "production", "my-app", "\"v1\"", sink);
+
+        assertEquals("\"v2\"", syncToken);
+        verify(sink).put(eq("feature-1"), argThat(model -> "switch-1".equals(model.getSwitchId())));
+        verify(sink).remove("feature-2");
+
+        ArgumentCaptor<HttpEntity<?>> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).httpEntityCallback(entityCaptor.capture());
+        verify(restTemplate).execute(eq("http://localhost:8080/fetchswitch"), eq(HttpMethod.POST), eq(requestCallback), any(ResponseExtractor.class));
+        HttpHeaders headers = entityCaptor.getValue().getHeaders();
+        assertEquals("production", headers.getFirst("environmentName"));
+        assertEquals("my-app", headers.getFirst("applicationName"));
+        assertEquals(List.of("\"v1\""), headers.getIfNoneMatch());
+        assertEquals(requestDto, entityCaptor.getValue().getBody());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFetchSwitch_NotModified() throws Exception {
+        when(envConfig.getSwitchHubBackendBaseUrl()).thenReturn("http://localhost:8080");
+        RequestCallback requestCallback = request -> { };
+        when(restTemplate.httpEntityCallback(any())).thenReturn(requestCallback);
+        stubExecute(requestCallback, new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED));
+        SwitchDetailsStreamReader.Sink sink = mock(SwitchDetailsStreamReader.Sink.class);
+
+        String syncToken = switchHubApiComponent.fetchSwitch(requestDto, "production", "my-app", "\"v1\"", sink);
+
+        assertEquals("\"v1\"", syncToken);
+        verifyNoInteractions(sink);
+    }
+
+    @Test
+    void testFetchSwitch_NoSyncTokenSendsNoIfNoneMatch() {
+        when(envConfig.getSwitchHubBackendBaseUrl()).thenReturn("http://localhost:8080");
+
+        switchHubApiComponent.fetchSwitch(requestDto, "production", "my-app", null,
+                mock(SwitchDetailsStreamReader.Sink.class));
+
+        ArgumentCaptor<HttpEntity<?>> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).httpEntityCallback(entityCaptor.capture());
+        assertTrue(entityCaptor.getValue().getHeaders().getIfNoneMatch().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubExecute(RequestCallback requestCallback, MockClientHttpResponse response) {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), eq(requestCallback), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<String> extractor = invocation.getArgument(3);
+                    return extractor.extractData(response);
+                });
+    }
+
+    @Test
+    void testFetchSwitch_RecordsSuccessWithCircuitBreaker() {
+        when(envConfig.getSwitchHubBackendBaseUrl()).thenReturn("http://localhost:8080");
+        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(FetchSwitchResponseDto.class)))
+                .thenReturn(expectedResponse);
+
+        switchHubApiComponent.fetchSwitch(requestDto, "production", "my-app");
+
+        verify(backendCircuitBreaker).recordSuccess();
+        verify(backendCircuitBreaker, never()).recordFailure();
+    }
+
+    @Test
+    void testFetchSwitch_RecordsFailureWithCircuitBreaker() {
+        when(envConfig.getSwitchHubBackendBaseUrl()).thenReturn("http://localhost:8080");
+        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(FetchSwitchResponseDto.class)))
+                .thenThrow(new RuntimeException("Connection refused"));
+
+        assertThrows(RuntimeException.class, () -> switchHubApiComponent.fetchSwitch(requestDto, "production", "my-app"));
+
+        verify(backendCircuitBreaker).recordFailure();
+        verify(backendCircuitBreaker, never()).recordSuccess();
+    }
+
+    @Test
+    void testFetchSwitch_RecordsFailureOnError() {
+        when(envConfig.getSwitchHubBackendBaseUrl()).thenReturn("http://localhost:8080");
+        when(restTemplate.postForObject(anyString(), any(HttpEntity.class), eq(FetchSwitchResponseDto.class)))
+                .thenThrow(new StackOverflowError());
+
+        assertThrows(StackOverflowError.class, () -> switchHubApiComponent.fetchSwitch(requestDto, "production", "my-app"));
+
+        verify(backendCircuitBreaker).recordFailure();
+        verify(backendCircuitBreaker, never()).recordSuccess();
+    }
+
+    @Test
+    void testFetchSwitch_FailsFastWhenCircuitOpen() {
+        when(envConfig.getSwitchHubBackendBaseUrl()).thenReturn("http://localhost:8080");
+        when(backendCircuitBreaker.allowRequest()).thenReturn(false);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> switchHubApiComponent.fetchSwitch(requestDto, "production", "my-app", null,
+                        mock(SwitchDetailsStreamReader.Sink.class)));
+
+        assertEquals("SwitchHub backend circuit breaker is open", exception.getMessage());
+        verifyNoInteractions(restTemplate);
+        verify(backendCircuitBreaker, never()).recordFailure();
+    }
 }
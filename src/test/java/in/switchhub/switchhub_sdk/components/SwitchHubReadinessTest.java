@@ -0,0 +1,68 @@
+package in.switchhub.switchhub_sdk.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwitchHubReadinessTest {
+
+    @Test
+    void testInitialState() {
+        SwitchHubReadiness readiness = new SwitchHubReadiness();
+
+        assertEquals(SwitchHubReadiness.State.STARTING, readiness.getState());
+        assertFalse(readiness.isReady());
+        assertFalse(readiness.whenStarted().isDone());
+    }
+
+    @Test
+    void testReadyWhenBothTasksSucceed() {
+        SwitchHubReadiness readiness = new SwitchHubReadiness();
+
+        readiness.switchesLoaded(true);
+        assertEquals(SwitchHubReadiness.State.STARTING, readiness.getState());
+
+        readiness.updateSourcesConnected(true);
+        assertTrue(readiness.isReady());
+        assertEquals(SwitchHubReadiness.State.READY, readiness.whenStarted().join());
+    }
+
+    @Test
+    void testDegradedWhenAnyTaskFails() {
+        SwitchHubReadiness readiness = new SwitchHubReadiness();
+
+        readiness.switchesLoaded(false);
+        readiness.updateSourcesConnected(true);
+
+        assertEquals(SwitchHubReadiness.State.DEGRADED, readiness.getState());
+        assertFalse(readiness.isReady());
+    }
+
+    @Test
+    void testAwaitStarted_TimesOut() {
+        SwitchHubReadiness readiness = new SwitchHubReadiness();
+
+        assertEquals(SwitchHubReadiness.State.STARTING, readiness.awaitStarted(10));
+    }
+
+    @Test
+    void testAwaitStarted_CompletesFromOtherThreads() {
+        SwitchHubReadiness readiness = new SwitchHubReadiness();
+
+        CompletableFuture.runAsync(() -> readiness.switchesLoaded(true));
+        CompletableFuture.runAsync(() -> readiness.updateSourcesConnected(true));
+
+        assertEquals(SwitchHubReadiness.State.READY, readiness.awaitStarted(5000));
+    }
+
+    @Test
+    void testWhenStarted_CannotBeCompletedByCallers() {
+        SwitchHubReadiness readiness = new SwitchHubReadiness();
+
+        readiness.whenStarted().complete(SwitchHubReadiness.State.READY);
+
+        assertEquals(SwitchHubReadiness.State.STARTING, readiness.getState());
+    }
+}
@@ -0,0 +1,181 @@
+package in.switchhub.switchhub_sdk.components;
+
+import in.switchhub.switchhub_sdk.config.EnvConfig;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.util.SwitchCounters;
+import in.switchhub.switchhub_sdk.util.SwitchUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SwitchMetricsComponentTest {
+
+    @Mock
+    private EnvConfig envConfig;
+
+    @InjectMocks
+    private SwitchMetricsComponent switchMetricsComponent;
+
+    @Test
+    void testCountersFor_ReturnsSameInstance() {
+        when(envConfig.isSwitchHubSdkMetricsEnabled()).thenReturn(true);
+
+        SwitchCounters counters = switchMetricsComponent.countersFor("test-switch");
+
+        assertNotNull(counters);
+        assertSame(counters, switchMetricsComponent.countersFor("test-switch"));
+        assertSame(counters, switchMetricsComponent.getCounters("test-switch"));
+    }
+
+    @Test
+    void testCountersFor_Disabled() {
+        when(envConfig.isSwitchHubSdkMetricsEnabled()).thenReturn(false);
+
+        assertNull(switchMetricsComponent.countersFor("test-switch"));
+        switchMetricsComponent.recordMissing("test-switch");
+        assertTrue(switchMetricsComponent.getAllCounters().isEmpty());
+    }
+
+    @Test
+    void testStartSample_DisabledByDefaultRate() {
+        when(envConfig.getSwitchHubSdkMetricsLatencySampleRate()).thenReturn(0);
+
+        assertEquals(0L, switchMetricsComponent.startSample());
+    }
+
+    @Test
+    void testStartSample_EveryEvaluation() {
+        when(envConfig.getSwitchHubSdkMetricsLatencySampleRate()).thenReturn(1);
+        when(envConfig.isSwitchHubSdkMetricsEnabled()).thenReturn(true);
+
+        long start = switchMetricsComponent.startSample();
+        assertNotEquals(0L, start);
+
+        switchMetricsComponent.stopSample(start);
+        assertEquals(1, switchMetricsComponent.getLatencyHistogram().getCount());
+    }
+
+    @Test
+    void testListener_NotifiedForNewAndExistingCounters() {
+        when(envConfig.isSwitchHubSdkMetricsEnabled()).thenReturn(true);
+        switchMetricsComponent.countersFor("existing-switch").record("default", true);
+
+        List<String> events = new ArrayList<>();
+        switchMetricsComponent.addListener(new SwitchMetricsComponent.Listener() {
+            @Override
+            public void onSwitchCounters(SwitchCounters counters) {
+                events.add("switch:" + counters.getSwitchName());
+            }
+
+            @Override
+            public void onResultCounters(SwitchCounters counters, String meteredKey) {
+                events.add("key:" + counters.getSwitchName() + ":" + meteredKey);
+            }
+        });
+        SwitchCounters counters = switchMetricsComponent.countersFor("new-switch");
+        counters.record("premium", false);
+        counters.record("premium", true);
+
+        assertEquals(List.of("switch:existing-switch", "key:existing-switch:default",
+                "switch:new-switch", "key:new-switch:premium"), events);
+    }
+
+    @Test
+    void testEvaluationsAreCounted() {
+        when(envConfig.isSwitchHubSdkMetricsEnabled()).thenReturn(true);
+        SharedDataStoreComponent store = new SharedDataStoreComponent();
+        ReflectionTestUtils.setField(store, "switchMetricsComponent", switchMetricsComponent);
+        SwitchUtil switchUtil = new SwitchUtil();
+        ReflectionTestUtils.setField(switchUtil, "sharedDataStoreComponent", store);
+        ReflectionTestUtils.setField(switchUtil, "switchMetricsComponent", switchMetricsComponent);
+
+        SwitchModel switchModel = new SwitchModel();
+        switchModel.setStatus(true);
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 0), "premium", Map.of("trueValue", 100)));
+        store.putDataMap("metered-switch", switchModel);
+
+        switchUtil.getSwitchValue("metered-switch", null);
+        switchUtil.getSwitchValue("metered-switch", Map.of("subKey", "premium"));
+        switchUtil.getSwitchValue("metered-switch", Map.of("subKey", "premium", "bucketBy", "user-1"));
+        switchUtil.getSwitchValue("metered-switch", Map.of("subKey", "unknown"));
+        switchUtil.getSwitchValue("missing-switch", null);
+
+        SwitchCounters counters = switchMetricsComponent.getCounters("metered-switch");
+        assertEquals(4, counters.getEvaluations());
+        assertEquals(2, counters.getResultCounters().get("default").getFalseResults());
+        assertEquals(2, counters.getResultCounters().get("premium").getTrueResults());
+        assertEquals(1, counters.getFallbackHits());
+        assertNull(switchMetricsComponent.getCounters("missing-switch"));
+        assertEquals(1, switchMetricsComponent.getUnknownMissingHits());
+    }
+
+    @Test
+    void testRecordMissing_UnknownNamesShareOneCounter() {
+        when(envConfig.isSwitchHubSdkMetricsEnabled()).thenReturn(true);
+        SwitchCounters known = switchMetricsComponent.countersFor("known-switch");
+
+        switchMetricsComponent.recordMissing("known-switch");
+        for (int i = 0; i < 100; i++) {
+            switchMetricsComponent.recordMissing("unknown-" + i);
+        }
+
+        assertEquals(1, known.getMissingHits());
+        assertEquals(100, switchMetricsComponent.getUnknownMissingHits());
+        assertEquals(1, switchMetricsComponent.getAllCounters().size());
+    }
+
+    @Test
+    void testCountersSurviveSwitchUpdates() {
+        when(envConfig.isSwitchHubSdkMetricsEnabled()).thenReturn(true);
+        SharedDataStoreComponent store = new SharedDataStoreComponent();
+        ReflectionTestUtils.setField(store, "switchMetricsComponent", switchMetricsComponent);
+
+        store.putDataMap("test-switch", new SwitchModel());
+        SwitchCounters before = store.getCompiledSwitch("test-switch").getCounters();
+        store.putDataMap("test-switch", new SwitchModel());
+
+        assertSame(before, store.getCompiledSwitch("test-switch").getCounters());
+    }
+
+    @Test
+    void testRecordDrift() {
+        when(envConfig.isSwitchHubSdkMetricsEnabled()).thenReturn(true, true, false);
+
+        switchMetricsComponent.recordDrift(2);
+        switchMetricsComponent.recordDrift(3);
+        switchMetricsComponent.recordDrift(4);
+
+        assertEquals(5, switchMetricsComponent.getDriftedSwitches());
+    }
+
+    @Test
+    void testRecordStale() {
+        when(envConfig.isSwitchHubSdkMetricsEnabled()).thenReturn(true, false);
+
+        switchMetricsComponent.recordStale(2);
+        switchMetricsComponent.recordStale(3);
+
+        assertEquals(2, switchMetricsComponent.getStaleUpdates());
+    }
+
+    @Test
+    void testRecordInvalid_CountsOnlyWhenEnabled() {
+        when(envConfig.isSwitchHubSdkMetricsEnabled()).thenReturn(true, false);
+
+        switchMetricsComponent.recordInvalid(1);
+        switchMetricsComponent.recordInvalid(4);
+
+        assertEquals(1, switchMetricsComponent.getInvalidUpdates());
+    }
+}
@@ -98,4 +98,95 @@ class EnvConfigTest {
     void testSwitchHubSdkEnvironmentName() {
         assertEquals("dev", envConfig.getSwitchHubSdkEnvironmentName());
     }
+
+    @Test
+    void testSwitchHubSdkMetricsEnabledDefault() {
+        assertTrue(envConfig.isSwitchHubSdkMetricsEnabled());
+    }
+
+    @Test
+    void testSwitchHubSdkMetricsLatencySampleRateDefault() {
+        assertEquals(0, envConfig.getSwitchHubSdkMetricsLatencySampleRate());
+    }
+
+    @Test
+    void testSwitchHubSdkMissingSwitchReportIntervalSecondsDefault() {
+        assertEquals(60, envConfig.getSwitchHubSdkMissingSwitchReportIntervalSeconds());
+    }
+
+    @Test
+    void testSwitchHubSdkSnapshotDefaults() {
+        assertFalse(envConfig.isSwitchHubSdkSnapshotEnabled());
+        assertTrue(envConfig.getSwitchHubSdkSnapshotDirectory().endsWith("switchhub"));
+        assertEquals(1000, envConfig.getSwitchHubSdkSnapshotWriteDelayMillis());
+    }
+
+    @Test
+    void testSwitchHubSdkStartupReadinessTimeoutMillisDefault() {
+        assertEquals(0, envConfig.getSwitchHubSdkStartupReadinessTimeoutMillis());
+    }
+
+    @Test
+    void testSwitchHubBackendHttpClientDefaults() {
+        assertEquals(2000, envConfig.getSwitchHubBackendConnectTimeoutMillis());
+        assertEquals(10000, envConfig.getSwitchHubBackendReadTimeoutMillis());
+        assertTrue(envConfig.isSwitchHubBackendHttp2Enabled());
+        assertTrue(envConfig.isSwitchHubBackendGzipEnabled());
+    }
+
+    @Test
+    void testSwitchHubSdkFetchDefaults() {
+        assertEquals(500, envConfig.getSwitchHubSdkFetchChunkSize());
+        assertEquals(4, envConfig.getSwitchHubSdkFetchMaxConcurrency());
+        assertTrue(envConfig.isSwitchHubSdkFetchStreaming());
+        assertTrue(envConfig.isSwitchHubSdkFetchConditional());
+    }
+
+    @Test
+    void testSwitchHubSdkLazyFetchDefaults() {
+        assertFalse(envConfig.isSwitchHubSdkLazyFetchEnabled());
+        assertFalse(envConfig.isSwitchHubSdkLazyFetchDefaultValue());
+        assertEquals(10, envConfig.getSwitchHubSdkLazyFetchBatchWindowMillis());
+        assertEquals(60000, envConfig.getSwitchHubSdkLazyFetchRetryAfterMillis());
+    }
+
+    @Test
+    void testSwitchHubSdkConsumerDefaults() {
+        assertEquals(100, envConfig.getSwitchHubSdkConsumerBatchSize());
+        assertEquals(100, envConfig.getSwitchHubSdkConsumerReceiveTimeoutMillis());
+        assertEquals(1, envConfig.getSwitchHubSdkConsumerConcurrency());
+        assertEquals(250, envConfig.getSwitchHubSdkConsumerPrefetch());
+        assertEquals(0, envConfig.getSwitchHubSdkConsumerStripes());
+        assertEquals(2000, envConfig.getSwitchHubSdkConsumerSequenceGapGraceMillis());
+        assertEquals(1000, envConfig.getSwitchHubSdkConsumerSequenceMaxTrackedGap());
+        assertFalse(envConfig.isSwitchHubSdkConsumerBroadcastEnabled());
+        assertEquals(300000, envConfig.getSwitchHubSdkConsumerBroadcastQueueExpiresMillis());
+        assertEquals("", envConfig.getSwitchHubSdkInstanceId());
+        assertFalse(envConfig.isSwitchHubSdkMessagingBinaryEncoding());
+    }
+
+    @Test
+    void testSwitchHubSdkUpdatesDefaults() {
+        assertEquals("rabbitmq", envConfig.getSwitchHubSdkUpdatesSource());
+        assertEquals("", envConfig.getSwitchHubSdkUpdatesSseUrl());
+        assertEquals(60000, envConfig.getSwitchHubSdkUpdatesSseIdleTimeoutMillis());
+        assertEquals(1000, envConfig.getSwitchHubSdkUpdatesSseReconnectInitialBackoffMillis());
+        assertEquals(30000, envConfig.getSwitchHubSdkUpdatesSseReconnectMaxBackoffMillis());
+        assertEquals("", envConfig.getSwitchHubSdkUpdatesFilePath());
+    }
+
+    @Test
+    void testSwitchHubSdkReconciliationDefaults() {
+        assertEquals(300, envConfig.getSwitchHubSdkReconciliationIntervalSeconds());
+        assertEquals(0.5, envConfig.getSwitchHubSdkReconciliationJitter());
+    }
+
+    @Test
+    void testSwitchHubFetchRetryAndCircuitBreakerDefaults() {
+        assertEquals(500, envConfig.getSwitchHubSdkFetchRetryInitialBackoffMillis());
+        assertEquals(30000, envConfig.getSwitchHubSdkFetchRetryMaxBackoffMillis());
+        assertEquals(300000, envConfig.getSwitchHubSdkFetchRetryMaxElapsedMillis());
+        assertEquals(5, envConfig.getSwitchHubBackendCircuitBreakerFailureThreshold());
+        assertEquals(30000, envConfig.getSwitchHubBackendCircuitBreakerOpenMillis());
+    }
 }
@@ -7,13 +7,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import in.switchhub.switchhub_sdk.util.SwitchMessageConverter;
 import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.MessageConverter;
-import com.rabbitmq.client.Channel;
+
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.net.Socket;
 
@@ -130,46 +138,45 @@ class RabbitMQConfigTest {
     }
 
     @Test
-    void testJsonMessageConverter() {
-        MessageConverter messageConverter = rabbitMQConfig.jsonMessageConverter();
+    void testSwitchHubMessageConverter() {
+        MessageConverter messageConverter = rabbitMQConfig.switchHubMessageConverter();
 
         assertNotNull(messageConverter);
-        assertEquals("org.springframework.amqp.support.converter.Jackson2JsonMessageConverter",
-                messageConverter.getClass().getName());
+        assertInstanceOf(SwitchMessageConverter.class, messageConverter);
+    }
+
+    @Test
+    void testSwitchHubMessageConverter_WritesJsonUnlessBinaryEncodingEnabled() {
+        MessageModel messageModel = new MessageModel("test-feature", new SwitchModel());
+
+        Message json = rabbitMQConfig.switchHubMessageConverter().toMessage(messageModel, new MessageProperties());
+        when(envConfig.isSwitchHubSdkMessagingBinaryEncoding()).thenReturn(true);
+        Message binary = rabbitMQConfig.switchHubMessageConverter().toMessage(messageModel, new MessageProperties());
+
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, json.getMessageProperties().getContentType());
+        assertEquals("application/x-switchhub-message", binary.getMessageProperties().getContentType());
     }
 
     @Test
     void testRabbitTemplate_Configuration() throws Exception {
-        // Mock the connection factory
         CachingConnectionFactory cachingConnectionFactory = mock(CachingConnectionFactory.class);
-        org.springframework.amqp.rabbit.connection.Connection mockConnection =
-                mock(org.springframework.amqp.rabbit.connection.Connection.class);
-        Channel mockChannel = mock(Channel.class);
-
-        when(cachingConnectionFactory.createConnection()).thenReturn(mockConnection);
-        when(mockConnection.createChannel(false)).thenReturn(mockChannel);
 
-        MessageConverter messageConverter = rabbitMQConfig.jsonMessageConverter();
+        MessageConverter messageConverter = rabbitMQConfig.switchHubMessageConverter();
 
         RabbitTemplate rabbitTemplate = rabbitMQConfig.rabbitTemplate(
                 cachingConnectionFactory, messageConverter);
 
         assertNotNull(rabbitTemplate);
         assertEquals(messageConverter, rabbitTemplate.getMessageConverter());
-        verify(cachingConnectionFactory).createConnection();
     }
 
     @Test
-    void testRabbitTemplate_ConnectionFailure() throws Exception {
+    void testRabbitTemplate_DoesNotConnectEagerly() throws Exception {
         CachingConnectionFactory cachingConnectionFactory = mock(CachingConnectionFactory.class);
 
-        when(cachingConnectionFactory.createConnection()).thenThrow(new RuntimeException("Connection failed"));
+        assertDoesNotThrow(() -> rabbitMQConfig.rabbitTemplate(cachingConnectionFactory, rabbitMQConfig.switchHubMessageConverter()));
 
-        MessageConverter messageConverter = rabbitMQConfig.jsonMessageConverter();
-
-        assertThrows(RuntimeException.class, () -> {
-            rabbitMQConfig.rabbitTemplate(cachingConnectionFactory, messageConverter);
-        });
+        verify(cachingConnectionFactory, never()).createConnection();
     }
 
     @Test
@@ -216,6 +223,47 @@ class RabbitMQConfigTest {
         assertEquals("queue.staging.api-service", queue.getName());
     }
 
+    @Test
+    void testQueue_SharedByDefault() {
+        Queue queue = rabbitMQConfig.queue();
+
+        assertFalse(queue.isExclusive());
+        assertFalse(queue.isAutoDelete());
+        assertTrue(queue.getArguments().isEmpty());
+    }
+
+    @Test
+    void testQueue_BroadcastDeclaresExclusiveQueuePerInstance() {
+        when(envConfig.isSwitchHubSdkConsumerBroadcastEnabled()).thenReturn(true);
+        when(envConfig.getSwitchHubSdkInstanceId()).thenReturn("pod-7");
+        when(envConfig.getSwitchHubSdkConsumerBroadcastQueueExpiresMillis()).thenReturn(60000L);
+
+        Queue queue = rabbitMQConfig.queue();
+        Binding binding = rabbitMQConfig.binding(queue, rabbitMQConfig.exchange());
+
+        assertEquals("queue.dev.test-app.pod-7", queue.getName());
+        assertFalse(queue.isDurable());
+        assertTrue(queue.isExclusive());
+        assertTrue(queue.isAutoDelete());
+        assertEquals(60000L, queue.getArguments().get("x-expires"));
+        assertEquals("queue.dev.test-app.pod-7", binding.getDestination());
+        assertEquals("app.dev.test-app", binding.getRoutingKey());
+    }
+
+    @Test
+    void testQueue_BroadcastWithoutInstanceIdUsesUniqueName() {
+        when(envConfig.isSwitchHubSdkConsumerBroadcastEnabled()).thenReturn(true);
+        when(envConfig.getSwitchHubSdkInstanceId()).thenReturn("");
+        when(envConfig.getSwitchHubSdkConsumerBroadcastQueueExpiresMillis()).thenReturn(0L);
+
+        Queue first = rabbitMQConfig.queue();
+        Queue second = rabbitMQConfig.queue();
+
+        assertTrue(first.getName().startsWith("queue.dev.test-app."));
+        assertNotEquals(first.getName(), second.getName());
+        assertFalse(first.getArguments().containsKey("x-expires"));
+    }
+
     @Test
     void testBinding_WithDefaultConfiguration() {
         Queue queue = rabbitMQConfig.queue();
@@ -332,4 +380,59 @@ class RabbitMQConfigTest {
         verify(mockSocket).setKeepAlive(true);
         verify(mockSocket).setSoTimeout(anyInt());
     }
+
+    @Test
+    void testSwitchHubListenerContainerFactory_ConsumesInBatches() {
+        when(envConfig.getSwitchHubSdkConsumerBatchSize()).thenReturn(500);
+        when(envConfig.getSwitchHubSdkConsumerReceiveTimeoutMillis()).thenReturn(50L);
+        when(envConfig.getSwitchHubSdkConsumerConcurrency()).thenReturn(3);
+        when(envConfig.getSwitchHubSdkConsumerStripes()).thenReturn(4);
+        when(envConfig.getSwitchHubSdkConsumerPrefetch()).thenReturn(250);
+        CachingConnectionFactory connectionFactory = mock(CachingConnectionFactory.class);
+        MessageConverter messageConverter = rabbitMQConfig.switchHubMessageConverter();
+
+        SimpleRabbitListenerContainerFactory factory =
+                rabbitMQConfig.switchHubListenerContainerFactory(connectionFactory, messageConverter);
+        SimpleMessageListenerContainer container = factory.createListenerContainer();
+
+        assertTrue(container.isConsumerBatchEnabled());
+        assertEquals(500, ReflectionTestUtils.getField(container, "batchSize"));
+        assertEquals(50L, ReflectionTestUtils.getField(container, "receiveTimeout"));
+        assertEquals(50L, ReflectionTestUtils.getField(container, "batchReceiveTimeout"));
+        assertEquals(500, ReflectionTestUtils.getField(container, "prefetchCount"));
+        assertEquals(3, ReflectionTestUtils.getField(container, "concurrentConsumers"));
+        assertSame(connectionFactory, container.getConnectionFactory());
+        // started by the rabbitmq update source, not by context refresh
+        assertFalse(container.isAutoStartup());
+    }
+
+    @Test
+    void testSwitchHubListenerContainerFactory_PrefetchNeverBelowBatchSize() {
+        when(envConfig.getSwitchHubSdkConsumerBatchSize()).thenReturn(0);
+        when(envConfig.getSwitchHubSdkConsumerReceiveTimeoutMillis()).thenReturn(100L);
+        when(envConfig.getSwitchHubSdkConsumerPrefetch()).thenReturn(250);
+
+        SimpleMessageListenerContainer container = rabbitMQConfig
+                .switchHubListenerContainerFactory(mock(CachingConnectionFactory.class), rabbitMQConfig.switchHubMessageConverter())
+                .createListenerContainer();
+
+        assertEquals(1, ReflectionTestUtils.getField(container, "batchSize"));
+        assertEquals(250, ReflectionTestUtils.getField(container, "prefetchCount"));
+        assertEquals(1, ReflectionTestUtils.getField(container, "concurrentConsumers"));
+    }
+
+    @Test
+    void testSwitchHubListenerContainerFactory_SingleConsumerWithoutStripes() {
+        when(envConfig.getSwitchHubSdkConsumerBatchSize()).thenReturn(100);
+        when(envConfig.getSwitchHubSdkConsumerReceiveTimeoutMillis()).thenReturn(100L);
+        when(envConfig.getSwitchHubSdkConsumerConcurrency()).thenReturn(3);
+        when(envConfig.getSwitchHubSdkConsumerStripes()).thenReturn(0);
+        when(envConfig.getSwitchHubSdkConsumerPrefetch()).thenReturn(250);
+
+        SimpleMessageListenerContainer container = rabbitMQConfig
+                .switchHubListenerContainerFactory(mock(CachingConnectionFactory.class), rabbitMQConfig.switchHubMessageConverter())
+                .createListenerContainer();
+
+        assertEquals(1, ReflectionTestUtils.getField(container, "concurrentConsumers"));
+    }
 }
@@ -1,13 +1,33 @@
 package in.switchhub.switchhub_sdk.config;
 
+import in.switchhub.switchhub_sdk.util.GzipResponseInterceptor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.web.client.RestTemplate;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest(classes = RestTemplateConfig.class)
+@SpringBootTest(classes = {RestTemplateConfig.class, EnvConfig.class})
+@TestPropertySource(properties = {
+        "rabbitmq.hostName=localhost",
+        "rabbitmq.port=5672",
+        "rabbitmq.userName=guest",
+        "rabbitmq.virtualHost=/",
+        "rabbitmq.password=guest",
+        "rabbitmq.sslProtocolEnabled=false",
+        "rabbitmq.automaticRecoveryEnabled=true",
+        "rabbitmq.requestedHeartBeat=30",
+        "rabbitmq.connectionTimeout=60000",
+        "rabbitmq.networkRecoveryInterval=5000",
+        "rabbitmq.topologyRecoverEnabled=true",
+        "switchHub.backend.baseUrl=http://localhost:8080",
+        "switchHub.sdk.switches=feature1",
+        "switchHub.sdk.applicationName=test-app",
+        "switchHub.sdk.environmentName=dev"
+})
 class RestTemplateConfigTest {
 
     @Autowired
@@ -30,4 +50,11 @@ class RestTemplateConfigTest {
             restTemplate.getClass();
         });
     }
+
+    @Test
+    void testRestTemplateRequestsGzip() {
+        assertEquals(1, restTemplate.getInterceptors().size());
+        assertInstanceOf(GzipResponseInterceptor.class, restTemplate.getInterceptors().get(0));
+        assertInstanceOf(InterceptingClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+    }
 }
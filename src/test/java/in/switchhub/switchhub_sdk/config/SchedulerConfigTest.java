@@ -0,0 +1,57 @@
+package in.switchhub.switchhub_sdk.config;
+
+import in.switchhub.switchhub_sdk.util.StripedExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SchedulerConfigTest {
+
+    @Test
+    void testSwitchHubScheduler_UsesNamedDaemonThread() throws Exception {
+        ScheduledExecutorService scheduler = new SchedulerConfig().switchHubScheduler();
+        try {
+            Thread thread = scheduler.submit(Thread::currentThread).get();
+
+            assertTrue(thread.isDaemon());
+            assertEquals("switchhub-scheduler", thread.getName());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSwitchHubWorkerExecutor_UsesNamedDaemonThreads() throws Exception {
+        ExecutorService executor = new SchedulerConfig().switchHubWorkerExecutor();
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get();
+
+            assertTrue(thread.isDaemon());
+            assertTrue(thread.getName().startsWith("switchhub-worker-"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSwitchHubStripedExecutor_UsesConfiguredNamedDaemonLanes() throws Exception {
+        EnvConfig envConfig = mock(EnvConfig.class);
+        when(envConfig.getSwitchHubSdkConsumerStripes()).thenReturn(3);
+        StripedExecutor executor = new SchedulerConfig().switchHubStripedExecutor(envConfig);
+        try {
+            Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executor.stripe(2)).get();
+
+            assertEquals(3, executor.getStripeCount());
+            assertTrue(thread.isDaemon());
+            assertTrue(thread.getName().startsWith("switchhub-stripe-"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
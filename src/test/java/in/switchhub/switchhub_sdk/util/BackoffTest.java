@@ -0,0 +1,37 @@
+package in.switchhub.switchhub_sdk.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackoffTest {
+
+    @Test
+    void testCeilingMillis_DoublesUpToCap() {
+        assertEquals(100, Backoff.ceilingMillis(0, 100, 1_000));
+        assertEquals(200, Backoff.ceilingMillis(1, 100, 1_000));
+        assertEquals(800, Backoff.ceilingMillis(3, 100, 1_000));
+        assertEquals(1_000, Backoff.ceilingMillis(4, 100, 1_000));
+        assertEquals(1_000, Backoff.ceilingMillis(500, 100, 1_000));
+    }
+
+    @Test
+    void testCeilingMillis_NoOverflow() {
+        assertEquals(Long.MAX_VALUE, Backoff.ceilingMillis(200, Long.MAX_VALUE / 2, Long.MAX_VALUE));
+        assertEquals(0, Backoff.ceilingMillis(3, 0, 1_000));
+    }
+
+    @Test
+    void testFullJitterDelayMillis_SpreadsOverWholeWindow() {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < 10_000; i++) {
+            long delay = Backoff.fullJitterDelayMillis(3, 100, 1_000);
+            min = Math.min(min, delay);
+            max = Math.max(max, delay);
+        }
+
+        assertTrue(min >= 0 && min < 50, "min " + min);
+        assertTrue(max <= 800 && max > 750, "max " + max);
+    }
+}
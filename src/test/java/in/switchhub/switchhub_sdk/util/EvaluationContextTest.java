@@ -0,0 +1,72 @@
+package in.switchhub.switchhub_sdk.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationContextTest {
+
+    @Test
+    void testFluentSetters() {
+        EvaluationContext context = new EvaluationContext()
+                .subKey("premium")
+                .bucketBy("user-1")
+                .userId("user-1")
+                .tenantId("tenant-9");
+
+        assertEquals("premium", context.getSubKey());
+        assertEquals("user-1", context.getBucketBy());
+        assertEquals("user-1", context.getUserId());
+        assertEquals("tenant-9", context.getTenantId());
+        assertEquals("premium", context.getContextKey());
+    }
+
+    @Test
+    void testContextKey_DefaultsWhenSubKeyMissing() {
+        assertEquals("default", new EvaluationContext().getContextKey());
+    }
+
+    @Test
+    void testBucketingId_FallsBackToUserThenTenant() {
+        EvaluationContext context = new EvaluationContext().tenantId("tenant-9");
+        assertEquals("tenant-9", context.getBucketingId());
+
+        context.userId("user-1");
+        assertEquals("user-1", context.getBucketingId());
+
+        context.bucketBy("account-3");
+        assertEquals("account-3", context.getBucketingId());
+
+        assertNull(context.clear().getBucketingId());
+    }
+
+    @Test
+    void testClear() {
+        EvaluationContext context = new EvaluationContext().subKey("premium").bucketBy("user-1").userId("u").tenantId("t");
+
+        assertSame(context, context.clear());
+        assertNull(context.getSubKey());
+        assertNull(context.getBucketBy());
+        assertNull(context.getUserId());
+        assertNull(context.getTenantId());
+    }
+
+    @Test
+    void testForCurrentThread_ReusesClearedInstance() {
+        EvaluationContext first = EvaluationContext.forCurrentThread().subKey("premium");
+        EvaluationContext second = EvaluationContext.forCurrentThread();
+
+        assertSame(first, second);
+        assertNull(second.getSubKey());
+    }
+
+    @Test
+    void testForCurrentThread_DifferentThreadsGetDifferentInstances() throws Exception {
+        EvaluationContext mine = EvaluationContext.forCurrentThread();
+        EvaluationContext other = CompletableFuture.supplyAsync(EvaluationContext::forCurrentThread).get();
+
+        assertNotSame(mine, other);
+    }
+}
@@ -0,0 +1,89 @@
+package in.switchhub.switchhub_sdk.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GzipResponseInterceptorTest {
+
+    @Mock
+    private ClientHttpRequestExecution execution;
+
+    private final GzipResponseInterceptor interceptor = new GzipResponseInterceptor();
+
+    @Test
+    void testIntercept_RequestsGzip() throws Exception {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, URI.create("http://localhost/fetchswitch"));
+        when(execution.execute(any(), any())).thenReturn(new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        interceptor.intercept(request, new byte[0], execution);
+
+        assertEquals("gzip", request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void testIntercept_DecompressesGzipBody() throws Exception {
+        byte[] json = "{\"switchDetails\":{}}".getBytes(StandardCharsets.UTF_8);
+        MockClientHttpResponse compressed = new MockClientHttpResponse(gzip(json), HttpStatus.OK);
+        compressed.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        compressed.getHeaders().setContentLength(123);
+        when(execution.execute(any(), any())).thenReturn(compressed);
+
+        ClientHttpResponse response = interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.POST, URI.create("http://localhost/fetchswitch")), new byte[0], execution);
+
+        assertArrayEquals(json, response.getBody().readAllBytes());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    void testIntercept_EmptyGzipBody() throws Exception {
+        MockClientHttpResponse empty = new MockClientHttpResponse(new byte[0], HttpStatus.NO_CONTENT);
+        empty.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        when(execution.execute(any(), any())).thenReturn(empty);
+
+        ClientHttpResponse response = interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.POST, URI.create("http://localhost/fetchswitch")), new byte[0], execution);
+
+        assertEquals(0, response.getBody().readAllBytes().length);
+    }
+
+    @Test
+    void testIntercept_PassesThroughUncompressedBody() throws Exception {
+        MockClientHttpResponse plain = new MockClientHttpResponse("{}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        when(execution.execute(any(), any())).thenReturn(plain);
+
+        ClientHttpResponse response = interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.POST, URI.create("http://localhost/fetchswitch")), new byte[0], execution);
+
+        assertSame(plain, response);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
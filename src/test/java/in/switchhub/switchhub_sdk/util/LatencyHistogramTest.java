@@ -0,0 +1,35 @@
+package in.switchhub.switchhub_sdk.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testRecord_PowerOfTwoBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(100);
+        histogram.record(127);
+        histogram.record(128);
+        histogram.record(-5);
+
+        long[] buckets = histogram.getBucketCounts();
+        assertEquals(2, buckets[0]);
+        assertEquals(1, buckets[1]);
+        assertEquals(2, buckets[7]);
+        assertEquals(1, buckets[8]);
+        assertEquals(6, histogram.getCount());
+        assertEquals(356, histogram.getTotalNanos());
+    }
+
+    @Test
+    void testBucketUpperBound() {
+        assertEquals(1, LatencyHistogram.bucketUpperBoundNanos(0));
+        assertEquals(128, LatencyHistogram.bucketUpperBoundNanos(7));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBoundNanos(64));
+    }
+}
@@ -0,0 +1,35 @@
+package in.switchhub.switchhub_sdk.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MurmurHash3Test {
+
+    @Test
+    void testHash32_KnownVectors() {
+        // Reference values: MurmurHash3_x86_32 over the UTF-16LE bytes, seed 0
+        assertEquals(0, MurmurHash3.hash32("", 0));
+        assertEquals(1867108634, MurmurHash3.hash32("a", 0));
+        assertEquals(374890698, MurmurHash3.hash32("ab", 0));
+        assertEquals(1118836419, MurmurHash3.hash32("abc", 0));
+        assertEquals(1689409188, MurmurHash3.hash32("hello world", 0));
+    }
+
+    @Test
+    void testHash32_WithSeparatorMatchesConcatenation() {
+        assertEquals(MurmurHash3.hash32("checkout-v2:user-42", 0),
+                MurmurHash3.hash32("checkout-v2", ':', "user-42", 0));
+        assertEquals(179663283, MurmurHash3.hash32("checkout-v2", ':', "user-42", 0));
+    }
+
+    @Test
+    void testHash32_SeparatorAvoidsAmbiguity() {
+        assertNotEquals(MurmurHash3.hash32("ab", ':', "c", 0), MurmurHash3.hash32("a", ':', "bc", 0));
+    }
+
+    @Test
+    void testHash32_SeedChangesResult() {
+        assertNotEquals(MurmurHash3.hash32("feature", 0), MurmurHash3.hash32("feature", 42));
+    }
+}
@@ -0,0 +1,67 @@
+package in.switchhub.switchhub_sdk.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseEventReaderTest {
+
+    @Test
+    void testRead_EventsWithIdAndType() throws IOException {
+        RecordingSink sink = new RecordingSink();
+
+        int count = SseEventReader.read(stream("id: 1\nevent: message\ndata: {\"a\":1}\n\n"
+                + "id:2\ndata:{\"b\":2}\n\n"), sink);
+
+        assertEquals(2, count);
+        assertEquals(List.of("1|1|message|{\"a\":1}", "2|2|null|{\"b\":2}"), sink.events);
+    }
+
+    @Test
+    void testRead_JoinsDataLinesAndSkipsComments() throws IOException {
+        RecordingSink sink = new RecordingSink();
+
+        SseEventReader.read(stream(": keep-alive\n\ndata: first\r\ndata: second\r\n\r\n"), sink);
+
+        assertEquals(List.of("null|null|null|first\nsecond"), sink.events);
+    }
+
+    @Test
+    void testRead_OnlyLastEventIdCarriesOverUntilReset() throws IOException {
+        RecordingSink sink = new RecordingSink();
+
+        SseEventReader.read(stream("id: 7\ndata: a\n\ndata: b\n\nid\ndata: c\n\n"), sink);
+
+        assertEquals(List.of("7|7|null|a", "null|7|null|b", "null|null|null|c"), sink.events);
+    }
+
+    @Test
+    void testRead_IgnoresUnknownFieldsAndUnterminatedEvent() throws IOException {
+        RecordingSink sink = new RecordingSink();
+
+        int count = SseEventReader.read(stream("retry: 5000\nevent: ping\n\ndata: partial"), sink);
+
+        assertEquals(0, count);
+        assertTrue(sink.events.isEmpty());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class RecordingSink implements SseEventReader.Sink {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onEvent(String id, String lastEventId, String event, String data) {
+            events.add(id + "|" + lastEventId + "|" + event + "|" + data);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package in.switchhub.switchhub_sdk.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedExecutorTest {
+
+    @Test
+    void testSameKeyRunsInOrderOnOneThread() throws Exception {
+        StripedExecutor executor = new StripedExecutor(4, Executors.defaultThreadFactory());
+        try {
+            List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+            List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+            for (int i = 0; i < 100; i++) {
+                int task = i;
+                executor.execute("switch-a", () -> {
+                    order.add(task);
+                    threads.add(Thread.currentThread());
+                });
+            }
+            CompletableFuture.runAsync(() -> { }, executor.stripe(executor.stripeOf("switch-a"))).get(5, TimeUnit.SECONDS);
+
+            assertEquals(100, order.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, order.get(i));
+            }
+            assertEquals(1, threads.stream().distinct().count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDifferentStripesRunInParallel() throws Exception {
+        StripedExecutor executor = new StripedExecutor(2, Executors.defaultThreadFactory());
+        try {
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            Runnable task = () -> {
+                bothStarted.countDown();
+                try {
+                    bothStarted.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            executor.stripe(0).execute(task);
+            executor.stripe(1).execute(task);
+
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testStripeOf_StableAndInRange() {
+        StripedExecutor executor = new StripedExecutor(8, Executors.defaultThreadFactory());
+        try {
+            for (int i = 0; i < 1000; i++) {
+                int stripe = executor.stripeOf("switch-" + i);
+                assertTrue(stripe >= 0 && stripe < 8);
+                assertEquals(stripe, executor.stripeOf("switch-" + i));
+            }
+            assertEquals(executor.stripeOf(null), executor.stripeOf(null));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testWithoutStripesRunsOnCaller() {
+        StripedExecutor executor = new StripedExecutor(0, Executors.defaultThreadFactory());
+        Thread[] ran = new Thread[1];
+
+        executor.execute("switch-a", () -> ran[0] = Thread.currentThread());
+
+        assertEquals(0, executor.getStripeCount());
+        assertSame(Thread.currentThread(), ran[0]);
+    }
+}
@@ -0,0 +1,99 @@
+package in.switchhub.switchhub_sdk.util;
+
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwitchDetailsStreamReaderTest {
+
+    @Test
+    void testRead_SwitchDetails() throws IOException {
+        String json = "{\"switchDetails\":{"
+                + "\"feature-1\":{\"switchId\":\"switch-1\",\"status\":true,"
+                + "\"meteredStatus\":{\"default\":{\"trueValue\":30}}},"
+                + "\"feature-2\":{\"switchId\":\"switch-2\",\"status\":false}}}";
+        RecordingSink sink = new RecordingSink();
+
+        int count = SwitchDetailsStreamReader.read(stream(json), sink);
+        Map<String, SwitchModel> switches = sink.switches;
+
+        assertEquals(2, count);
+        assertEquals("switch-1", switches.get("feature-1").getSwitchId());
+        assertTrue(switches.get("feature-1").isStatus());
+        assertEquals(30, switches.get("feature-1").getMeteredStatus().get("default").get("trueValue"));
+        assertFalse(switches.get("feature-2").isStatus());
+    }
+
+    @Test
+    void testRead_SkipsNullEntriesAndUnknownFields() throws IOException {
+        String json = "{\"requestId\":\"abc\",\"extra\":{\"nested\":[1,2]},"
+                + "\"switchDetails\":{\"feature-1\":null,\"feature-2\":{\"switchId\":\"switch-2\",\"unknown\":1}}}";
+        RecordingSink sink = new RecordingSink();
+
+        int count = SwitchDetailsStreamReader.read(stream(json), sink);
+        Map<String, SwitchModel> switches = sink.switches;
+
+        assertEquals(1, count);
+        assertEquals(Map.of("feature-2", switches.get("feature-2")), switches);
+        assertEquals("switch-2", switches.get("feature-2").getSwitchId());
+    }
+
+    @Test
+    void testRead_NullOrMissingSwitchDetails() throws IOException {
+        RecordingSink sink = new RecordingSink();
+
+        assertEquals(0, SwitchDetailsStreamReader.read(stream("{\"switchDetails\":null}"), sink));
+        assertEquals(0, SwitchDetailsStreamReader.read(stream("{}"), sink));
+        assertEquals(0, SwitchDetailsStreamReader.read(stream(""), sink));
+        assertTrue(sink.switches.isEmpty());
+    }
+
+    @Test
+    void testRead_RemovedSwitches() throws IOException {
+        String json = "{\"switchDetails\":{\"feature-1\":{\"switchId\":\"switch-1\"}},"
+                + "\"removedSwitches\":[\"feature-2\",null,\"feature-3\"]}";
+        RecordingSink sink = new RecordingSink();
+
+        int count = SwitchDetailsStreamReader.read(stream(json), sink);
+
+        assertEquals(3, count);
+        assertEquals(List.of("feature-1"), List.copyOf(sink.switches.keySet()));
+        assertEquals(List.of("feature-2", "feature-3"), sink.removed);
+    }
+
+    @Test
+    void testRead_MalformedBody() {
+        assertThrows(IOException.class, () -> SwitchDetailsStreamReader.read(
+                stream("{\"switchDetails\":{\"feature-1\":{\"switchId\":"), new RecordingSink()));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class RecordingSink implements SwitchDetailsStreamReader.Sink {
+
+        private final Map<String, SwitchModel> switches = new LinkedHashMap<>();
+        private final List<String> removed = new ArrayList<>();
+
+        @Override
+        public void put(String switchName, SwitchModel switchModel) {
+            switches.put(switchName, switchModel);
+        }
+
+        @Override
+        public void remove(String switchName) {
+            removed.add(switchName);
+        }
+    }
+}
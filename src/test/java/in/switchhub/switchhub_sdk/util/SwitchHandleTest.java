@@ -0,0 +1,130 @@
+package in.switchhub.switchhub_sdk.util;
+
+import in.switchhub.switchhub_sdk.components.SharedDataStoreComponent;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SwitchHandleTest {
+
+    @Spy
+    private SharedDataStoreComponent sharedDataStoreComponent;
+
+    @InjectMocks
+    private SwitchUtil switchUtil;
+
+    private SwitchModel enabledSwitch() {
+        SwitchModel switchModel = new SwitchModel();
+        switchModel.setStatus(true);
+        return switchModel;
+    }
+
+    @BeforeEach
+    void setUp() {
+        sharedDataStoreComponent.putDataMap("checkout-v2", enabledSwitch());
+    }
+
+    @Test
+    void testHandle_EvaluatesSwitch() {
+        SwitchHandle handle = switchUtil.handle("checkout-v2");
+
+        assertEquals("checkout-v2", handle.getSwitchName());
+        assertTrue(handle.getValue());
+        assertTrue(handle.getValue((Map<String, String>) null));
+    }
+
+    @Test
+    void testHandle_MissingSwitch() {
+        SwitchHandle handle = switchUtil.handle("unknown");
+
+        assertFalse(handle.getValue());
+    }
+
+    @Test
+    void testHandle_PicksUpUpdates() {
+        SwitchHandle handle = switchUtil.handle("checkout-v2");
+        assertTrue(handle.getValue());
+
+        SwitchModel disabled = enabledSwitch();
+        disabled.setStatus(false);
+        sharedDataStoreComponent.putDataMap("checkout-v2", disabled);
+
+        assertFalse(handle.getValue());
+
+        sharedDataStoreComponent.putDataMap("checkout-v2", enabledSwitch());
+
+        assertTrue(handle.getValue());
+    }
+
+    @Test
+    void testHandle_SwitchAddedAfterHandleCreated() {
+        SwitchHandle handle = switchUtil.handle("late-switch");
+        assertFalse(handle.getValue());
+
+        sharedDataStoreComponent.putDataMap("late-switch", enabledSwitch());
+
+        assertTrue(handle.getValue());
+    }
+
+    @Test
+    void testHandle_SwitchRemoved() {
+        SwitchHandle handle = switchUtil.handle("checkout-v2");
+        assertTrue(handle.getValue());
+
+        sharedDataStoreComponent.dataMapRemove("checkout-v2");
+
+        assertFalse(handle.getValue());
+    }
+
+    @Test
+    void testHandle_NoMapLookupWhileSnapshotUnchanged() {
+        SwitchHandle handle = switchUtil.handle("checkout-v2");
+        clearInvocations(sharedDataStoreComponent);
+
+        for (int i = 0; i < 10; i++) {
+            handle.getValue();
+        }
+
+        verify(sharedDataStoreComponent, times(10)).getSnapshot();
+        verify(sharedDataStoreComponent, never()).getCompiledSwitch(anyString());
+    }
+
+    @Test
+    void testHandle_MeteredWithContext() {
+        SwitchModel metered = enabledSwitch();
+        metered.setMeteredStatus(Map.of("default", Map.of("trueValue", 0), "premium", Map.of("trueValue", 100)));
+        sharedDataStoreComponent.putDataMap("metered", metered);
+
+        SwitchHandle handle = switchUtil.handle("metered");
+
+        assertFalse(handle.getValue());
+        assertTrue(handle.getValue(Map.of("subKey", "premium")));
+        assertTrue(handle.getValue(Map.of("subKey", "premium", "bucketBy", "user-1")));
+        assertTrue(handle.isEnabled(new EvaluationContext().subKey("premium")));
+        assertFalse(handle.isEnabled(null));
+    }
+
+    @Test
+    void testHandle_MatchesGetSwitchValue() {
+        SwitchModel metered = enabledSwitch();
+        metered.setMeteredStatus(Map.of("default", Map.of("trueValue", 40)));
+        sharedDataStoreComponent.putDataMap("metered", metered);
+
+        SwitchHandle handle = switchUtil.handle("metered");
+
+        for (int i = 0; i < 100; i++) {
+            Map<String, String> context = Map.of("bucketBy", "user-" + i);
+            assertEquals(switchUtil.getSwitchValue("metered", context), handle.getValue(context));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package in.switchhub.switchhub_sdk.util;
+
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwitchMessageConverterTest {
+
+    private final SwitchMessageConverter binaryConverter =
+            new SwitchMessageConverter(new Jackson2JsonMessageConverter(), true);
+    private final SwitchMessageConverter jsonConverter =
+            new SwitchMessageConverter(new Jackson2JsonMessageConverter(), false);
+
+    @Test
+    void testBinaryRoundTrip() {
+        SwitchModel switchModel = new SwitchModel();
+        switchModel.setSwitchName("test-feature");
+        switchModel.setStatus(true);
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 40)));
+        switchModel.setUpdatedAt("2024-05-01T10:00:00Z");
+        MessageModel messageModel = new MessageModel("test-feature", switchModel);
+
+        Message message = binaryConverter.toMessage(messageModel, new MessageProperties());
+
+        assertEquals("application/x-switchhub-message", message.getMessageProperties().getContentType());
+        assertEquals(message.getBody().length, message.getMessageProperties().getContentLength());
+        assertEquals(messageModel, jsonConverter.fromMessage(message));
+    }
+
+    @Test
+    void testReadsJsonMessages() {
+        MessageModel messageModel = new MessageModel("test-feature", new SwitchModel());
+        Message message = jsonConverter.toMessage(messageModel, new MessageProperties());
+        message.getMessageProperties().setInferredArgumentType(MessageModel.class);
+
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, message.getMessageProperties().getContentType());
+        assertEquals(messageModel, binaryConverter.fromMessage(message));
+    }
+
+    @Test
+    void testWritesOtherPayloadsAsJson() {
+        Message message = binaryConverter.toMessage(Map.of("key", "value"), new MessageProperties());
+
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, message.getMessageProperties().getContentType());
+    }
+
+    @Test
+    void testCorruptBinaryMessage() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType("application/x-switchhub-message");
+        Message message = new Message("not binary".getBytes(StandardCharsets.UTF_8), properties);
+
+        assertThrows(MessageConversionException.class, () -> binaryConverter.fromMessage(message));
+    }
+}
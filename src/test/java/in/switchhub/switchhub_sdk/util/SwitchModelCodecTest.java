@@ -0,0 +1,136 @@
+package in.switchhub.switchhub_sdk.util;
+
+import in.switchhub.switchhub_sdk.models.MessageModel;
+import in.switchhub.switchhub_sdk.models.PersistedSnapshotModel;
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwitchModelCodecTest {
+
+    @Test
+    void testRoundTrip() {
+        Map<String, Integer> premium = new HashMap<>();
+        premium.put("trueValue", 75);
+        premium.put("other", null);
+        Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
+        meteredStatus.put("default", Map.of("trueValue", 25));
+        meteredStatus.put("premium", premium);
+        meteredStatus.put("empty", null);
+
+        SwitchModel metered = new SwitchModel("id-1", "metered", "app", true, meteredStatus,
+                "creator", "2024-01-01T00:00:00Z", "updater", "2024-02-01T00:00:00Z");
+        SwitchModel plain = new SwitchModel();
+        plain.setSwitchName("plain-ünicode");
+
+        Map<String, SwitchModel> switchModels = new LinkedHashMap<>();
+        switchModels.put("metered", metered);
+        switchModels.put("plain", plain);
+        switchModels.put("removed", null);
+
+        Map<String, SwitchModel> decoded = SwitchModelCodec.decode(ByteBuffer.wrap(SwitchModelCodec.encode(switchModels)));
+
+        assertEquals(switchModels, decoded);
+        assertTrue(decoded.get("metered").isStatus());
+        assertNull(decoded.get("plain").getMeteredStatus());
+    }
+
+    @Test
+    void testRoundTrip_Empty() {
+        assertTrue(SwitchModelCodec.decode(ByteBuffer.wrap(SwitchModelCodec.encode(Map.of()))).isEmpty());
+    }
+
+    @Test
+    void testRoundTrip_SyncTokens() {
+        SwitchModel switchModel = new SwitchModel();
+        switchModel.setSwitchName("test");
+
+        PersistedSnapshotModel decoded = SwitchModelCodec.decodeSnapshot(ByteBuffer.wrap(
+                SwitchModelCodec.encode(Map.of("test", switchModel), Map.of("1:abc", "\"etag-1\""))));
+
+        assertEquals(Map.of("test", switchModel), decoded.getSwitches());
+        assertEquals(Map.of("1:abc", "\"etag-1\""), decoded.getSyncTokens());
+    }
+
+    @Test
+    void testDecode_ReadsFormatVersionWithoutSyncTokens() {
+        byte[] encoded = SwitchModelCodec.encode(Map.of());
+        // a version 1 file ends after the switches
+        ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(encoded, encoded.length - 4)).putInt(4, 1);
+
+        PersistedSnapshotModel decoded = SwitchModelCodec.decodeSnapshot(buffer);
+
+        assertTrue(decoded.getSwitches().isEmpty());
+        assertTrue(decoded.getSyncTokens().isEmpty());
+    }
+
+    @Test
+    void testDecode_RejectsUnknownMagic() {
+        ByteBuffer buffer = ByteBuffer.allocate(12).putInt(0xCAFEBABE).putInt(1).putInt(0).flip();
+
+        assertThrows(IllegalArgumentException.class, () -> SwitchModelCodec.decode(buffer));
+    }
+
+    @Test
+    void testDecode_RejectsUnknownFormatVersion() {
+        ByteBuffer buffer = ByteBuffer.allocate(12).putInt(SwitchModelCodec.MAGIC).putInt(99).putInt(0).flip();
+
+        assertThrows(IllegalArgumentException.class, () -> SwitchModelCodec.decode(buffer));
+    }
+
+    @Test
+    void testDecode_RejectsTruncatedInput() {
+        SwitchModel switchModel = new SwitchModel();
+        switchModel.setSwitchName("test");
+        byte[] encoded = SwitchModelCodec.encode(Map.of("test", switchModel));
+
+        ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(encoded, encoded.length - 3));
+
+        assertThrows(IllegalArgumentException.class, () -> SwitchModelCodec.decode(truncated));
+    }
+
+    @Test
+    void testMessageRoundTrip_SkipsAuditFields() {
+        Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
+        meteredStatus.put("default", Map.of("trueValue", 25));
+        SwitchModel switchModel = new SwitchModel("id-1", "metered", "app", true, meteredStatus,
+                "creator", "2024-01-01T00:00:00Z", "updater", "2024-02-01T00:00:00Z");
+
+        MessageModel decoded = SwitchModelCodec.decodeMessage(ByteBuffer.wrap(
+                SwitchModelCodec.encodeMessage(new MessageModel("metered", switchModel))));
+
+        assertEquals("metered", decoded.getSwitchName());
+        SwitchModel details = decoded.getSwitchDetails();
+        assertTrue(details.hasSameState(switchModel));
+        assertEquals("2024-02-01T00:00:00Z", details.getUpdatedAt());
+        assertNull(details.getCreatedBy());
+        assertNull(details.getCreatedAt());
+        assertNull(details.getUpdatedBy());
+    }
+
+    @Test
+    void testMessageRoundTrip_WithoutDetails() {
+        MessageModel decoded = SwitchModelCodec.decodeMessage(ByteBuffer.wrap(
+                SwitchModelCodec.encodeMessage(new MessageModel("removed", null))));
+
+        assertEquals(new MessageModel("removed", null), decoded);
+    }
+
+    @Test
+    void testDecodeMessage_RejectsUnknownFormatVersionAndTruncatedInput() {
+        byte[] encoded = SwitchModelCodec.encodeMessage(new MessageModel("test", new SwitchModel()));
+
+        byte[] unknownVersion = encoded.clone();
+        unknownVersion[0] = 9;
+        assertThrows(IllegalArgumentException.class, () -> SwitchModelCodec.decodeMessage(ByteBuffer.wrap(unknownVersion)));
+        assertThrows(IllegalArgumentException.class,
+                () -> SwitchModelCodec.decodeMessage(ByteBuffer.wrap(Arrays.copyOf(encoded, encoded.length - 1))));
+    }
+}
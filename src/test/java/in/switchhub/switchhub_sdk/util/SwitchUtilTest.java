@@ -1,5 +1,7 @@
 package in.switchhub.switchhub_sdk.util;
 
+import in.switchhub.switchhub_sdk.components.LazySwitchLoaderComponent;
+import in.switchhub.switchhub_sdk.components.MissingSwitchReporterComponent;
 import in.switchhub.switchhub_sdk.components.SharedDataStoreComponent;
 import in.switchhub.switchhub_sdk.models.SwitchModel;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,9 +9,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,9 +24,15 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class SwitchUtilTest {
 
-    @Mock
+    @Spy
     private SharedDataStoreComponent sharedDataStoreComponent;
 
+    @Mock
+    private MissingSwitchReporterComponent missingSwitchReporterComponent;
+
+    @Mock
+    private LazySwitchLoaderComponent lazySwitchLoaderComponent;
+
     @InjectMocks
     private SwitchUtil switchUtil;
 
@@ -28,6 +40,7 @@ class SwitchUtilTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(sharedDataStoreComponent, "missingSwitchReporterComponent", missingSwitchReporterComponent);
         switchModel = new SwitchModel();
         switchModel.setSwitchId("switch-123");
         switchModel.setSwitchName("test-feature");
@@ -38,28 +51,42 @@ class SwitchUtilTest {
     void testGetSwitchValue_SwitchNotFound() {
         String switchName = "non-existent-switch";
 
-        when(sharedDataStoreComponent.dataMapContainsKey(switchName)).thenReturn(false);
-
         boolean result = switchUtil.getSwitchValue(switchName, null);
 
         assertFalse(result);
-        verify(sharedDataStoreComponent).dataMapContainsKey(switchName);
-        verify(sharedDataStoreComponent, never()).getDataMap(anyString());
+        verify(sharedDataStoreComponent).getCompiledSwitch(switchName);
+        verify(missingSwitchReporterComponent).recordMissingSwitch(switchName);
+    }
+
+    @Test
+    void testGetSwitchValue_MissingSwitchUsesLazyFetchDefault() {
+        when(lazySwitchLoaderComponent.onMissingSwitch("lazy-switch")).thenReturn(true);
+
+        assertTrue(switchUtil.getSwitchValue("lazy-switch", null));
+
+        BitSet result = switchUtil.evaluateAll(List.of("lazy-switch"), null);
+        assertTrue(result.get(0));
+        verify(lazySwitchLoaderComponent, times(2)).onMissingSwitch("lazy-switch");
+    }
+
+    @Test
+    void testGetSwitchValue_UnknownSubKeyRecordsMissingGenerator() {
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 100)));
+        sharedDataStoreComponent.putDataMap("metered-switch", switchModel);
+
+        assertTrue(switchUtil.getSwitchValue("metered-switch", Map.of("subKey", "unknown")));
+        verify(missingSwitchReporterComponent).recordMissingGenerator("metered-switch", "unknown");
     }
 
     @Test
     void testGetSwitchValue_SwitchDisabled() {
         String switchName = "disabled-switch";
         switchModel.setStatus(false);
-
-        when(sharedDataStoreComponent.dataMapContainsKey(switchName)).thenReturn(true);
-        when(sharedDataStoreComponent.getDataMap(switchName)).thenReturn(switchModel);
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
 
         boolean result = switchUtil.getSwitchValue(switchName, null);
 
         assertFalse(result);
-        verify(sharedDataStoreComponent).dataMapContainsKey(switchName);
-        verify(sharedDataStoreComponent).getDataMap(switchName);
     }
 
     @Test
@@ -67,15 +94,25 @@ class SwitchUtilTest {
         String switchName = "simple-switch";
         switchModel.setStatus(true);
         switchModel.setMeteredStatus(null);
-
-        when(sharedDataStoreComponent.dataMapContainsKey(switchName)).thenReturn(true);
-        when(sharedDataStoreComponent.getDataMap(switchName)).thenReturn(switchModel);
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
 
         boolean result = switchUtil.getSwitchValue(switchName, null);
 
         assertTrue(result);
-        verify(sharedDataStoreComponent).dataMapContainsKey(switchName);
-        verify(sharedDataStoreComponent).getDataMap(switchName);
+        verify(sharedDataStoreComponent, never()).getNextWeight(anyString(), anyString());
+    }
+
+    @Test
+    void testGetSwitchValue_SingleStoreLookupPerEvaluation() {
+        String switchName = "metered-switch";
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 50)));
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
+
+        switchUtil.getSwitchValue(switchName, null);
+
+        verify(sharedDataStoreComponent).getCompiledSwitch(switchName);
+        verify(sharedDataStoreComponent, never()).dataMapContainsKey(anyString());
+        verify(sharedDataStoreComponent, never()).getDataMap(anyString());
         verify(sharedDataStoreComponent, never()).getNextWeight(anyString(), anyString());
     }
 
@@ -84,158 +121,119 @@ class SwitchUtilTest {
         String switchName = "metered-switch";
         Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
         Map<String, Integer> defaultMetering = new HashMap<>();
-        defaultMetering.put("trueValue", 50);
+        defaultMetering.put("trueValue", 100);
         meteredStatus.put("default", defaultMetering);
 
         switchModel.setStatus(true);
         switchModel.setMeteredStatus(meteredStatus);
-
-        when(sharedDataStoreComponent.dataMapContainsKey(switchName)).thenReturn(true);
-        when(sharedDataStoreComponent.getDataMap(switchName)).thenReturn(switchModel);
-        when(sharedDataStoreComponent.getNextWeight(switchName, "default")).thenReturn(true);
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
 
         boolean result = switchUtil.getSwitchValue(switchName, null);
 
         assertTrue(result);
-        verify(sharedDataStoreComponent).dataMapContainsKey(switchName);
-        verify(sharedDataStoreComponent).getDataMap(switchName);
-        verify(sharedDataStoreComponent).getNextWeight(switchName, "default");
     }
 
     @Test
     void testGetSwitchValue_SwitchEnabled_WithMetering_CustomSubKey() {
         String switchName = "metered-switch";
         Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
+        meteredStatus.put("default", Map.of("trueValue", 100));
         Map<String, Integer> customMetering = new HashMap<>();
-        customMetering.put("trueValue", 75);
+        customMetering.put("trueValue", 0);
         meteredStatus.put("premium", customMetering);
 
         switchModel.setStatus(true);
         switchModel.setMeteredStatus(meteredStatus);
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
 
         Map<String, String> contextMap = new HashMap<>();
         contextMap.put("subKey", "premium");
 
-        when(sharedDataStoreComponent.dataMapContainsKey(switchName)).thenReturn(true);
-        when(sharedDataStoreComponent.getDataMap(switchName)).thenReturn(switchModel);
-        when(sharedDataStoreComponent.getNextWeight(switchName, "premium")).thenReturn(false);
-
         boolean result = switchUtil.getSwitchValue(switchName, contextMap);
 
         assertFalse(result);
-        verify(sharedDataStoreComponent).dataMapContainsKey(switchName);
-        verify(sharedDataStoreComponent).getDataMap(switchName);
-        verify(sharedDataStoreComponent).getNextWeight(switchName, "premium");
     }
 
     @Test
     void testGetSwitchValue_WithNullContextMap() {
         String switchName = "metered-switch";
-        Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
-        Map<String, Integer> defaultMetering = new HashMap<>();
-        defaultMetering.put("trueValue", 50);
-        meteredStatus.put("default", defaultMetering);
-
-        switchModel.setStatus(true);
-        switchModel.setMeteredStatus(meteredStatus);
-
-        when(sharedDataStoreComponent.dataMapContainsKey(switchName)).thenReturn(true);
-        when(sharedDataStoreComponent.getDataMap(switchName)).thenReturn(switchModel);
-        when(sharedDataStoreComponent.getNextWeight(switchName, "default")).thenReturn(true);
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 100), "premium", Map.of("trueValue", 0)));
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
 
         boolean result = switchUtil.getSwitchValue(switchName, null);
 
         assertTrue(result);
-        verify(sharedDataStoreComponent).getNextWeight(switchName, "default");
     }
 
     @Test
     void testGetSwitchValue_WithEmptyContextMap() {
         String switchName = "metered-switch";
-        Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
-        Map<String, Integer> defaultMetering = new HashMap<>();
-        defaultMetering.put("trueValue", 50);
-        meteredStatus.put("default", defaultMetering);
-
-        switchModel.setStatus(true);
-        switchModel.setMeteredStatus(meteredStatus);
-
-        when(sharedDataStoreComponent.dataMapContainsKey(switchName)).thenReturn(true);
-        when(sharedDataStoreComponent.getDataMap(switchName)).thenReturn(switchModel);
-        when(sharedDataStoreComponent.getNextWeight(switchName, "default")).thenReturn(true);
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 100), "premium", Map.of("trueValue", 0)));
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
 
         boolean result = switchUtil.getSwitchValue(switchName, new HashMap<>());
 
         assertTrue(result);
-        verify(sharedDataStoreComponent).getNextWeight(switchName, "default");
     }
 
     @Test
     void testGetSwitchValue_WithContextMapButNoSubKey() {
         String switchName = "metered-switch";
-        Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
-        Map<String, Integer> defaultMetering = new HashMap<>();
-        defaultMetering.put("trueValue", 50);
-        meteredStatus.put("default", defaultMetering);
-
-        switchModel.setStatus(true);
-        switchModel.setMeteredStatus(meteredStatus);
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 0), "premium", Map.of("trueValue", 100)));
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
 
         Map<String, String> contextMap = new HashMap<>();
         contextMap.put("otherKey", "someValue");
 
-        when(sharedDataStoreComponent.dataMapContainsKey(switchName)).thenReturn(true);
-        when(sharedDataStoreComponent.getDataMap(switchName)).thenReturn(switchModel);
-        when(sharedDataStoreComponent.getNextWeight(switchName, "default")).thenReturn(false);
-
         boolean result = switchUtil.getSwitchValue(switchName, contextMap);
 
         assertFalse(result);
-        verify(sharedDataStoreComponent).getNextWeight(switchName, "default");
     }
 
     @Test
-    void testGetSwitchValue_MultipleCallsWithSameSwitch() {
+    void testGetSwitchValue_UnknownSubKey_FallsBackToDefault() {
         String switchName = "metered-switch";
-        Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
-        Map<String, Integer> defaultMetering = new HashMap<>();
-        defaultMetering.put("trueValue", 50);
-        meteredStatus.put("default", defaultMetering);
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 100)));
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
 
-        switchModel.setStatus(true);
-        switchModel.setMeteredStatus(meteredStatus);
+        assertTrue(switchUtil.getSwitchValue(switchName, Map.of("subKey", "unknown")));
+    }
+
+    @Test
+    void testGetSwitchValue_UnknownSubKey_NoDefault() {
+        String switchName = "metered-switch";
+        switchModel.setMeteredStatus(Map.of("premium", Map.of("trueValue", 100)));
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
+
+        assertFalse(switchUtil.getSwitchValue(switchName, Map.of("subKey", "unknown")));
+    }
 
-        when(sharedDataStoreComponent.dataMapContainsKey(switchName)).thenReturn(true);
-        when(sharedDataStoreComponent.getDataMap(switchName)).thenReturn(switchModel);
-        when(sharedDataStoreComponent.getNextWeight(switchName, "default"))
-                .thenReturn(true)
-                .thenReturn(false)
-                .thenReturn(true);
+    @Test
+    void testGetSwitchValue_MultipleCallsWithSameSwitch() {
+        String switchName = "metered-switch";
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 50)));
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
 
-        boolean result1 = switchUtil.getSwitchValue(switchName, null);
-        boolean result2 = switchUtil.getSwitchValue(switchName, null);
-        boolean result3 = switchUtil.getSwitchValue(switchName, null);
+        int trueCount = 0;
+        for (int i = 0; i < 100; i++) {
+            if (switchUtil.getSwitchValue(switchName, null)) {
+                trueCount++;
+            }
+        }
 
-        assertTrue(result1);
-        assertFalse(result2);
-        assertTrue(result3);
-        verify(sharedDataStoreComponent, times(3)).getNextWeight(switchName, "default");
+        assertEquals(50, trueCount);
     }
 
     @Test
     void testGetSwitchValue_WithDifferentSubKeys() {
         String switchName = "metered-switch";
         Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
-        meteredStatus.put("default", Map.of("trueValue", 50));
-        meteredStatus.put("premium", Map.of("trueValue", 75));
+        meteredStatus.put("default", Map.of("trueValue", 100));
+        meteredStatus.put("premium", Map.of("trueValue", 0));
 
         switchModel.setStatus(true);
         switchModel.setMeteredStatus(meteredStatus);
-
-        when(sharedDataStoreComponent.dataMapContainsKey(switchName)).thenReturn(true);
-        when(sharedDataStoreComponent.getDataMap(switchName)).thenReturn(switchModel);
-        when(sharedDataStoreComponent.getNextWeight(switchName, "default")).thenReturn(true);
-        when(sharedDataStoreComponent.getNextWeight(switchName, "premium")).thenReturn(false);
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
 
         Map<String, String> defaultContext = new HashMap<>();
         defaultContext.put("subKey", "default");
@@ -248,7 +246,199 @@ class SwitchUtilTest {
 
         assertTrue(resultDefault);
         assertFalse(resultPremium);
-        verify(sharedDataStoreComponent).getNextWeight(switchName, "default");
-        verify(sharedDataStoreComponent).getNextWeight(switchName, "premium");
+    }
+
+    @Test
+    void testGetSwitchValue_BucketBy_IsSticky() {
+        String switchName = "metered-switch";
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 50)));
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
+
+        Map<String, String> context = Map.of("bucketBy", "user-42");
+        boolean first = switchUtil.getSwitchValue(switchName, context);
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(first, switchUtil.getSwitchValue(switchName, context));
+        }
+        assertEquals(SwitchUtil.isInBucket(switchName, "user-42", 50), first);
+    }
+
+    @Test
+    void testGetSwitchValue_BucketsByUserIdThenTenantIdWithoutBucketBy() {
+        String switchName = "metered-switch";
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 50)));
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(SwitchUtil.isInBucket(switchName, "user-" + i, 50),
+                    switchUtil.getSwitchValue(switchName, Map.of("userId", "user-" + i, "tenantId", "tenant-1")));
+            assertEquals(SwitchUtil.isInBucket(switchName, "tenant-" + i, 50),
+                    switchUtil.getSwitchValue(switchName, Map.of("tenantId", "tenant-" + i)));
+            assertEquals(SwitchUtil.isInBucket(switchName, "account-" + i, 50),
+                    switchUtil.getSwitchValue(switchName, Map.of("bucketBy", "account-" + i, "userId", "user-" + i)));
+        }
+    }
+
+    @Test
+    void testIsEnabled_BucketsByUserIdWithoutBucketBy() {
+        String switchName = "metered-switch";
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 50)));
+        sharedDataStoreComponent.putDataMap(switchName, switchModel);
+
+        EvaluationContext context = new EvaluationContext();
+        for (int i = 0; i < 100; i++) {
+            context.clear().userId("user-" + i);
+
+            assertEquals(SwitchUtil.isInBucket(switchName, "user-" + i, 50), switchUtil.isEnabled(switchName, context));
+        }
+    }
+
+    @Test
+    void testGetSwitchValue_BucketBy_ZeroAndHundredPercent() {
+        Map<String, Map<String, Integer>> meteredStatus = new HashMap<>();
+        meteredStatus.put("off", Map.of("trueValue", 0));
+        meteredStatus.put("on", Map.of("trueValue", 100));
+        switchModel.setMeteredStatus(meteredStatus);
+        sharedDataStoreComponent.putDataMap("metered-switch", switchModel);
+
+        for (int i = 0; i < 100; i++) {
+            assertFalse(switchUtil.getSwitchValue("metered-switch", Map.of("subKey", "off", "bucketBy", "user-" + i)));
+            assertTrue(switchUtil.getSwitchValue("metered-switch", Map.of("subKey", "on", "bucketBy", "user-" + i)));
+        }
+    }
+
+    @Test
+    void testGetSwitchValue_BucketBy_FallsBackToDefaultKey() {
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 100)));
+        sharedDataStoreComponent.putDataMap("metered-switch", switchModel);
+
+        assertTrue(switchUtil.getSwitchValue("metered-switch", Map.of("subKey", "unknown", "bucketBy", "user-1")));
+    }
+
+    @Test
+    void testGetSwitchValue_BucketBy_NoMatchingMetering() {
+        switchModel.setMeteredStatus(Map.of("premium", Map.of("trueValue", 100)));
+        sharedDataStoreComponent.putDataMap("metered-switch", switchModel);
+
+        assertFalse(switchUtil.getSwitchValue("metered-switch", Map.of("bucketBy", "user-1")));
+    }
+
+    @Test
+    void testIsInBucket_DistributionCloseToPercentage() {
+        int trueCount = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (SwitchUtil.isInBucket("rollout", "user-" + i, 30)) {
+                trueCount++;
+            }
+        }
+
+        assertTrue(trueCount > 2700 && trueCount < 3300, "Expected roughly 30% but got " + trueCount);
+    }
+
+    @Test
+    void testIsInBucket_DependsOnSwitchName() {
+        int differences = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (SwitchUtil.isInBucket("switch-a", "user-" + i, 50) != SwitchUtil.isInBucket("switch-b", "user-" + i, 50)) {
+                differences++;
+            }
+        }
+
+        assertTrue(differences > 0, "Buckets should be independent across switches");
+    }
+
+    @Test
+    void testIsEnabled_WithEvaluationContext() {
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 0), "premium", Map.of("trueValue", 100)));
+        sharedDataStoreComponent.putDataMap("metered-switch", switchModel);
+
+        EvaluationContext context = new EvaluationContext();
+
+        assertFalse(switchUtil.isEnabled("metered-switch", context));
+        assertTrue(switchUtil.isEnabled("metered-switch", context.subKey("premium")));
+        assertFalse(switchUtil.isEnabled("metered-switch", null));
+        assertFalse(switchUtil.isEnabled("missing-switch", context));
+    }
+
+    @Test
+    void testIsEnabled_MatchesMapBasedEvaluation() {
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 35), "premium", Map.of("trueValue", 70)));
+        sharedDataStoreComponent.putDataMap("metered-switch", switchModel);
+
+        EvaluationContext context = new EvaluationContext();
+        for (int i = 0; i < 200; i++) {
+            String subKey = i % 2 == 0 ? "default" : "premium";
+            context.clear().subKey(subKey).bucketBy("user-" + i);
+
+            assertEquals(switchUtil.getSwitchValue("metered-switch", Map.of("subKey", subKey, "bucketBy", "user-" + i)),
+                    switchUtil.isEnabled("metered-switch", context));
+        }
+    }
+
+    @Test
+    void testEvaluateAll_ReturnsOneBitPerSwitch() {
+        SwitchModel disabled = new SwitchModel();
+        disabled.setStatus(false);
+        sharedDataStoreComponent.putDataMap("enabled-switch", switchModel);
+        sharedDataStoreComponent.putDataMap("disabled-switch", disabled);
+
+        BitSet result = switchUtil.evaluateAll(
+                List.of("enabled-switch", "missing-switch", "disabled-switch", "enabled-switch"), null);
+
+        assertEquals(BitSet.valueOf(new long[]{0b1001}), result);
+        verify(missingSwitchReporterComponent).recordMissingSwitch("missing-switch");
+    }
+
+    @Test
+    void testEvaluateAll_UsesContext() {
+        switchModel.setMeteredStatus(Map.of("default", Map.of("trueValue", 0), "premium", Map.of("trueValue", 100)));
+        sharedDataStoreComponent.putDataMap("metered-switch", switchModel);
+
+        assertFalse(switchUtil.evaluateAll(List.of("metered-switch"), new EvaluationContext()).get(0));
+        assertTrue(switchUtil.evaluateAll(List.of("metered-switch"), new EvaluationContext().subKey("premium")).get(0));
+    }
+
+    @Test
+    void testEvaluateAll_ReadsSnapshotOnce() {
+        sharedDataStoreComponent.putDataMap("switch-a", switchModel);
+        sharedDataStoreComponent.putDataMap("switch-b", switchModel);
+        clearInvocations(sharedDataStoreComponent);
+
+        switchUtil.evaluateAll(List.of("switch-a", "switch-b"), null);
+
+        verify(sharedDataStoreComponent, times(1)).getSnapshot();
+        verify(sharedDataStoreComponent, never()).getCompiledSwitch(anyString());
+    }
+
+    @Test
+    void testEvaluateAll_ReusesAndClearsResult() {
+        sharedDataStoreComponent.putDataMap("enabled-switch", switchModel);
+        BitSet result = new BitSet();
+        result.set(5);
+
+        switchUtil.evaluateAll(List.of("enabled-switch"), null, result);
+
+        assertEquals(BitSet.valueOf(new long[]{1}), result);
+    }
+
+    @Test
+    void testEvaluateAll_WithHandles() {
+        SwitchModel disabled = new SwitchModel();
+        disabled.setStatus(false);
+        sharedDataStoreComponent.putDataMap("enabled-switch", switchModel);
+        sharedDataStoreComponent.putDataMap("disabled-switch", disabled);
+        SwitchHandle[] handles = {
+                switchUtil.handle("disabled-switch"),
+                switchUtil.handle("enabled-switch"),
+                switchUtil.handle("missing-switch")
+        };
+        BitSet result = new BitSet();
+
+        switchUtil.evaluateAll(handles, null, result);
+        assertEquals(BitSet.valueOf(new long[]{0b010}), result);
+
+        sharedDataStoreComponent.putDataMap("missing-switch", switchModel);
+        switchUtil.evaluateAll(handles, null, result);
+        assertEquals(BitSet.valueOf(new long[]{0b110}), result);
     }
 }
@@ -0,0 +1,36 @@
+package in.switchhub.switchhub_sdk.util;
+
+import in.switchhub.switchhub_sdk.models.SwitchModel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwitchVersionTest {
+
+    @Test
+    void testParse_AcceptedForms() {
+        assertEquals(1_700_000_000_000L, SwitchVersion.parse("1700000000000"));
+        assertEquals(1_700_000_000_000L, SwitchVersion.parse("2023-11-14T22:13:20Z"));
+        assertEquals(1_700_000_000_000L, SwitchVersion.parse("2023-11-15T03:43:20+05:30"));
+        assertEquals(1_700_000_000_123L, SwitchVersion.parse(" 2023-11-14T22:13:20.123 "));
+    }
+
+    @Test
+    void testParse_UnusableTimestamp() {
+        assertEquals(SwitchVersion.UNKNOWN, SwitchVersion.parse(null));
+        assertEquals(SwitchVersion.UNKNOWN, SwitchVersion.parse(""));
+        assertEquals(SwitchVersion.UNKNOWN, SwitchVersion.parse("yesterday"));
+        assertEquals(SwitchVersion.UNKNOWN, SwitchVersion.parse("99999999999999999999999"));
+        assertEquals(SwitchVersion.UNKNOWN, SwitchVersion.of(null));
+        assertEquals(SwitchVersion.UNKNOWN, SwitchVersion.of(new SwitchModel()));
+    }
+
+    @Test
+    void testIsStale() {
+        assertTrue(SwitchVersion.isStale(1, 2));
+        assertFalse(SwitchVersion.isStale(2, 2));
+        assertFalse(SwitchVersion.isStale(3, 2));
+        assertFalse(SwitchVersion.isStale(SwitchVersion.UNKNOWN, 2));
+        assertFalse(SwitchVersion.isStale(1, SwitchVersion.UNKNOWN));
+    }
+}
@@ -5,6 +5,11 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -229,4 +234,58 @@ class WeightedBooleanGeneratorTest {
             assertEquals(40, trueCount, "Cycle " + cycle + " should have exactly 40 true values");
         }
     }
+
+    @Test
+    void testNext_ConcurrentDraws_ExactPercentage() throws Exception {
+        WeightedBooleanGenerator generator = new WeightedBooleanGenerator(37);
+        int threads = 8;
+        int drawsPerThread = 10_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int trueCount = 0;
+                for (int i = 0; i < drawsPerThread; i++) {
+                    if (generator.next()) {
+                        trueCount++;
+                    }
+                }
+                return trueCount;
+            }));
+        }
+
+        start.countDown();
+        int totalTrue = 0;
+        for (Future<Integer> result : results) {
+            totalTrue += result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Every slot is claimed exactly once, so 80 000 draws contain exactly 37 trues per 100
+        assertEquals(threads * drawsPerThread / 100 * 37, totalTrue);
+    }
+
+    @Test
+    void testNext_ConcurrentDraws_NoExceptions() throws Exception {
+        WeightedBooleanGenerator generator = new WeightedBooleanGenerator(50);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    generator.next();
+                }
+            }));
+        }
+
+        for (Future<?> result : results) {
+            assertDoesNotThrow(() -> result.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+    }
 }